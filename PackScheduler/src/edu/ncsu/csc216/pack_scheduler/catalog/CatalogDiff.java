@@ -0,0 +1,105 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * The changes CourseCatalog.reloadCoursesFromFile() made to bring the catalog
+ * in line with a course record file, each list in catalog order.
+ */
+public final class CatalogDiff {
+
+	/** Courses added from the file */
+	private final List<Course> added;
+	/** Courses removed because they are no longer in the file */
+	private final List<Course> removed;
+	/** Courses updated in place to match their records */
+	private final List<Course> updated;
+	/** Courses left as they were because their changes could not be made */
+	private final List<Course> rejected;
+	/** Number of Courses whose records had not changed */
+	private final int unchanged;
+
+	/**
+	 * Constructs a CatalogDiff that takes ownership of the given lists.
+	 *
+	 * @param added     Courses added from the file
+	 * @param removed   Courses removed from the catalog
+	 * @param updated   Courses updated in place
+	 * @param rejected  Courses whose changes could not be made
+	 * @param unchanged number of Courses whose records had not changed
+	 */
+	CatalogDiff(List<Course> added, List<Course> removed, List<Course> updated, List<Course> rejected,
+			int unchanged) {
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.updated = Collections.unmodifiableList(updated);
+		this.rejected = Collections.unmodifiableList(rejected);
+		this.unchanged = unchanged;
+	}
+
+	/**
+	 * Returns the Courses added from the file.
+	 *
+	 * @return read-only list of the added Courses
+	 */
+	public List<Course> getAdded() {
+		return added;
+	}
+
+	/**
+	 * Returns the Courses removed because they are no longer in the file.
+	 *
+	 * @return read-only list of the removed Courses
+	 */
+	public List<Course> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Returns the catalog Courses whose title, credits, enrollment cap, or meeting
+	 * information were updated to match their records.
+	 *
+	 * @return read-only list of the updated Courses
+	 */
+	public List<Course> getUpdated() {
+		return updated;
+	}
+
+	/**
+	 * Returns the catalog Courses left as they were because their changes could
+	 * not be made: a removed Course that still has students, or a cap below the
+	 * number of students enrolled.
+	 *
+	 * @return read-only list of the rejected Courses
+	 */
+	public List<Course> getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Returns the number of catalog Courses whose records had not changed.
+	 *
+	 * @return number of unchanged Courses
+	 */
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+	/**
+	 * Returns whether the reload changed nothing.
+	 *
+	 * @return true if no Course was added, removed, or updated
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && updated.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return added.size() + " added, " + removed.size() + " removed, " + updated.size() + " updated, "
+				+ rejected.size() + " rejected, " + unchanged + " unchanged";
+	}
+}
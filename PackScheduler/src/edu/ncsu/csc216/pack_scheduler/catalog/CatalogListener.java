@@ -0,0 +1,51 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Interface for objects that display or mirror a CourseCatalog and want to
+ * apply each change to the affected row instead of re-reading the whole
+ * catalog. Every index is the Course's position in catalog order at the time
+ * of the event, which is also its row in getCourseCatalog().
+ */
+public interface CatalogListener {
+
+	/**
+	 * Called after a Course is added to the catalog.
+	 * 
+	 * @param index  position of the new Course
+	 * @param course Course that was added
+	 */
+	void courseAdded(int index, Course course);
+
+	/**
+	 * Called after a Course is removed from the catalog.
+	 * 
+	 * @param index  position the Course had before it was removed
+	 * @param course Course that was removed
+	 */
+	void courseRemoved(int index, Course course);
+
+	/**
+	 * Called after the title, meeting information, credits, or instructor of a
+	 * catalog Course changes.
+	 * 
+	 * @param index  position of the Course
+	 * @param course Course that changed
+	 */
+	void courseUpdated(int index, Course course);
+
+	/**
+	 * Called after the open seats or waitlist of a catalog Course change.
+	 * 
+	 * @param index  position of the Course
+	 * @param course Course whose roll changed
+	 */
+	void seatsChanged(int index, Course course);
+
+	/**
+	 * Called after the whole catalog is replaced by loading a file or starting a
+	 * new catalog.
+	 */
+	void catalogReset();
+}
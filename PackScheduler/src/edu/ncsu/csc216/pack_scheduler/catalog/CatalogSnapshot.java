@@ -0,0 +1,253 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * An immutable version of the Courses in a CourseCatalog, sorted by name and
+ * section. A CourseCatalog never changes a snapshot once it has been published;
+ * each edit builds a new one and replaces the old in a single write, so a
+ * snapshot can be read from any thread without locking and never shows a
+ * half-finished edit.
+ *
+ * The snapshot fixes which Courses are in the catalog and their order. The
+ * Courses themselves are shared between snapshots, so changes to a Course's
+ * fields or roll are seen through every snapshot that holds it.
+ */
+public final class CatalogSnapshot {
+
+	/** Courses in catalog order, never modified after construction */
+	private final Course[] courses;
+	/** Courses by name and section, never modified after construction */
+	private final HashMap<String, Course> courseIndex;
+
+	/**
+	 * Constructs an empty snapshot.
+	 */
+	CatalogSnapshot() {
+		this(new Course[0], new HashMap<>());
+	}
+
+	/**
+	 * Constructs a snapshot that takes ownership of the given array and map.
+	 *
+	 * @param courses     Courses in catalog order
+	 * @param courseIndex the same Courses by name and section
+	 */
+	private CatalogSnapshot(Course[] courses, HashMap<String, Course> courseIndex) {
+		this.courses = courses;
+		this.courseIndex = courseIndex;
+	}
+
+	/**
+	 * Builds a snapshot of Courses that are already in catalog order with no
+	 * duplicate names and sections.
+	 *
+	 * @param sorted Courses in catalog order
+	 * @return snapshot of the Courses
+	 */
+	static CatalogSnapshot of(Course[] sorted) {
+		HashMap<String, Course> index = new HashMap<>(sorted.length * 2);
+		for (Course c : sorted) {
+			index.put(key(c.getName(), c.getSection()), c);
+		}
+		return new CatalogSnapshot(sorted, index);
+	}
+
+	/**
+	 * Returns a new snapshot with a Course inserted at its place in catalog order.
+	 * The caller has checked that no Course with the same name and section is present.
+	 *
+	 * @param c Course to add
+	 * @return new snapshot
+	 */
+	CatalogSnapshot withCourse(Course c) {
+		int index = insertionPoint(c);
+		Course[] next = new Course[courses.length + 1];
+		System.arraycopy(courses, 0, next, 0, index);
+		next[index] = c;
+		System.arraycopy(courses, index, next, index + 1, courses.length - index);
+		@SuppressWarnings("unchecked")
+		HashMap<String, Course> nextIndex = (HashMap<String, Course>) courseIndex.clone();
+		nextIndex.put(key(c.getName(), c.getSection()), c);
+		return new CatalogSnapshot(next, nextIndex);
+	}
+
+	/**
+	 * Returns a new snapshot with a batch of Courses merged in. The batch is
+	 * sorted once and merged with the snapshot's Courses in a single pass, which
+	 * drops any Course whose name and section are already in the snapshot or
+	 * earlier in the batch.
+	 *
+	 * @param added   Courses to add
+	 * @param results set to true at the position of each Course that was added
+	 *                and left false for each duplicate
+	 * @return new snapshot
+	 */
+	CatalogSnapshot withCourses(Course[] added, boolean[] results) {
+		// Keys sort in the same order as the Courses and are needed for the index
+		// anyway; comparing them is much cheaper than calling compareTo()
+		String[] keys = new String[added.length];
+		Integer[] order = new Integer[added.length];
+		for (int i = 0; i < added.length; i++) {
+			keys[i] = key(added[i].getName(), added[i].getSection());
+			order[i] = i;
+		}
+		// A stable sort keeps the first of any duplicates in the batch first
+		Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+		Course[] merged = new Course[courses.length + added.length];
+		@SuppressWarnings("unchecked")
+		HashMap<String, Course> mergedIndex = (HashMap<String, Course>) courseIndex.clone();
+		int size = 0;
+		int next = 0;
+		String previous = null;
+		for (int i : order) {
+			Course c = added[i];
+			while (next < courses.length && courses[next].compareTo(c) < 0) {
+				merged[size++] = courses[next++];
+			}
+			boolean inSnapshot = next < courses.length && courses[next].compareTo(c) == 0;
+			boolean inBatch = keys[i].equals(previous);
+			if (!inSnapshot && !inBatch) {
+				merged[size++] = c;
+				mergedIndex.put(keys[i], c);
+				results[i] = true;
+				previous = keys[i];
+			}
+		}
+		while (next < courses.length) {
+			merged[size++] = courses[next++];
+		}
+		return new CatalogSnapshot(Arrays.copyOf(merged, size), mergedIndex);
+	}
+
+	/**
+	 * Returns a new snapshot without the Course at the given position.
+	 *
+	 * @param index position of the Course to remove
+	 * @return new snapshot
+	 */
+	CatalogSnapshot withoutCourse(int index) {
+		Course c = courses[index];
+		Course[] next = new Course[courses.length - 1];
+		System.arraycopy(courses, 0, next, 0, index);
+		System.arraycopy(courses, index + 1, next, index, next.length - index);
+		@SuppressWarnings("unchecked")
+		HashMap<String, Course> nextIndex = (HashMap<String, Course>) courseIndex.clone();
+		nextIndex.remove(key(c.getName(), c.getSection()));
+		return new CatalogSnapshot(next, nextIndex);
+	}
+
+	/**
+	 * Returns a new snapshot without the Courses at the marked positions.
+	 *
+	 * @param removed true at the position of each Course to remove
+	 * @return new snapshot
+	 */
+	CatalogSnapshot withoutCourses(boolean[] removed) {
+		Course[] next = new Course[courses.length];
+		@SuppressWarnings("unchecked")
+		HashMap<String, Course> nextIndex = (HashMap<String, Course>) courseIndex.clone();
+		int size = 0;
+		for (int i = 0; i < courses.length; i++) {
+			if (removed[i]) {
+				nextIndex.remove(key(courses[i].getName(), courses[i].getSection()));
+			} else {
+				next[size++] = courses[i];
+			}
+		}
+		return new CatalogSnapshot(Arrays.copyOf(next, size), nextIndex);
+	}
+
+	/**
+	 * Returns the number of Courses in the snapshot.
+	 *
+	 * @return number of Courses
+	 */
+	public int size() {
+		return courses.length;
+	}
+
+	/**
+	 * Returns the Course at the given position in catalog order.
+	 *
+	 * @param index position of the Course
+	 * @return Course at the position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public Course get(int index) {
+		if (index < 0 || index >= courses.length) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+		return courses[index];
+	}
+
+	/**
+	 * Returns the Course with the given name and section.
+	 *
+	 * @param name    name of the Course
+	 * @param section section of the Course
+	 * @return the Course, or null if it is not in the snapshot
+	 */
+	public Course getCourse(String name, String section) {
+		return courseIndex.get(key(name, section));
+	}
+
+	/**
+	 * Finds the position of a Course with a binary search on name and section.
+	 *
+	 * @param c Course to locate
+	 * @return position of the Course, or -1 if it is not in the snapshot
+	 */
+	public int indexOf(Course c) {
+		int index = insertionPoint(c);
+		return index < courses.length && courses[index].compareTo(c) == 0 ? index : -1;
+	}
+
+	/**
+	 * Returns the Courses in catalog order as a list that cannot be modified.
+	 *
+	 * @return read-only list of the Courses
+	 */
+	public List<Course> asList() {
+		return Collections.unmodifiableList(Arrays.asList(courses));
+	}
+
+	/**
+	 * Returns the first position whose Course does not sort before the given one.
+	 *
+	 * @param c Course to place
+	 * @return position of the Course, or where it would be inserted
+	 */
+	private int insertionPoint(Course c) {
+		int low = 0;
+		int high = courses.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (courses[mid].compareTo(c) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Builds the key used to index a Course by its name and section. A comma
+	 * cannot appear in a valid name or section, so distinct pairs give distinct keys,
+	 * and since it sorts before every letter and digit, keys sort in catalog order.
+	 *
+	 * @param name    name of the Course
+	 * @param section section of the Course
+	 * @return key for the course index
+	 */
+	static String key(String name, String section) {
+		return name + "," + section;
+	}
+}
@@ -3,15 +3,50 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.CourseListener;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.io.RosterRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.RosterRecordIO.Roster;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
 /**
  * This is the Catalog class to implement the functionality of a catalog, using already
  * implemented features in WolfScheduler or StudentDirectory for reference. 
  * 
+ * The Courses are held in an immutable CatalogSnapshot behind a volatile reference.
+ * Methods that change the catalog are synchronized, build a new snapshot, and publish
+ * it in one write, so getSnapshot() and the other read methods on the catalog list
+ * never lock and never see a half-finished change. The secondary indexes are
+ * replaced the same way, so searches and queries never lock either and are not
+ * held up by a reload. Every change, including a change to a catalog Course or
+ * its roll, also advances the catalog's version. Changes other than to a roll
+ * also advance its record version, which tells a background save of the course
+ * records whether there is anything new to write.
+ * 
+ * Rolls change under their own locks as students register, so a roll change does
+ * not take the catalog's lock: the open seat index refiles the Course's sections
+ * by themselves, and listeners are told on the thread that made the change.
+ * Listeners that update a user interface move the work onto its thread
+ * themselves.
+ * 
  * @author Samir Naseri
  * @author Chris Gilbert
  * @author Hinano Turner
@@ -19,38 +54,450 @@ import edu.ncsu.csc217.collections.list.SortedList;
 public class CourseCatalog {
 
 	//State Fields 
-	/** A Course Catalog */
-	private SortedList<Course> catalog;
+	/** The current version of the Course Catalog, replaced whole by each change */
+	private volatile CatalogSnapshot catalog;
+	/** Indexes on instructor, subject, meeting day, and time band, replaced whole by each change */
+	private volatile CourseQueryIndex queryIndex;
+	/** Name and title word index used to answer text searches, replaced whole by each change */
+	private volatile CourseSearchIndex searchIndex;
+	/** Sections of each Course name ordered by open seats */
+	private volatile OpenSeatIndex openSeatIndex;
+	/** Meeting times by day, rebuilt by the next schedule query after the catalog changes */
+	private volatile MeetingTimeIndex meetingIndex;
+	/** Number of changes made to the fields of catalog Courses */
+	private final AtomicLong courseChanges = new AtomicLong();
+	/** Keeps the indexes current and passes on changes to catalog Courses */
+	private final CourseListener courseTracker = new CourseTracker();
+	/** Listeners told about each change to the catalog */
+	private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
+	/** Number of changes made to the catalog */
+	private final AtomicLong version = new AtomicLong();
+	/** Number of changes made to the catalog that show in its course record file */
+	private final AtomicLong recordVersion = new AtomicLong();
 	
 	/**
 	 * This method is the Constructor for the CourseCatalog Class.
-	 * This method constructs an empty catalog - SortedList. 
+	 * This method constructs an empty catalog. 
 	 */
 	public CourseCatalog() {
-		catalog = new SortedList<>();
+		catalog = new CatalogSnapshot();
+		queryIndex = new CourseQueryIndex();
+		searchIndex = new CourseSearchIndex();
+		openSeatIndex = new OpenSeatIndex();
 	}
 	
 	/**
 	 * This method essentially just constructs an empty catalog.
 	 * Making it a new catalog.
 	 */
-	public void newCourseCatalog() {
-		catalog = new SortedList<Course>();
+	public synchronized void newCourseCatalog() {
+		clearIndexes();
+		catalog = new CatalogSnapshot();
+		version.incrementAndGet();
+		recordVersion.incrementAndGet();
+		fireCatalogReset();
 	}
 	
 	/**
-	 * This method loads in the course records to the catalog. 
+	 * This method loads in the course records to the catalog, without instructors. 
 	 * Any FileNotFoundExceptions are caught and an IllegalArgumentException is thrown to the client.
 	 * 
 	 * @param fileName - File to load in the courses from
 	 * @throws IllegalArgumentException if the file does not exist 
 	 */
 	public void loadCoursesFromFile(String fileName) {
+		loadCoursesFromFile(fileName, null);
+	}
+
+	/**
+	 * This method loads in the course records to the catalog, assigning each
+	 * Course to its instructor in the given faculty directory. Courses whose
+	 * instructors are not in the directory are loaded without instructors.
+	 * Any FileNotFoundExceptions are caught and an IllegalArgumentException is thrown to the client.
+	 * 
+	 * @param fileName - File to load in the courses from
+	 * @param faculty - Directory of the instructors of the Courses, or null for none
+	 * @throws IllegalArgumentException if the file does not exist 
+	 */
+	public void loadCoursesFromFile(String fileName, FacultyDirectory faculty) {
+		Course[] loaded;
+		try {
+			loaded = CourseRecordIO.readCourseList(fileName, faculty).toArray(new Course[0]);
+		} catch(FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		replaceCatalog(loaded);
+	}
+
+	/**
+	 * This method brings the catalog in line with an edited course record file
+	 * without replacing it, so the rolls of the Courses that stay are kept. Each
+	 * record is matched to the catalog Course with its name and section, and
+	 * only the differences are applied: Courses new to the file are added and
+	 * assigned to their instructors in the given faculty directory, Courses
+	 * missing from the file are removed, and Courses whose title, credits,
+	 * enrollment cap, meeting information, or instructor changed are updated in
+	 * place. Listeners are told about each Course added, removed, or updated
+	 * rather than that the catalog was reset.
+	 * 
+	 * A Course whose record names a different instructor is moved from its old
+	 * instructor's schedule to the new one's, locking each faculty member as
+	 * registration does. As when loading, a Course whose instructor is not in the
+	 * directory, or cannot be assigned the Course, is left without one. With no
+	 * directory, instructors of Courses already in the catalog are left as they are.
+	 * A Course that still has students enrolled or waitlisted is not removed,
+	 * and a Course whose new cap is below its number of students enrolled is not
+	 * updated; both are reported as rejected. As with loadCoursesFromFile(),
+	 * invalid records and later duplicates are ignored.
+	 * 
+	 * @param fileName - File to reload the courses from
+	 * @param faculty - Directory of the instructors of added Courses, or null for none
+	 * @return the changes made to the catalog
+	 * @throws IllegalArgumentException if the file does not exist 
+	 */
+	public synchronized CatalogDiff reloadCoursesFromFile(String fileName, FacultyDirectory faculty) {
+		List<Course> records;
+		try {
+			records = CourseRecordIO.readCourseListWithInstructorIds(fileName);
+		} catch(FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		HashMap<String, Faculty> instructors = null;
+		if (faculty != null) {
+			instructors = new HashMap<String, Faculty>();
+			for (Faculty f : faculty.copyFaculty()) {
+				instructors.put(f.getId(), f);
+			}
+		}
+		CatalogSnapshot current = catalog;
+		HashSet<String> inFile = new HashSet<String>(records.size() * 2);
+		List<Course> added = new ArrayList<Course>();
+		List<Course> changed = new ArrayList<Course>();
+		List<Course> changedRecords = new ArrayList<Course>();
+		for (Course record : records) {
+			if (!inFile.add(CatalogSnapshot.key(record.getName(), record.getSection()))) {
+				continue;
+			}
+			Course c = current.getCourse(record.getName(), record.getSection());
+			if (c == null) {
+				added.add(record);
+			} else if (!sameRecord(c, record, instructors)) {
+				changed.add(c);
+				changedRecords.add(record);
+			}
+		}
+		List<Course> removed = new ArrayList<Course>();
+		List<Course> rejected = new ArrayList<Course>();
+		boolean[] removedAt = new boolean[current.size()];
+		for (int i = 0; i < current.size(); i++) {
+			Course c = current.get(i);
+			if (!inFile.contains(CatalogSnapshot.key(c.getName(), c.getSection()))) {
+				if (hasStudents(c)) {
+					rejected.add(c);
+				} else {
+					removedAt[i] = true;
+					removed.add(c);
+				}
+			}
+		}
+
+		CourseRecordIO.assignInstructors(added, faculty);
+		Collections.sort(added);
+		if (!added.isEmpty() || !removed.isEmpty()) {
+			CatalogSnapshot next = current.withoutCourses(removedAt).withCourses(added.toArray(new Course[0]),
+					new boolean[added.size()]);
+			indexCourses(removed, added);
+			catalog = next;
+			version.incrementAndGet();
+			recordVersion.incrementAndGet();
+			//Removing from the back and adding from the front keeps each index right at its event
+			for (int i = current.size() - 1; i >= 0; i--) {
+				if (removedAt[i]) {
+					for (int j = 0; j < listeners.size(); j++) {
+						listeners.get(j).courseRemoved(i, current.get(i));
+					}
+				}
+			}
+			for (Course c : added) {
+				int index = next.indexOf(c);
+				for (int j = 0; j < listeners.size(); j++) {
+					listeners.get(j).courseAdded(index, c);
+				}
+			}
+		}
+
+		//Each setter tells the listeners about its update through the course tracker
+		List<Course> updated = new ArrayList<Course>();
+		for (int i = 0; i < changed.size(); i++) {
+			if (updateCourse(changed.get(i), changedRecords.get(i), instructors)) {
+				updated.add(changed.get(i));
+			} else {
+				rejected.add(changed.get(i));
+			}
+		}
+		Collections.sort(updated);
+		Collections.sort(rejected);
+		int unchanged = current.size() - removed.size() - updated.size() - rejected.size();
+		return new CatalogDiff(added, removed, updated, rejected, unchanged);
+	}
+
+	/**
+	 * Returns whether a catalog Course already matches a record read for it.
+	 * 
+	 * @param c - Course in the catalog
+	 * @param record - Course read from the record with the same name and section
+	 * @param instructors - Faculty of the directory by id, or null to ignore instructors
+	 * @return true if the title, credits, cap, meeting information, and instructor match
+	 */
+	private static boolean sameRecord(Course c, Course record, HashMap<String, Faculty> instructors) {
+		return c.getTitle().equals(record.getTitle()) && c.getCredits() == record.getCredits()
+				&& c.getCourseRoll().getEnrollmentCap() == record.getCourseRoll().getEnrollmentCap()
+				&& c.getMeetingDays().equals(record.getMeetingDays()) && c.getStartTime() == record.getStartTime()
+				&& c.getEndTime() == record.getEndTime()
+				&& (instructors == null || Objects.equals(c.getInstructorId(), instructorOf(record, instructors)));
+	}
+
+	/**
+	 * Returns the id of the instructor a record assigns its Course to.
+	 * 
+	 * @param record - Course read from a record, holding the record's instructor id
+	 * @param instructors - Faculty of the directory by id
+	 * @return the instructor id, or null if the record has none or it is not in the directory
+	 */
+	private static String instructorOf(Course record, HashMap<String, Faculty> instructors) {
+		String id = record.getInstructorId();
+		return id != null && instructors.containsKey(id) ? id : null;
+	}
+
+	/**
+	 * Returns whether any student is enrolled in or waitlisted for a Course.
+	 * 
+	 * @param c - Course to check
+	 * @return true if the Course has students
+	 */
+	private static boolean hasStudents(Course c) {
+		CourseRoll roll = c.getCourseRoll();
+		return roll.getOpenSeats() < roll.getEnrollmentCap() || roll.getNumberOnWaitlist() > 0;
+	}
+
+	/**
+	 * Updates the fields of a catalog Course that differ from its record. The cap
+	 * is set first, so a cap that cannot be set leaves the Course unchanged. The
+	 * roll is locked while its cap is checked and set, as registration locks it
+	 * to enroll and drop.
+	 * 
+	 * @param c - Course in the catalog
+	 * @param record - Course read from the record with the same name and section
+	 * @param instructors - Faculty of the directory by id, or null to leave the instructor
+	 * @return true if the Course was updated, or false if its new cap is below its enrollment
+	 */
+	private static boolean updateCourse(Course c, Course record, HashMap<String, Faculty> instructors) {
+		int cap = record.getCourseRoll().getEnrollmentCap();
+		CourseRoll roll = c.getCourseRoll();
+		synchronized (roll) {
+			if (roll.getEnrollmentCap() != cap) {
+				try {
+					roll.setEnrollmentCap(cap);
+				} catch (IllegalArgumentException e) {
+					return false;
+				}
+			}
+		}
+		if (!c.getTitle().equals(record.getTitle())) {
+			c.setTitle(record.getTitle());
+		}
+		if (c.getCredits() != record.getCredits()) {
+			c.setCredits(record.getCredits());
+		}
+		if (!c.getMeetingDays().equals(record.getMeetingDays()) || c.getStartTime() != record.getStartTime()
+				|| c.getEndTime() != record.getEndTime()) {
+			c.setMeetingDaysAndTime(record.getMeetingDays(), record.getStartTime(), record.getEndTime());
+		}
+		if (instructors != null) {
+			String instructorId = instructorOf(record, instructors);
+			if (!Objects.equals(c.getInstructorId(), instructorId)) {
+				reassignInstructor(c, instructors.get(c.getInstructorId()), instructors.get(instructorId));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Moves a Course from one instructor's schedule to another's. Each faculty
+	 * member is locked while their schedule changes, as registration locks them
+	 * to add and remove Courses. If the new instructor cannot be assigned the
+	 * Course, it is left without an instructor.
+	 * 
+	 * @param c - Course to move
+	 * @param from - Current instructor, or null if the Course has none in the directory
+	 * @param to - New instructor, or null to leave the Course without one
+	 */
+	private static void reassignInstructor(Course c, Faculty from, Faculty to) {
+		if (from != null) {
+			synchronized (from) {
+				from.getSchedule().removeCourseFromSchedule(c);
+			}
+		}
+		if (c.getInstructorId() != null) {
+			//The instructor was not in the directory, so had no schedule to remove it from
+			c.setInstructorId(null);
+		}
+		if (to != null) {
+			synchronized (to) {
+				try {
+					to.getSchedule().addCourseToSchedule(c);
+				} catch (IllegalArgumentException e) {
+					//Conflicts with the instructor's other Courses, so left unassigned
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method loads the catalog from a binary snapshot written by
+	 * saveCourseCatalogSnapshot(), restoring each Course's roll and waitlist from
+	 * the students in the given directory and its instructor from the given
+	 * faculty directory.
+	 * 
+	 * @param fileName - File to load the snapshot from
+	 * @param students - Directory of the students enrolled in the Courses
+	 * @param faculty - Directory of the instructors of the Courses
+	 * @throws IllegalArgumentException if the file cannot be read or is not a catalog snapshot
+	 */
+	public void loadCoursesFromSnapshot(String fileName, StudentDirectory students, FacultyDirectory faculty) {
+		Course[] loaded;
+		try {
+			loaded = SnapshotIO.readCourseSnapshot(fileName, students, faculty).toArray(new Course[0]);
+		} catch(IOException e) {
+			throw new IllegalArgumentException("Cannot read snapshot " + fileName);
+		}
+		replaceCatalog(loaded);
+	}
+
+	/**
+	 * This method restores the roll and waitlist of every catalog Course, and the
+	 * schedule of every student in the given directory, from a roster file saved
+	 * by saveRosters(). The saved rolls are put back as they were, without the
+	 * checks enrolling each student again would make. Courses with no roster in
+	 * the file are left with empty rolls, and students on no roster with empty
+	 * schedules. Rosters for Courses not in the catalog, later rosters for the
+	 * same Course, ids not in the directory or already on the roster, and rosters
+	 * that no longer fit their Course's roll are skipped.
+	 * 
+	 * Each roll goes straight from its old students to its saved ones, so a
+	 * reader never sees it emptied part way through the load. Each roll and
+	 * schedule is locked while it is restored, as registration locks them; a
+	 * caller that registers students on other threads must also hold off their
+	 * operations until the load is done, as RegistrationManager.loadRosters()
+	 * does.
+	 *
+	 * @param fileName - File to load the rosters from
+	 * @param students - Directory of the students on the rosters
+	 * @return number of Courses whose rosters were restored
+	 * @throws IllegalArgumentException if the file does not exist
+	 */
+	public synchronized int loadRosters(String fileName, StudentDirectory students) {
+		List<Roster> rosters;
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			rosters = RosterRecordIO.readRosters(fileName);
 		} catch(FileNotFoundException e) {
 			throw new IllegalArgumentException("Cannot find file.");
 		}
+		List<Student> directory = students.copyStudents();
+		HashMap<String, Student> byId = new HashMap<String, Student>(directory.size() * 2);
+		for (Student s : directory) {
+			byId.put(s.getId(), s);
+		}
+		//Find the first roster of each Course, keeping the order of the file
+		List<Course> found = new ArrayList<Course>();
+		IdentityHashMap<Course, Student[][]> saved = new IdentityHashMap<Course, Student[][]>();
+		for (Roster roster : rosters) {
+			Course c = catalog.getCourse(roster.getName(), roster.getSection());
+			if (c == null || saved.containsKey(c)) {
+				continue;
+			}
+			HashSet<String> seenIds = new HashSet<String>();
+			Student[] enrolled = findStudents(roster.getEnrolledIds(), byId, seenIds);
+			Student[] waitlisted = findStudents(roster.getWaitlistedIds(), byId, seenIds);
+			saved.put(c, new Student[][] { enrolled, waitlisted });
+			found.add(c);
+		}
+		//Restore every roll once, emptying those with no roster or one that no longer fits
+		Student[] none = new Student[0];
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			Student[][] roster = saved.get(c);
+			CourseRoll roll = c.getCourseRoll();
+			synchronized (roll) {
+				try {
+					roll.restore(roster == null ? none : roster[0], roster == null ? none : roster[1]);
+				} catch (IllegalArgumentException e) {
+					saved.remove(c);
+					roll.restore(none, none);
+				}
+			}
+		}
+		IdentityHashMap<Student, List<Course>> schedules = new IdentityHashMap<Student, List<Course>>();
+		int restored = 0;
+		for (Course c : found) {
+			Student[][] roster = saved.get(c);
+			if (roster == null) {
+				continue;
+			}
+			for (Student s : roster[0]) {
+				schedules.computeIfAbsent(s, k -> new ArrayList<Course>()).add(c);
+			}
+			for (Student s : roster[1]) {
+				schedules.computeIfAbsent(s, k -> new ArrayList<Course>()).add(c);
+			}
+			restored++;
+		}
+		for (Student s : directory) {
+			List<Course> courses = schedules.get(s);
+			synchronized (s) {
+				s.getSchedule().restoreCourses(courses == null ? new Course[0] : courses.toArray(new Course[0]));
+			}
+		}
+		return restored;
+	}
+
+	/**
+	 * Finds the students with the given ids, skipping ids that are not in the
+	 * directory or that were already seen.
+	 *
+	 * @param ids - Ids of the students to find
+	 * @param byId - Students of the directory by id
+	 * @param seen - Ids already seen, to which the found ids are added
+	 * @return the students found, in the order of their ids
+	 */
+	private static Student[] findStudents(String[] ids, HashMap<String, Student> byId, HashSet<String> seen) {
+		List<Student> found = new ArrayList<Student>(ids.length);
+		for (String id : ids) {
+			Student s = byId.get(id);
+			if (s != null && seen.add(id)) {
+				found.add(s);
+			}
+		}
+		return found.toArray(new Student[0]);
+	}
+
+	/**
+	 * Replaces every Course in the catalog with the loaded Courses.
+	 * 
+	 * @param loaded - Courses to fill the catalog with, in any order
+	 */
+	private void replaceCatalog(Course[] loaded) {
+		//Sort once and drop later duplicates, as readCourseRecords() would
+		CatalogSnapshot next = new CatalogSnapshot().withCourses(loaded, new boolean[loaded.length]);
+		synchronized (this) {
+			//Rebuild the indexes for the newly loaded catalog
+			clearIndexes();
+			indexCourses(Collections.<Course>emptyList(), next.asList());
+			catalog = next;
+			version.incrementAndGet();
+			recordVersion.incrementAndGet();
+			fireCatalogReset();
+		}
 	}
 	
 	/**
@@ -68,24 +515,68 @@ public class CourseCatalog {
 	 * @param enrollmentCap - New course roll cap parameter
 	 * @return boolean - True or False
 	 */
-	public boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId, int enrollmentCap, String meetingDays, int startTime, int endTime) {
+	public synchronized boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId, int enrollmentCap, String meetingDays, int startTime, int endTime) {
 		//Creating empty new course. 
 		Course addCourse = null;
 		//Try adding new course information. 
 		addCourse = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime, endTime);
 		
 		//Checking for duplicates
-		for(int i = 0; i < catalog.size(); i++) {
-			Course course = catalog.get(i);
-			//use equals method
-			if (course.getName().equals(name) && course.getSection().equals(section) ) {
-				return false;
-			}
+		if (catalog.getCourse(name, section) != null) {
+			return false;
+		}
+		indexCourses(Collections.<Course>emptyList(), Collections.singletonList(addCourse));
+		catalog = catalog.withCourse(addCourse);
+		version.incrementAndGet();
+		recordVersion.incrementAndGet();
+		int index = catalog.indexOf(addCourse);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).courseAdded(index, addCourse);
 		}
-		catalog.add(addCourse);
 		return true; 
 	}
 	
+	/**
+	 * Adds a batch of Courses to the catalog, such as a whole term's sections.
+	 * The batch is sorted once and merged with the catalog in a single pass,
+	 * instead of searching the catalog for each Course. A Course is rejected as a
+	 * duplicate if its name and section are already in the catalog or appear
+	 * earlier in the batch. The new version of the catalog is published once, and
+	 * listeners are told the catalog was reset rather than about each Course.
+	 * 
+	 * @param courses - Courses to add
+	 * @return one result per Course in the order given, true if it was added and
+	 *         false if it was rejected as a duplicate
+	 * @throws IllegalArgumentException if the collection or any Course in it is null
+	 */
+	public synchronized boolean[] addCoursesToCatalog(Collection<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid courses.");
+		}
+		Course[] added = courses.toArray(new Course[0]);
+		for (Course c : added) {
+			if (c == null) {
+				throw new IllegalArgumentException("Invalid course.");
+			}
+		}
+		boolean[] results = new boolean[added.length];
+		CatalogSnapshot next = catalog.withCourses(added, results);
+		if (next.size() > catalog.size()) {
+			List<Course> indexed = new ArrayList<Course>();
+			for (int i = 0; i < added.length; i++) {
+				if (results[i]) {
+					indexed.add(added[i]);
+				}
+			}
+			indexCourses(Collections.<Course>emptyList(), indexed);
+			catalog = next;
+			version.incrementAndGet();
+			recordVersion.incrementAndGet();
+			fireCatalogReset();
+		}
+		return results;
+	}
+	
 	/**
 	 * This method just removes a course from the catalog. 
 	 * Returns true if the Course is removed from the catalog and false if the Course is not in the catalog.
@@ -94,16 +585,19 @@ public class CourseCatalog {
 	 * @param section - Section of course to remove. 
 	 * @return boolean - True or False
 	 */
-	public boolean removeCourseFromCatalog(String name, String section) {
-		Course course = getCourseFromCatalog(name, section);
+	public synchronized boolean removeCourseFromCatalog(String name, String section) {
+		Course course = catalog.getCourse(name, section);
 		//Making sure it is not null before we try to remove.
 		if(course != null) {
-			for(int i = 0; i < catalog.size(); i++) {
-				if(catalog.get(i).equals(course)) {
-					catalog.remove(i);
-					return true;
-				}
+			int index = catalog.indexOf(course);
+			catalog = catalog.withoutCourse(index);
+			indexCourses(Collections.singletonList(course), Collections.<Course>emptyList());
+			version.incrementAndGet();
+			recordVersion.incrementAndGet();
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).courseRemoved(index, course);
 			}
+			return true;
 		}
 		return false;
 	}
@@ -119,13 +613,237 @@ public class CourseCatalog {
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
 		// Looking for distinct course 
-		for(int i = 0; i < catalog.size(); i++) {
-			Course c = catalog.get(i);
-			if (c.getName().equals(name) && c.getSection().equals(section))	{
-				return c;
+		return catalog.getCourse(name, section);
+	}
+	
+	/**
+	 * Returns the current version of the catalog. The snapshot never changes, so
+	 * it can be read from any thread without locking while the catalog is edited;
+	 * call this again to see later changes.
+	 * 
+	 * @return current snapshot of the catalog
+	 */
+	public CatalogSnapshot getSnapshot() {
+		return catalog;
+	}
+	
+	/**
+	 * Returns the number of changes made to the catalog so far. A save of the
+	 * catalog includes every change up to the version read before it started.
+	 * 
+	 * @return version of the catalog
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+	
+	/**
+	 * Returns the number of changes made to the catalog so far that show in its
+	 * course record file. Students enrolling and dropping change only the rolls,
+	 * which the record file does not hold, so they do not advance it.
+	 * 
+	 * @return version of the catalog's course records
+	 */
+	public long getRecordVersion() {
+		return recordVersion.get();
+	}
+	
+	/**
+	 * Returns the Courses that match every criterion set on the query, in catalog
+	 * order. The query is answered from indexes on instructor, subject, meeting
+	 * day, and start time band, so the cost grows with the number of matches
+	 * rather than the size of the catalog.
+	 * 
+	 * @param query - Criteria the Courses must match
+	 * @return list of matching Courses
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public List<Course> findCourses(CourseQuery query) {
+		if (query == null) {
+			throw new IllegalArgumentException("Invalid query.");
+		}
+		return queryIndex.find(query);
+	}
+	
+	/**
+	 * Returns the Courses that best match the words of a type-ahead search, best
+	 * first. Each word must start the Course's name, such as "CSC2", or one of
+	 * the words of its title, such as "discrete" or "prog", ignoring case.
+	 * Courses matched by name rank ahead of those matched by title, and whole
+	 * words rank ahead of prefixes. The search is answered from prefix tries on
+	 * names and title words, so it only visits Courses that match.
+	 * 
+	 * @param text - Words to search for
+	 * @param limit - Largest number of Courses to return
+	 * @return list of matching Courses, empty if the text has no words
+	 * @throws IllegalArgumentException if the text is null or the limit is negative
+	 */
+	public List<Course> searchCourses(String text, int limit) {
+		if (text == null || limit < 0) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		return searchIndex.search(text, limit);
+	}
+	
+	/**
+	 * Returns the sections of the named Course that have open seats, most open
+	 * seats first. The sections of each Course are kept ordered by open seats as
+	 * students enroll and drop, so only the sections returned are visited.
+	 * 
+	 * @param name - Name of the Course
+	 * @return list of sections with open seats, empty if there are none
+	 * @throws IllegalArgumentException if the name is null
+	 */
+	public List<Course> findOpenSections(String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("Invalid course name.");
+		}
+		return openSeatIndex.findOpen(name);
+	}
+	
+	/**
+	 * Suggests another section of the same Course to try when the given section
+	 * cannot be added. The suggestion is the section with open seats whose start
+	 * time is closest to the given section's, or null if no other section has
+	 * open seats.
+	 * 
+	 * @param course - Section that could not be added
+	 * @return another section with open seats, or null
+	 * @throws IllegalArgumentException if the course is null
+	 */
+	public Course suggestAlternativeSection(Course course) {
+		if (course == null) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		return openSeatIndex.nearestOpen(course);
+	}
+	
+	/**
+	 * Returns the Courses in catalog order that could be added to the given
+	 * Schedule: they do not share a name with a scheduled Course and do not
+	 * overlap the meeting times of any scheduled Course. Overlaps are found from
+	 * a per-day index of catalog meeting times, so each scheduled Course only
+	 * visits the sections that could overlap it.
+	 * 
+	 * @param schedule - Schedule the Courses must fit
+	 * @return list of Courses that fit the Schedule
+	 * @throws IllegalArgumentException if the schedule is null
+	 */
+	public List<Course> findNonConflictingCourses(Schedule schedule) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		return findNonConflictingCourses(schedule, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns the Courses in catalog order that the Student could add, as
+	 * Student.canAdd() would decide: they fit the Student's Schedule and their
+	 * credits do not take the Student over their maximum credits.
+	 * 
+	 * @param student - Student adding Courses
+	 * @return list of Courses the Student can add
+	 * @throws IllegalArgumentException if the student is null
+	 */
+	public List<Course> findNonConflictingCourses(Student student) {
+		if (student == null) {
+			throw new IllegalArgumentException("Invalid student.");
+		}
+		Schedule schedule = student.getSchedule();
+		return findNonConflictingCourses(schedule, student.getMaxCredits() - schedule.getScheduleCredits());
+	}
+	
+	/**
+	 * Returns the Courses that fit a Schedule and have no more than the given credits.
+	 * 
+	 * @param schedule - Schedule the Courses must fit
+	 * @param creditsLeft - Most credits a Course can have
+	 * @return list of Courses that fit
+	 */
+	private List<Course> findNonConflictingCourses(Schedule schedule, int creditsLeft) {
+		//Read the count first, so an index built while a Course changes is rebuilt next time
+		long changes = courseChanges.get();
+		CatalogSnapshot current = catalog;
+		MeetingTimeIndex index = meetingIndex;
+		if (index == null || !index.isFor(current, changes)) {
+			index = new MeetingTimeIndex(current, changes);
+			meetingIndex = index;
+		}
+		Course[] scheduled = schedule.getCourses();
+		boolean[] conflicts = index.findConflicts(scheduled);
+		HashSet<String> names = new HashSet<>();
+		for (Course c : scheduled) {
+			names.add(c.getName());
+		}
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < current.size(); i++) {
+			Course c = current.get(i);
+			if (!conflicts[i] && c.getCredits() <= creditsLeft && !names.contains(c.getName())) {
+				courses.add(c);
 			}
 		}
-		return null;
+		return courses;
+	}
+	
+	/**
+	 * Registers a listener to be told about each Course added to, removed from, or
+	 * changed in the catalog. Roll changes are reported on the thread that made
+	 * them, which need not be the thread that added the listener.
+	 * 
+	 * @param listener - Listener to add
+	 */
+	public synchronized void addCatalogListener(CatalogListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener previously added with addCatalogListener().
+	 * 
+	 * @param listener - Listener to remove
+	 */
+	public synchronized void removeCatalogListener(CatalogListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Tells every listener that the whole catalog has been replaced.
+	 */
+	private void fireCatalogReset() {
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).catalogReset();
+		}
+	}
+	
+	/**
+	 * Removes Courses from and adds Courses to the catalog's indexes, publishing
+	 * each changed index whole, and tracks changes to the Courses added.
+	 * 
+	 * @param removed - Courses that were removed from the catalog
+	 * @param added - Courses that were added to the catalog
+	 */
+	private void indexCourses(Collection<Course> removed, Collection<Course> added) {
+		queryIndex = queryIndex.with(removed, added);
+		searchIndex = searchIndex.with(removed, added);
+		for (Course c : removed) {
+			openSeatIndex.remove(c);
+			c.removeCourseListener(courseTracker);
+		}
+		for (Course c : added) {
+			openSeatIndex.add(c);
+			c.addCourseListener(courseTracker);
+		}
+	}
+	
+	/**
+	 * Empties the catalog's indexes and stops tracking the Courses that were in it.
+	 */
+	private void clearIndexes() {
+		for (int i = 0; i < catalog.size(); i++) {
+			catalog.get(i).removeCourseListener(courseTracker);
+		}
+		queryIndex = new CourseQueryIndex();
+		searchIndex = new CourseSearchIndex();
+		openSeatIndex = new OpenSeatIndex();
 	}
 	
 	/**
@@ -134,14 +852,43 @@ public class CourseCatalog {
 	 * @return Course Catalog 
 	 */
 	public String[][] getCourseCatalog() {
-		String[][] catalogArray = new String[catalog.size()][];
-		for (int i = 0; i < catalog.size(); i++) {
-			Course c = catalog.get(i);
-			catalogArray[i] = c.getShortDisplayArray();
+		return getCourseCatalog(0, catalog.size());
+	}
+	
+	/**
+	 * Returns one page of the name, section, title, and meeting information for
+	 * Courses in the catalog, starting at the given position in catalog order.
+	 * Each Course caches its display row, so rows are only re-formatted after
+	 * the Course's meeting information or roll has changed.
+	 * 
+	 * @param offset - Position in the catalog of the first row to return
+	 * @param limit - Largest number of rows to return
+	 * @return rows for the Courses on the page, which is shorter than limit at the end of the catalog
+	 * @throws IllegalArgumentException if offset or limit is negative
+	 */
+	public String[][] getCourseCatalog(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		CatalogSnapshot current = catalog;
+		int end = (int) Math.min((long) offset + limit, current.size());
+		String[][] catalogArray = new String[Math.max(0, end - offset)][];
+		for (int i = offset; i < end; i++) {
+			Course c = current.get(i);
+			catalogArray[i - offset] = c.getShortDisplayArray();
 		}
 		return catalogArray;
 	}
 	
+	/**
+	 * Returns the number of Courses in the catalog.
+	 * 
+	 * @return number of Courses
+	 */
+	public int getNumCourses() {
+		return catalog.size();
+	}
+	
 	/**
 	 * Saves the catalog course records to the given file.
 	 * Any IOExceptions are caught and an IllegalArgumentException is thrown to the client.
@@ -151,10 +898,85 @@ public class CourseCatalog {
 	 */
 	public void saveCourseCatalog(String fileName) {
 		try {
-			CourseRecordIO.writeCourseRecords(fileName, catalog);
+			CourseRecordIO.writeCourseRecords(fileName, catalog.asList());
 		} catch (IOException e) { 
 			throw new IllegalArgumentException("The file cannot be saved.");
 		}
 	}
+
+	/**
+	 * This method saves the catalog, with every Course's roll and waitlist, to a
+	 * binary snapshot that loadCoursesFromSnapshot() can read back quickly.
+	 * 
+	 * @param fileName - File to save the snapshot to
+	 * @throws IllegalArgumentException if the file cannot be saved
+	 */
+	public void saveCourseCatalogSnapshot(String fileName) {
+		try {
+			SnapshotIO.writeCourseSnapshot(fileName, catalog.asList());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+
+	/**
+	 * This method saves who is enrolled in and waitlisted for each Course to a
+	 * roster file that loadRosters() can restore.
+	 *
+	 * @param fileName - File to save the rosters to
+	 * @throws IllegalArgumentException if the file cannot be saved
+	 */
+	public void saveRosters(String fileName) {
+		try {
+			RosterRecordIO.writeRosters(fileName, catalog.asList());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+	
+	/**
+	 * Listens to every Course in the catalog, refiling it in the query indexes
+	 * when its fields change and passing the change on to catalog listeners.
+	 */
+	private class CourseTracker implements CourseListener {
+
+		/**
+		 * Refiles the Course and tells catalog listeners about the update.
+		 * 
+		 * @param course - Course that changed
+		 */
+		@Override
+		public void courseUpdated(Course course) {
+			synchronized (CourseCatalog.this) {
+				courseChanges.incrementAndGet();
+				queryIndex = queryIndex.refiled(course);
+				searchIndex = searchIndex.refiled(course);
+				openSeatIndex.update(course);
+				version.incrementAndGet();
+				recordVersion.incrementAndGet();
+				int index = catalog.indexOf(course);
+				for (int i = 0; i < listeners.size(); i++) {
+					listeners.get(i).courseUpdated(index, course);
+				}
+			}
+		}
+
+		/**
+		 * Refiles the Course by its open seats and tells catalog listeners that its
+		 * seats changed. This is called with the roll locked, so it reads the
+		 * current snapshot and indexes rather than lock the catalog.
+		 * 
+		 * @param course - Course whose roll changed
+		 */
+		@Override
+		public void rollChanged(Course course) {
+			openSeatIndex.update(course);
+			version.incrementAndGet();
+			int index = catalog.indexOf(course);
+			for (CatalogListener listener : listeners) {
+				listener.seatsChanged(index, course);
+			}
+		}
+	}
 	
 }
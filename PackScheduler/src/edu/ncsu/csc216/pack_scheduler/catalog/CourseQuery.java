@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Describes a search over the CourseCatalog. Each criterion that is set narrows
+ * the search, and criteria that are left unset match every Course. A query is
+ * passed to CourseCatalog.findCourses(), which answers it from the catalog's
+ * indexes instead of scanning every Course.
+ */
+public class CourseQuery {
+
+	/**
+	 * Bands of the day used to group Courses by start time.
+	 */
+	public enum TimeBand {
+		/** Courses that start before noon */
+		MORNING,
+		/** Courses that start at or after noon and before 5:00PM */
+		AFTERNOON,
+		/** Courses that start at or after 5:00PM */
+		EVENING,
+		/** Courses with arranged meeting times */
+		ARRANGED;
+
+		/** Start time, in military time, where the afternoon band begins */
+		public static final int AFTERNOON_START = 1200;
+		/** Start time, in military time, where the evening band begins */
+		public static final int EVENING_START = 1700;
+
+		/**
+		 * Returns the band that holds the given Course's start time.
+		 * 
+		 * @param c Course to place in a band
+		 * @return the band for the Course
+		 */
+		public static TimeBand of(Course c) {
+			if ("A".equals(c.getMeetingDays())) {
+				return ARRANGED;
+			}
+			if (c.getStartTime() < AFTERNOON_START) {
+				return MORNING;
+			}
+			if (c.getStartTime() < EVENING_START) {
+				return AFTERNOON;
+			}
+			return EVENING;
+		}
+	}
+
+	/** Instructor id to match, or null for any instructor */
+	private String instructorId;
+	/** Subject prefix to match, or null for any subject */
+	private String subject;
+	/** Meeting days that must all be included, or null for any days */
+	private String meetingDays;
+	/** Start time band to match, or null for any band */
+	private TimeBand timeBand;
+
+	/**
+	 * Returns the instructor id to match.
+	 * 
+	 * @return the instructorId, or null if not set
+	 */
+	public String getInstructorId() {
+		return instructorId;
+	}
+
+	/**
+	 * Sets the instructor id to match.
+	 * 
+	 * @param instructorId the instructorId to match, or null for any
+	 */
+	public void setInstructorId(String instructorId) {
+		this.instructorId = instructorId;
+	}
+
+	/**
+	 * Returns the subject prefix to match.
+	 * 
+	 * @return the subject, or null if not set
+	 */
+	public String getSubject() {
+		return subject;
+	}
+
+	/**
+	 * Sets the subject prefix to match, which is the letters at the start of a
+	 * Course name, such as "CSC" for CSC216.
+	 * 
+	 * @param subject the subject to match, or null for any
+	 */
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	/**
+	 * Returns the meeting days that must be included.
+	 * 
+	 * @return the meetingDays, or null if not set
+	 */
+	public String getMeetingDays() {
+		return meetingDays;
+	}
+
+	/**
+	 * Sets the meeting days that a Course must include. A Course matches if it
+	 * meets on every given day, so "T" matches both "T" and "TH" Courses. Use "A"
+	 * to match arranged Courses.
+	 * 
+	 * @param meetingDays the days to match, or null for any
+	 */
+	public void setMeetingDays(String meetingDays) {
+		this.meetingDays = meetingDays;
+	}
+
+	/**
+	 * Returns the start time band to match.
+	 * 
+	 * @return the timeBand, or null if not set
+	 */
+	public TimeBand getTimeBand() {
+		return timeBand;
+	}
+
+	/**
+	 * Sets the start time band to match.
+	 * 
+	 * @param timeBand the band to match, or null for any
+	 */
+	public void setTimeBand(TimeBand timeBand) {
+		this.timeBand = timeBand;
+	}
+
+	/**
+	 * Returns the subject of a Course name, which is the leading letters of the
+	 * name.
+	 * 
+	 * @param name Course name
+	 * @return the subject of the name
+	 */
+	static String subjectOf(String name) {
+		int end = 0;
+		while (end < name.length() && Character.isLetter(name.charAt(end))) {
+			end++;
+		}
+		return name.substring(0, end);
+	}
+}
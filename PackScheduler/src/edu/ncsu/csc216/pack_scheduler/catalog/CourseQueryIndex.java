@@ -0,0 +1,275 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseQuery.TimeBand;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Secondary indexes over the Courses in a CourseCatalog, keyed by instructor
+ * id, subject, meeting day, and start time band. A CourseQuery is answered by
+ * intersecting the sets for its criteria, starting from the smallest one, so
+ * the cost depends on the size of the result rather than the catalog.
+ *
+ * Course equality and hash codes depend on mutable fields, so the sets compare
+ * Courses by identity. Each Course remembers the keys it was indexed under so
+ * it can be moved when those fields change.
+ *
+ * An index never changes once it has been built, so it can be queried from any
+ * thread without locking. A change returns a new index that copies only the
+ * maps and the sets it touches and shares the rest with this one, the same way
+ * a CatalogSnapshot is replaced rather than edited.
+ */
+class CourseQueryIndex {
+
+	/** Courses by instructor id */
+	private HashMap<String, CourseSet> byInstructor;
+	/** Courses by subject */
+	private HashMap<String, CourseSet> bySubject;
+	/** Courses by each of their meeting days */
+	private HashMap<Character, CourseSet> byMeetingDay;
+	/** Courses by start time band */
+	private EnumMap<TimeBand, CourseSet> byTimeBand;
+	/** Keys each indexed Course is currently filed under */
+	private IdentityHashMap<Course, IndexedKeys> indexed;
+	/** Sets copied by the change building this index, or null once it is built */
+	private Set<CourseSet> copied;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	CourseQueryIndex() {
+		byInstructor = new HashMap<>();
+		bySubject = new HashMap<>();
+		byMeetingDay = new HashMap<>();
+		byTimeBand = new EnumMap<>(TimeBand.class);
+		indexed = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Constructs an index with the same Courses as another, ready to be changed.
+	 *
+	 * @param other index to copy
+	 */
+	@SuppressWarnings("unchecked")
+	private CourseQueryIndex(CourseQueryIndex other) {
+		byInstructor = (HashMap<String, CourseSet>) other.byInstructor.clone();
+		bySubject = (HashMap<String, CourseSet>) other.bySubject.clone();
+		byMeetingDay = (HashMap<Character, CourseSet>) other.byMeetingDay.clone();
+		byTimeBand = other.byTimeBand.clone();
+		indexed = (IdentityHashMap<Course, IndexedKeys>) other.indexed.clone();
+		copied = Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Returns a new index with Courses removed from and added to this one.
+	 *
+	 * @param removed Courses to remove
+	 * @param added   Courses to add
+	 * @return new index
+	 */
+	CourseQueryIndex with(Collection<Course> removed, Collection<Course> added) {
+		CourseQueryIndex next = new CourseQueryIndex(this);
+		for (Course c : removed) {
+			next.remove(c);
+		}
+		for (Course c : added) {
+			next.add(c);
+		}
+		next.copied = null;
+		return next;
+	}
+
+	/**
+	 * Returns a new index with a Course refiled under its current fields, or this
+	 * index if the Course is not in it.
+	 *
+	 * @param c Course whose indexed fields may have changed
+	 * @return index with the Course refiled
+	 */
+	CourseQueryIndex refiled(Course c) {
+		IndexedKeys keys = indexed.get(c);
+		if (keys == null || keys.matches(c)) {
+			return this;
+		}
+		List<Course> course = Collections.singletonList(c);
+		return with(course, course);
+	}
+
+	/**
+	 * Adds a Course to every index.
+	 *
+	 * @param c Course to add
+	 */
+	private void add(Course c) {
+		IndexedKeys keys = new IndexedKeys(c);
+		indexed.put(c, keys);
+		if (keys.instructorId != null) {
+			setFor(byInstructor, keys.instructorId).add(c);
+		}
+		setFor(bySubject, keys.subject).add(c);
+		for (int i = 0; i < keys.meetingDays.length(); i++) {
+			setFor(byMeetingDay, keys.meetingDays.charAt(i)).add(c);
+		}
+		setFor(byTimeBand, keys.timeBand).add(c);
+	}
+
+	/**
+	 * Removes a Course from every index, using the keys it was filed under.
+	 *
+	 * @param c Course to remove
+	 */
+	private void remove(Course c) {
+		IndexedKeys keys = indexed.remove(c);
+		if (keys == null) {
+			return;
+		}
+		if (keys.instructorId != null) {
+			removeFrom(byInstructor, keys.instructorId, c);
+		}
+		removeFrom(bySubject, keys.subject, c);
+		for (int i = 0; i < keys.meetingDays.length(); i++) {
+			removeFrom(byMeetingDay, keys.meetingDays.charAt(i), c);
+		}
+		removeFrom(byTimeBand, keys.timeBand, c);
+	}
+
+	/**
+	 * Returns the Courses that match every criterion set on the query, sorted in
+	 * catalog order.
+	 *
+	 * @param query criteria to match
+	 * @return list of matching Courses
+	 */
+	List<Course> find(CourseQuery query) {
+		List<CourseSet> sets = new ArrayList<>();
+		if (query.getInstructorId() != null) {
+			sets.add(byInstructor.get(query.getInstructorId()));
+		}
+		if (query.getSubject() != null) {
+			sets.add(bySubject.get(query.getSubject()));
+		}
+		if (query.getMeetingDays() != null) {
+			for (int i = 0; i < query.getMeetingDays().length(); i++) {
+				sets.add(byMeetingDay.get(query.getMeetingDays().charAt(i)));
+			}
+		}
+		if (query.getTimeBand() != null) {
+			sets.add(byTimeBand.get(query.getTimeBand()));
+		}
+		if (sets.isEmpty()) {
+			List<Course> everything = new ArrayList<>(indexed.keySet());
+			Collections.sort(everything);
+			return everything;
+		}
+
+		// Any criterion without a set has no matches; otherwise walk the smallest
+		CourseSet smallest = null;
+		for (CourseSet set : sets) {
+			if (set == null) {
+				return new ArrayList<>();
+			}
+			if (smallest == null || set.size() < smallest.size()) {
+				smallest = set;
+			}
+		}
+
+		List<Course> matches = new ArrayList<>();
+		for (Course c : smallest.keySet()) {
+			boolean inAll = true;
+			for (int i = 0; inAll && i < sets.size(); i++) {
+				inAll = sets.get(i) == smallest || sets.get(i).containsKey(c);
+			}
+			if (inAll) {
+				matches.add(c);
+			}
+		}
+		Collections.sort(matches);
+		return matches;
+	}
+
+	/**
+	 * Returns the set stored under a key for this change to add to, creating it
+	 * if needed and copying it the first time the change touches it.
+	 *
+	 * @param <K>   type of the key
+	 * @param index index to look in
+	 * @param key   key of the set
+	 * @return set for the key
+	 */
+	private <K> CourseSet setFor(Map<K, CourseSet> index, K key) {
+		CourseSet set = index.get(key);
+		if (set == null || !copied.contains(set)) {
+			set = set == null ? new CourseSet() : set.clone();
+			copied.add(set);
+			index.put(key, set);
+		}
+		return set;
+	}
+
+	/**
+	 * Removes a Course from the set stored under a key, dropping the set once it
+	 * is empty.
+	 *
+	 * @param <K>   type of the key
+	 * @param index index to remove from
+	 * @param key   key of the set
+	 * @param c     Course to remove
+	 */
+	private <K> void removeFrom(Map<K, CourseSet> index, K key, Course c) {
+		CourseSet set = index.get(key);
+		if (set != null && set.containsKey(c)) {
+			if (set.size() == 1) {
+				index.remove(key);
+			} else {
+				setFor(index, key).remove(c);
+			}
+		}
+	}
+
+	/**
+	 * The keys a Course was filed under when it was last indexed.
+	 */
+	private static class IndexedKeys {
+		/** Instructor id, which may be null */
+		private String instructorId;
+		/** Subject of the name */
+		private String subject;
+		/** Meeting days */
+		private String meetingDays;
+		/** Start time band */
+		private TimeBand timeBand;
+
+		/**
+		 * Records the current keys of a Course.
+		 *
+		 * @param c Course to record
+		 */
+		IndexedKeys(Course c) {
+			instructorId = c.getInstructorId();
+			subject = CourseQuery.subjectOf(c.getName());
+			meetingDays = c.getMeetingDays();
+			timeBand = TimeBand.of(c);
+		}
+
+		/**
+		 * Returns true if a Course would still be filed under these keys.
+		 *
+		 * @param c Course to check
+		 * @return true if the Course's current keys are the same
+		 */
+		boolean matches(Course c) {
+			return Objects.equals(instructorId, c.getInstructorId()) && meetingDays.equals(c.getMeetingDays())
+					&& timeBand == TimeBand.of(c);
+		}
+	}
+}
@@ -0,0 +1,461 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Text search over the Courses in a CourseCatalog. Course names are kept in a
+ * prefix trie and the words of each title in a second trie, which together act
+ * as an inverted index: looking up a search term only visits the Courses whose
+ * name or title words start with it.
+ *
+ * Every term in a search must match the start of the Course's name or of one of
+ * its title words. Matches are ranked by how well each term matched, with name
+ * matches ahead of whole title words and whole title words ahead of prefixes.
+ *
+ * An index never changes once it has been built, so it can be searched from any
+ * thread without locking. A change returns a new index that copies the trie
+ * nodes on the paths it touches and shares every other node with this one.
+ */
+class CourseSearchIndex {
+
+	/** Score for a term that is the whole name */
+	private static final int NAME_SCORE = 4;
+	/** Score for a term that starts the name */
+	private static final int NAME_PREFIX_SCORE = 3;
+	/** Score for a term that is a whole title word */
+	private static final int WORD_SCORE = 2;
+	/** Score for a term that starts a title word */
+	private static final int WORD_PREFIX_SCORE = 1;
+
+	/** Courses by name, which is always upper case */
+	private TrieNode names;
+	/** Courses by each lower case word of their title */
+	private TrieNode titleWords;
+	/** Title words each indexed Course was filed under */
+	private IdentityHashMap<Course, String[]> indexedWords;
+	/** Nodes and sets copied by the change building this index, or null once it is built */
+	private Set<Object> copied;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	CourseSearchIndex() {
+		names = new TrieNode();
+		titleWords = new TrieNode();
+		indexedWords = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Constructs an index with the same Courses as another, ready to be changed.
+	 *
+	 * @param other index to copy
+	 */
+	@SuppressWarnings("unchecked")
+	private CourseSearchIndex(CourseSearchIndex other) {
+		names = other.names;
+		titleWords = other.titleWords;
+		indexedWords = (IdentityHashMap<Course, String[]>) other.indexedWords.clone();
+		copied = Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Returns a new index with Courses removed from and added to this one.
+	 *
+	 * @param removed Courses to remove
+	 * @param added   Courses to add
+	 * @return new index
+	 */
+	CourseSearchIndex with(Collection<Course> removed, Collection<Course> added) {
+		CourseSearchIndex next = new CourseSearchIndex(this);
+		for (Course c : removed) {
+			next.remove(c);
+		}
+		for (Course c : added) {
+			next.add(c);
+		}
+		next.copied = null;
+		return next;
+	}
+
+	/**
+	 * Returns a new index with a Course refiled if its title words have changed,
+	 * or this index if they have not or the Course is not in it. The name of a
+	 * Course cannot change.
+	 *
+	 * @param c Course to refile
+	 * @return index with the Course refiled
+	 */
+	CourseSearchIndex refiled(Course c) {
+		String[] words = indexedWords.get(c);
+		if (words == null || Arrays.equals(words, words(c.getTitle()).toArray(new String[0]))) {
+			return this;
+		}
+		List<Course> course = Collections.singletonList(c);
+		return with(course, course);
+	}
+
+	/**
+	 * Adds a Course under its name and the words of its title.
+	 *
+	 * @param c Course to add
+	 */
+	private void add(Course c) {
+		String[] words = words(c.getTitle()).toArray(new String[0]);
+		indexedWords.put(c, words);
+		names = file(names, c.getName(), c);
+		for (String word : words) {
+			titleWords = file(titleWords, word, c);
+		}
+	}
+
+	/**
+	 * Removes a Course, using the title words it was filed under.
+	 *
+	 * @param c Course to remove
+	 */
+	private void remove(Course c) {
+		String[] words = indexedWords.remove(c);
+		if (words == null) {
+			return;
+		}
+		names = unfile(names, c.getName(), c);
+		for (String word : words) {
+			titleWords = unfile(titleWords, word, c);
+		}
+	}
+
+	/**
+	 * Files a Course under a key below the root of a trie, copying the nodes on
+	 * the key's path that this change has not copied yet.
+	 *
+	 * @param root root of the trie
+	 * @param key  key to file under
+	 * @param c    Course to file
+	 * @return root of the changed trie
+	 */
+	private TrieNode file(TrieNode root, String key, Course c) {
+		TrieNode found = root.find(key);
+		if (found != null && found.courses != null && found.courses.containsKey(c)) {
+			return root;
+		}
+		TrieNode top = writable(root);
+		TrieNode node = top;
+		node.count++;
+		for (int i = 0; i < key.length(); i++) {
+			if (node.children == null) {
+				node.children = new HashMap<>();
+			}
+			TrieNode child = node.children.get(key.charAt(i));
+			if (child == null) {
+				child = new TrieNode();
+				copied.add(child);
+			} else {
+				child = writable(child);
+			}
+			node.children.put(key.charAt(i), child);
+			node = child;
+			node.count++;
+		}
+		node.courses = writable(node.courses);
+		node.courses.add(c);
+		return top;
+	}
+
+	/**
+	 * Removes a Course from under a key below the root of a trie, pruning nodes
+	 * that are left empty.
+	 *
+	 * @param root root of the trie
+	 * @param key  key the Course was filed under
+	 * @param c    Course to remove
+	 * @return root of the changed trie
+	 */
+	private TrieNode unfile(TrieNode root, String key, Course c) {
+		TrieNode found = root.find(key);
+		if (found == null || found.courses == null || !found.courses.containsKey(c)) {
+			return root;
+		}
+		return unfile(root, key, 0, c);
+	}
+
+	/**
+	 * Removes a Course known to be filed under a key below a node.
+	 *
+	 * @param node node the key continues below
+	 * @param key  key the Course was filed under
+	 * @param i    position in the key of the character leading below the node
+	 * @param c    Course to remove
+	 * @return changed node, whose count is zero if it is left empty
+	 */
+	private TrieNode unfile(TrieNode node, String key, int i, Course c) {
+		TrieNode copy = writable(node);
+		copy.count--;
+		if (i == key.length()) {
+			if (copy.courses.size() == 1) {
+				copy.courses = null;
+			} else {
+				copy.courses = writable(copy.courses);
+				copy.courses.remove(c);
+			}
+		} else {
+			TrieNode child = unfile(copy.children.get(key.charAt(i)), key, i + 1, c);
+			if (child.count == 0) {
+				copy.children.remove(key.charAt(i));
+				if (copy.children.isEmpty()) {
+					copy.children = null;
+				}
+			} else {
+				copy.children.put(key.charAt(i), child);
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns a node this change can edit: the node itself if the change made it,
+	 * or else a copy sharing its Courses and the nodes below it.
+	 *
+	 * @param node node to edit
+	 * @return editable node
+	 */
+	@SuppressWarnings("unchecked")
+	private TrieNode writable(TrieNode node) {
+		if (copied.contains(node)) {
+			return node;
+		}
+		TrieNode copy = new TrieNode();
+		copy.children = node.children == null ? null : (HashMap<Character, TrieNode>) node.children.clone();
+		copy.courses = node.courses;
+		copy.count = node.count;
+		copied.add(copy);
+		return copy;
+	}
+
+	/**
+	 * Returns a set of Courses this change can edit: the set itself if the change
+	 * made it, or else a copy of it.
+	 *
+	 * @param courses set to edit, or null for a new empty set
+	 * @return editable set
+	 */
+	private CourseSet writable(CourseSet courses) {
+		if (courses != null && copied.contains(courses)) {
+			return courses;
+		}
+		CourseSet copy = courses == null ? new CourseSet() : courses.clone();
+		copied.add(copy);
+		return copy;
+	}
+
+	/**
+	 * Returns the best matches for the search text, best first. Courses with the
+	 * same score are returned in catalog order.
+	 *
+	 * The candidates come from the term that matches the fewest Courses, found
+	 * from the counts kept in the tries; each candidate is then scored against
+	 * every term and the best are kept in a heap no larger than the limit.
+	 *
+	 * @param text  words to search for
+	 * @param limit largest number of Courses to return
+	 * @return list of matching Courses
+	 */
+	List<Course> search(String text, int limit) {
+		List<String> terms = words(text);
+		if (terms.isEmpty() || limit == 0) {
+			return new ArrayList<>();
+		}
+
+		// Start from the term with the fewest matches
+		String[] lower = terms.toArray(new String[0]);
+		String[] upper = new String[lower.length];
+		TrieNode nameNode = null;
+		TrieNode wordNode = null;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < lower.length; i++) {
+			upper[i] = lower[i].toUpperCase();
+			TrieNode name = names.find(upper[i]);
+			TrieNode word = titleWords.find(lower[i]);
+			int count = (name == null ? 0 : name.count) + (word == null ? 0 : word.count);
+			if (count < fewest) {
+				fewest = count;
+				nameNode = name;
+				wordNode = word;
+			}
+		}
+		if (fewest == 0) {
+			return new ArrayList<>();
+		}
+
+		// The head of the heap is the worst of the best matches found so far
+		PriorityQueue<Match> best = new PriorityQueue<>(Collections.reverseOrder());
+		Set<Course> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Course> candidates = new ArrayList<>(fewest);
+		if (nameNode != null) {
+			nameNode.collect(candidates);
+		}
+		if (wordNode != null) {
+			wordNode.collect(candidates);
+		}
+		for (Course c : candidates) {
+			if (!seen.add(c)) {
+				continue;
+			}
+			int score = score(c, lower, upper);
+			if (score > 0) {
+				Match match = new Match(c, score);
+				if (best.size() < limit) {
+					best.add(match);
+				} else if (match.compareTo(best.peek()) < 0) {
+					best.poll();
+					best.add(match);
+				}
+			}
+		}
+
+		Match[] ranked = best.toArray(new Match[0]);
+		Arrays.sort(ranked);
+		List<Course> matches = new ArrayList<>(ranked.length);
+		for (Match match : ranked) {
+			matches.add(match.course);
+		}
+		return matches;
+	}
+
+	/**
+	 * Scores a Course against every term, keeping the best way each term
+	 * matches. A Course that some term does not match scores zero.
+	 *
+	 * @param c     Course to score
+	 * @param lower lower case search terms
+	 * @param upper the same terms in upper case, for matching names
+	 * @return total score, or zero if the Course does not match
+	 */
+	private int score(Course c, String[] lower, String[] upper) {
+		String name = c.getName();
+		String[] words = indexedWords.get(c);
+		int total = 0;
+		for (int t = 0; t < lower.length; t++) {
+			int best = 0;
+			if (name.equals(upper[t])) {
+				best = NAME_SCORE;
+			} else if (name.startsWith(upper[t])) {
+				best = NAME_PREFIX_SCORE;
+			}
+			for (int i = 0; best < WORD_SCORE && i < words.length; i++) {
+				if (words[i].equals(lower[t])) {
+					best = WORD_SCORE;
+				} else if (words[i].startsWith(lower[t])) {
+					best = Math.max(best, WORD_PREFIX_SCORE);
+				}
+			}
+			if (best == 0) {
+				return 0;
+			}
+			total += best;
+		}
+		return total;
+	}
+
+	/**
+	 * Splits text into lower case words of letters and digits.
+	 *
+	 * @param text text to split
+	 * @return list of words
+	 */
+	static List<String> words(String text) {
+		List<String> words = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase());
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * A Course and its score, ordered best first and then in catalog order.
+	 */
+	private static class Match implements Comparable<Match> {
+		/** Matching Course */
+		private Course course;
+		/** Score of the match */
+		private int score;
+
+		/**
+		 * Constructs a match.
+		 *
+		 * @param course matching Course
+		 * @param score  score of the match
+		 */
+		Match(Course course, int score) {
+			this.course = course;
+			this.score = score;
+		}
+
+		@Override
+		public int compareTo(Match other) {
+			if (score != other.score) {
+				return other.score - score;
+			}
+			return course.compareTo(other.course);
+		}
+	}
+
+	/**
+	 * A node of a prefix trie, holding the Courses filed under exactly the key
+	 * that leads to it. Nodes are only edited by the change that made them.
+	 */
+	private static class TrieNode {
+		/** Nodes for each next character of longer keys */
+		private HashMap<Character, TrieNode> children;
+		/** Courses filed under the key ending at this node */
+		private CourseSet courses;
+		/** Number of Courses filed at this node and below it */
+		private int count;
+
+		/**
+		 * Returns the node reached by following a key from this node.
+		 *
+		 * @param key key to follow
+		 * @return node for the key, or null if no key starts with it
+		 */
+		TrieNode find(String key) {
+			TrieNode node = this;
+			for (int i = 0; node != null && i < key.length(); i++) {
+				node = node.children == null ? null : node.children.get(key.charAt(i));
+			}
+			return node;
+		}
+
+		/**
+		 * Adds the Courses at this node and below it to a list.
+		 *
+		 * @param list list to add to
+		 */
+		void collect(List<Course> list) {
+			if (courses != null) {
+				list.addAll(courses.keySet());
+			}
+			if (children != null) {
+				for (TrieNode child : children.values()) {
+					child.collect(list);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.IdentityHashMap;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A set of Courses compared by identity, as the catalog's indexes need since
+ * Course equality depends on mutable fields. The Courses are kept as the keys of
+ * the map, so an index changing a shared set can copy it by cloning the map's
+ * table rather than adding each Course to a new set.
+ */
+class CourseSet extends IdentityHashMap<Course, Boolean> {
+
+	/** ID used for serialization */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Adds a Course to the set.
+	 *
+	 * @param c Course to add
+	 */
+	void add(Course c) {
+		put(c, Boolean.TRUE);
+	}
+
+	@Override
+	public CourseSet clone() {
+		return (CourseSet) super.clone();
+	}
+}
@@ -0,0 +1,146 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Per-day interval index over the meeting times of the Courses in one
+ * CatalogSnapshot. For each weekday the Courses that meet on it are sorted by
+ * start time, alongside the latest end time of every Course up to each point.
+ * The Courses that overlap a meeting are then found by searching for the last
+ * Course that starts before the meeting ends and walking back only while some
+ * earlier Course could still end after the meeting starts.
+ *
+ * Meetings overlap under the same rule as Activity.checkConflict(): they share
+ * a day and neither ends before the other starts. Arranged Courses meet on no
+ * day, so they never overlap anything.
+ */
+class MeetingTimeIndex {
+
+	/** Days a Course can meet on */
+	private static final String DAYS = "MTWHF";
+
+	/** Snapshot the index was built from */
+	private CatalogSnapshot catalog;
+	/** Number of changes to catalog Course fields made before the index was built */
+	private long courseChanges;
+	/** Catalog positions of the Courses meeting on each day, in start time order */
+	private int[][] positions;
+	/** Start times, in the same order as positions */
+	private int[][] starts;
+	/** End times, in the same order as positions */
+	private int[][] ends;
+	/** Latest end time of the Courses up to and including each position */
+	private int[][] latestEnds;
+
+	/**
+	 * Builds the index for the Courses in a snapshot.
+	 *
+	 * @param catalog       snapshot to index
+	 * @param courseChanges number of changes to catalog Course fields, read
+	 *                      before the snapshot
+	 */
+	MeetingTimeIndex(CatalogSnapshot catalog, long courseChanges) {
+		this.catalog = catalog;
+		this.courseChanges = courseChanges;
+		positions = new int[DAYS.length()][];
+		starts = new int[DAYS.length()][];
+		ends = new int[DAYS.length()][];
+		latestEnds = new int[DAYS.length()][];
+		for (int d = 0; d < DAYS.length(); d++) {
+			// Sort start time and position packed together, which avoids boxing
+			long[] keys = new long[catalog.size()];
+			int count = 0;
+			for (int i = 0; i < catalog.size(); i++) {
+				Course c = catalog.get(i);
+				if (meetsOn(c, DAYS.charAt(d))) {
+					keys[count++] = (long) c.getStartTime() << 32 | i;
+				}
+			}
+			Arrays.sort(keys, 0, count);
+			positions[d] = new int[count];
+			starts[d] = new int[count];
+			ends[d] = new int[count];
+			latestEnds[d] = new int[count];
+			for (int k = 0; k < count; k++) {
+				Course c = catalog.get((int) keys[k]);
+				positions[d][k] = (int) keys[k];
+				starts[d][k] = c.getStartTime();
+				ends[d][k] = c.getEndTime();
+				latestEnds[d][k] = k == 0 ? ends[d][k] : Math.max(latestEnds[d][k - 1], ends[d][k]);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the index was built from the given snapshot with no
+	 * Course's meeting times changed since.
+	 *
+	 * @param snapshot      snapshot to check
+	 * @param courseChanges current number of changes to catalog Course fields
+	 * @return true if the index covers the snapshot
+	 */
+	boolean isFor(CatalogSnapshot snapshot, long courseChanges) {
+		return catalog == snapshot && this.courseChanges == courseChanges;
+	}
+
+	/**
+	 * Marks the catalog position of every Course whose meetings overlap any of
+	 * the given Activities.
+	 *
+	 * @param activities Activities to check against
+	 * @return flags by catalog position, true where a Course overlaps
+	 */
+	boolean[] findConflicts(Activity[] activities) {
+		boolean[] conflicts = new boolean[catalog.size()];
+		for (Activity a : activities) {
+			for (int d = 0; d < DAYS.length(); d++) {
+				if (meetsOn(a, DAYS.charAt(d))) {
+					markOverlaps(d, a.getStartTime(), a.getEndTime(), conflicts);
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Marks the Courses on one day that overlap the time from start to end.
+	 *
+	 * @param d         index of the day
+	 * @param start     start of the time
+	 * @param end       end of the time
+	 * @param conflicts flags to mark, by catalog position
+	 */
+	private void markOverlaps(int d, int start, int end, boolean[] conflicts) {
+		// Courses after the last one starting by the end cannot overlap
+		int low = 0;
+		int high = starts[d].length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (starts[d][mid] <= end) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		// Once every earlier Course ends before the start, none of them overlap
+		for (int k = low - 1; k >= 0 && latestEnds[d][k] >= start; k--) {
+			if (ends[d][k] >= start) {
+				conflicts[positions[d][k]] = true;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if an Activity meets on the given day.
+	 *
+	 * @param a   Activity to check
+	 * @param day day letter
+	 * @return true if the Activity meets on the day
+	 */
+	private static boolean meetsOn(Activity a, char day) {
+		return !"A".equals(a.getMeetingDays()) && a.getMeetingDays().indexOf(day) >= 0;
+	}
+}
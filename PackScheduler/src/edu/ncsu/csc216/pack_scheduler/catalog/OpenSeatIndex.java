@@ -0,0 +1,170 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Index of the sections of each Course name in a CourseCatalog, ordered by
+ * open seats. The sections with seats available are always at the front of
+ * their name's array, so finding them only visits the sections returned.
+ *
+ * The open seats and section of a Course change while it is indexed, so each
+ * Course is filed as an entry recording the values it was sorted by. The
+ * sections of a name are kept as a sorted array that is replaced, never
+ * edited, whenever one of their rolls or fields changes. Each name is replaced
+ * atomically on its own, so rolls can refile their Course from registration
+ * threads and queries can read the index without taking any lock.
+ */
+class OpenSeatIndex {
+
+	/** Sections of each Course name, most open seats first */
+	private ConcurrentHashMap<String, Entry[]> byName;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	OpenSeatIndex() {
+		byName = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Files a Course under its name with its current open seats.
+	 *
+	 * @param c Course to add
+	 */
+	void add(Course c) {
+		byName.compute(c.getName(), (name, sections) -> sorted(sections, c, null));
+	}
+
+	/**
+	 * Removes a Course from the sections of its name.
+	 *
+	 * @param c Course to remove
+	 */
+	void remove(Course c) {
+		byName.computeIfPresent(c.getName(), (name, sections) -> sorted(sections, null, c));
+	}
+
+	/**
+	 * Refiles the sections of a Course's name, one of which may have changed its
+	 * open seats or section. Every section is sorted again by its current
+	 * values, so a later refile also corrects values read while another roll was
+	 * changing.
+	 *
+	 * @param c Course to refile
+	 */
+	void update(Course c) {
+		byName.computeIfPresent(c.getName(), (name, sections) -> sorted(sections, null, null));
+	}
+
+	/**
+	 * Returns the sections of a name with their current open seats, sorted.
+	 *
+	 * @param sections sections currently filed, or null if there are none
+	 * @param added    Course to add to the sections, or null
+	 * @param removed  Course to remove from the sections, or null
+	 * @return sorted sections, or null if there are none left
+	 */
+	private static Entry[] sorted(Entry[] sections, Course added, Course removed) {
+		List<Entry> entries = new ArrayList<>();
+		if (sections != null) {
+			for (Entry entry : sections) {
+				if (entry.course != removed && entry.course != added) {
+					entries.add(new Entry(entry.course));
+				}
+			}
+		}
+		if (added != null) {
+			entries.add(new Entry(added));
+		}
+		if (entries.isEmpty()) {
+			return null;
+		}
+		Entry[] next = entries.toArray(new Entry[0]);
+		Arrays.sort(next);
+		return next;
+	}
+
+	/**
+	 * Returns the sections of a Course with open seats, most open seats first
+	 * and then in section order.
+	 *
+	 * @param name name of the Course
+	 * @return list of sections with open seats
+	 */
+	List<Course> findOpen(String name) {
+		List<Course> open = new ArrayList<>();
+		Entry[] sections = byName.get(name);
+		if (sections != null) {
+			for (Entry entry : sections) {
+				if (entry.openSeats <= 0) {
+					break;
+				}
+				open.add(entry.course);
+			}
+		}
+		return open;
+	}
+
+	/**
+	 * Returns the other section of a Course with open seats whose start time is
+	 * closest to the given section's, preferring the section with more open
+	 * seats when two are equally close.
+	 *
+	 * @param c section to find an alternative to
+	 * @return closest other section with open seats, or null if there is none
+	 */
+	Course nearestOpen(Course c) {
+		Course nearest = null;
+		int nearestDistance = Integer.MAX_VALUE;
+		Entry[] sections = byName.get(c.getName());
+		if (sections != null) {
+			for (Entry entry : sections) {
+				if (entry.openSeats <= 0) {
+					break;
+				}
+				int distance = Math.abs(entry.course.getStartTime() - c.getStartTime());
+				if (entry.course != c && distance < nearestDistance) {
+					nearest = entry.course;
+					nearestDistance = distance;
+				}
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * A Course with the open seats and section it was sorted by.
+	 */
+	private static class Entry implements Comparable<Entry> {
+		/** Indexed Course */
+		private final Course course;
+		/** Open seats when the Course was filed */
+		private final int openSeats;
+		/** Section when the Course was filed */
+		private final String section;
+
+		/**
+		 * Records the current open seats and section of a Course.
+		 *
+		 * @param course Course to record
+		 */
+		Entry(Course course) {
+			this.course = course;
+			this.openSeats = course.getCourseRoll().getOpenSeats();
+			this.section = course.getSection();
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			if (openSeats != other.openSeats) {
+				return Integer.compare(other.openSeats, openSeats);
+			}
+			return section.compareTo(other.section);
+		}
+	}
+}
@@ -12,17 +12,17 @@ public abstract class Activity implements Conflict {
 	/** Minute bound for military time */
 	public static final int UPPER_MINUTE = 60;
 	
-	/** Course's title */
+	/** Course's title, interned so that sections of the same course share one copy */
 	private String title;
 	
-	/** Course's meeting days */
+	/** Course's meeting days, interned since there are only a few distinct combinations */
 	private String meetingDays;
 	
-	/** Course's starting time */
-	private int startTime;
+	/** Course's starting time; military time always fits in a short */
+	private short startTime;
 	
-	/** Course's ending time */
-	private int endTime;
+	/** Course's ending time; military time always fits in a short */
+	private short endTime;
 
     /**
      * Constructs a Activity object with values for all fields. i
@@ -60,7 +60,7 @@ public abstract class Activity implements Conflict {
 	
 		}
 	
-		this.title = title;
+		this.title = title.intern();
 	}
 
 	/**
@@ -137,9 +137,9 @@ public abstract class Activity implements Conflict {
 		}
 	
 		// sets fields
-		this.meetingDays = meetingDays;
-		this.startTime = startTime;
-		this.endTime = endTime;
+		this.meetingDays = meetingDays.intern();
+		this.startTime = (short) startTime;
+		this.endTime = (short) endTime;
 	
 		}
 	
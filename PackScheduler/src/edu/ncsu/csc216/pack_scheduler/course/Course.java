@@ -1,6 +1,9 @@
 
 package edu.ncsu.csc216.pack_scheduler.course;
 
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
 import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionException;
@@ -14,9 +17,6 @@ import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionExceptio
  * @author Samir Naseri
  */
 public class Course extends Activity implements Comparable<Course> {
-	/** CourseNameValidator object for the course name */
-	private CourseNameValidator validator;
-
 	/// ** Minimum length of courses name */
 	// public static final int MIN_NAME_LENGTH = 5;
 
@@ -41,16 +41,29 @@ public class Course extends Activity implements Comparable<Course> {
 	/** Max credit available of courses */
 	public static final int MAX_CREDITS = 5;
 
-	/** Course's name. */
+	/** Course's name, interned so that its sections share one copy. */
 	private String name;
-	/** Course's section. */
+	/** Course's section, interned since catalogs reuse the same few section numbers. */
 	private String section;
 	/** Course's credit hours */
 	private int credits;
-	/** Course's instructor */
+	/** Course's instructor, interned since instructors teach many sections */
 	private String instructorId;
 	/** Keeping track of a courses roll. */
 	private CourseRoll roll;
+	/**
+	 * Listeners told about changes to the course, created when the first one is
+	 * added. Listeners are added and removed under the catalog's lock but told
+	 * about roll changes on registration threads, so the list is copied on write.
+	 */
+	private volatile CopyOnWriteArrayList<CourseListener> listeners;
+	/** Short display row built on the last request, or null if none has been built */
+	private volatile ShortDisplay shortDisplay;
+	/** Number of changes to displayed fields, which makes older cached rows stale */
+	private volatile int displayChanges;
+	/** Counts changes to displayed fields made on any thread without a lock */
+	private static final AtomicIntegerFieldUpdater<Course> DISPLAY_CHANGES = AtomicIntegerFieldUpdater
+			.newUpdater(Course.class, "displayChanges");
 
 	/**
 	 * Constructs a Course object with values for all fields.
@@ -68,7 +81,6 @@ public class Course extends Activity implements Comparable<Course> {
 	public Course(String name, String title, String section, int credits, String instructorId, int enrollmentCap,
 			String meetingDays, int startTime, int endTime) {
 		super(title, meetingDays, startTime, endTime);
-		this.validator = new CourseNameValidator();
 		setName(name);
 		setSection(section);
 		setCredits(credits);
@@ -176,14 +188,14 @@ public class Course extends Activity implements Comparable<Course> {
 //
 		// set this.name (field) to name (parameter)
 		try {
-			if (!validator.isValid(name)) {
+			if (!new CourseNameValidator().isValid(name)) {
 				throw new IllegalArgumentException("Invalid course name.");
 			}
 		} catch (InvalidTransitionException e) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
-		this.name = name;
+		this.name = name.intern();
 
 	}
 
@@ -219,7 +231,8 @@ public class Course extends Activity implements Comparable<Course> {
 
 		}
 
-		this.section = section;
+		this.section = section.intern();
+		fireCourseUpdated();
 	}
 
 	/**
@@ -245,6 +258,7 @@ public class Course extends Activity implements Comparable<Course> {
 
 		}
 		this.credits = credits;
+		fireCourseUpdated();
 	}
 
 	/**
@@ -266,7 +280,8 @@ public class Course extends Activity implements Comparable<Course> {
 		if ("".equals(instructorId)) {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
-		this.instructorId = instructorId;
+		this.instructorId = instructorId == null ? null : instructorId.intern();
+		fireCourseUpdated();
 	}
 
 	/**
@@ -341,8 +356,36 @@ public class Course extends Activity implements Comparable<Course> {
 	 * @return String[] of short display
 	 */
 	public String[] getShortDisplayArray() {
-		String[] shortDisplay = { name, section, getTitle(), getMeetingString(), String.valueOf(roll.getOpenSeats()) };
-		return shortDisplay;
+		return getCachedShortDisplay().clone();
+	}
+
+	/**
+	 * Returns the cached short display row, rebuilding it first if a displayed
+	 * field has changed. Only the open seat count is rebuilt when just the roll
+	 * has changed, so repeated calls do not format new Strings.
+	 * 
+	 * Catalog pages are read from any thread without a lock while setters and
+	 * registrations change the Course, so a cached row is never changed in
+	 * place. Each new row is built in a local array and published whole, and a
+	 * row built before a displayed field changed is never used after it.
+	 * 
+	 * @return the cached row, which callers must not modify
+	 */
+	private String[] getCachedShortDisplay() {
+		int changes = displayChanges;
+		int openSeats = roll.getOpenSeats();
+		ShortDisplay cached = shortDisplay;
+		if (cached == null || cached.changes != changes) {
+			String[] row = { name, section, getTitle(), getMeetingString(), String.valueOf(openSeats) };
+			cached = new ShortDisplay(row, openSeats, changes);
+			shortDisplay = cached;
+		} else if (cached.openSeats != openSeats) {
+			String[] row = cached.row.clone();
+			row[4] = String.valueOf(openSeats);
+			cached = new ShortDisplay(row, openSeats, changes);
+			shortDisplay = cached;
+		}
+		return cached.row;
 	}
 
 	/**
@@ -408,7 +451,73 @@ public class Course extends Activity implements Comparable<Course> {
 			}
 			super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
 		}
+		fireCourseUpdated();
+
+	}
+
+	/**
+	 * Sets the Course's title
+	 * 
+	 * @param title the title to set
+	 * @throws IllegalArgumentException if title is invalid
+	 */
+	@Override
+	public void setTitle(String title) {
+		super.setTitle(title);
+		fireCourseUpdated();
+	}
+
+	/**
+	 * Registers a listener to be told when the course's indexed or displayed
+	 * fields change.
+	 * 
+	 * @param listener the listener to add
+	 */
+	public synchronized void addCourseListener(CourseListener listener) {
+		if (listeners == null) {
+			listeners = new CopyOnWriteArrayList<>();
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener previously added with addCourseListener().
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public synchronized void removeCourseListener(CourseListener listener) {
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
+	}
 
+	/**
+	 * Tells every registered listener that the open seats or waitlist of this
+	 * Course's roll have changed. Called by the Course's CourseRoll after an
+	 * enrollment, drop, or change to its cap.
+	 */
+	public void fireRollChanged() {
+		CopyOnWriteArrayList<CourseListener> current = listeners;
+		if (current != null) {
+			for (CourseListener listener : current) {
+				listener.rollChanged(this);
+			}
+		}
+	}
+
+	/**
+	 * Makes the cached display row stale and tells every registered listener that
+	 * the course has changed. Setters are also called while the course is being
+	 * constructed, before any listener can exist, so a missing list is skipped.
+	 */
+	private void fireCourseUpdated() {
+		DISPLAY_CHANGES.incrementAndGet(this);
+		CopyOnWriteArrayList<CourseListener> current = listeners;
+		if (current != null) {
+			for (CourseListener listener : current) {
+				listener.courseUpdated(this);
+			}
+		}
 	}
 
 	/**
@@ -442,9 +551,6 @@ public class Course extends Activity implements Comparable<Course> {
 	 */
 	@Override
 	public int compareTo(Course o) {
-		if (this.equals(o)) {
-			return 0;
-		}
 		int nameDiff = this.getName().compareTo(o.getName());
 		if (nameDiff != 0) {
 			return nameDiff;
@@ -458,4 +564,29 @@ public class Course extends Activity implements Comparable<Course> {
 		return 0;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * A short display row with the open seats and number of field changes it was
+	 * built from. It is never changed once built.
+	 */
+	private static final class ShortDisplay {
+		/** Row of name, section, title, meeting information, and open seats */
+		private final String[] row;
+		/** Open seats shown in the row */
+		private final int openSeats;
+		/** Value of displayChanges when the row's fields were read */
+		private final int changes;
+
+		/**
+		 * Constructs a cached row.
+		 * 
+		 * @param row       the display row
+		 * @param openSeats open seats shown in the row
+		 * @param changes   value of displayChanges when the fields were read
+		 */
+		private ShortDisplay(String[] row, int openSeats, int changes) {
+			this.row = row;
+			this.openSeats = openSeats;
+			this.changes = changes;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package edu.ncsu.csc216.pack_scheduler.course;
+
+/**
+ * Interface for objects that keep derived state about a Course, such as the
+ * catalog's indexes, and need to hear when that Course changes.
+ */
+public interface CourseListener {
+
+	/**
+	 * Called after a field of the course that can be indexed or displayed has
+	 * changed, such as its title, meeting information, or instructor.
+	 * 
+	 * @param course the course that changed
+	 */
+	void courseUpdated(Course course);
+
+	/**
+	 * Called after the open seats or waitlist of the course's roll have changed.
+	 * Listeners that do not track enrollment can ignore this event.
+	 * 
+	 * @param course the course whose roll changed
+	 */
+	default void rollChanged(Course course) {
+		// Enrollment is not tracked by default
+	}
+}
@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.Arrays;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
@@ -19,7 +21,7 @@ public class CourseRoll {
 	/** LinkedList of students for the roll */
 	LinkedAbstractList<Student> roll;
 
-	/** List of students on the waitlist for the course */
+	/** List of students on the waitlist for the course, created when the first student is waitlisted */
 	private LinkedAbstractList<Student> waitlist;
 
 	/** the smallest class size */
@@ -29,6 +31,8 @@ public class CourseRoll {
 	private final static int MAX_ENROLLMENT = 250;
 	/** Maximum capacity of the waitlist */
 	private static final int WAITLIST_CAPACITY = 10;
+	/** Course this roll belongs to, told when enrollment changes */
+	private Course course;
 
 	/**
 	 * Constructor which sets the CourseRoll object
@@ -44,7 +48,7 @@ public class CourseRoll {
 
 		setEnrollmentCap(enrollmentCap);
 		this.roll = new LinkedAbstractList<>(enrollmentCap);
-		this.waitlist = new LinkedAbstractList<>(WAITLIST_CAPACITY);
+		this.course = course;
 	}
 
 	/**
@@ -71,6 +75,7 @@ public class CourseRoll {
 		}
 
 		this.enrollmentCap = enrollmentCap;
+		rollChanged();
 	}
 
 	/**
@@ -102,13 +107,17 @@ public class CourseRoll {
 		if (getOpenSeats() > 0) {
 
 			roll.add(s);
-		} else if (waitlist.size() < WAITLIST_CAPACITY) {
+		} else if (getNumberOnWaitlist() < WAITLIST_CAPACITY) {
 
+			if (waitlist == null) {
+				waitlist = new LinkedAbstractList<>(WAITLIST_CAPACITY);
+			}
 			waitlist.add(s);
 		} else {
 
 			throw new IllegalArgumentException("Class and waitlist are full");
 		}
+		rollChanged();
 	}
 
 	/**
@@ -127,14 +136,52 @@ public class CourseRoll {
 
 			roll.remove(s);
 
-			if (!waitlist.isEmpty() && getOpenSeats() > 0) {
+			if (getNumberOnWaitlist() > 0 && getOpenSeats() > 0) {
 				Student nextInLine = waitlist.remove(0);
 				roll.add(nextInLine);
 			}
-		} else if (waitlist.contains(s)) {
+			rollChanged();
+		} else if (waitlist != null && waitlist.contains(s)) {
 
 			waitlist.remove(s);
+			rollChanged();
+		}
+	}
+
+	/**
+	 * Replaces the roll and waitlist with saved ones, keeping their order. The
+	 * students are not checked against their schedules as enroll() callers do,
+	 * and the lists are built in one pass rather than an add per student.
+	 *
+	 * @param enrolled   students to enroll, in the order they enrolled
+	 * @param waitlisted students to waitlist, in the order they will be enrolled
+	 * @throws IllegalArgumentException if there are more enrolled students than the
+	 *                                  enrollment cap or more waitlisted students
+	 *                                  than the waitlist holds
+	 * @throws IllegalArgumentException if a student is null or appears twice
+	 */
+	public void restore(Student[] enrolled, Student[] waitlisted) {
+		if (enrolled.length > enrollmentCap || waitlisted.length > WAITLIST_CAPACITY) {
+			throw new IllegalArgumentException("Class and waitlist are full");
+		}
+		LinkedAbstractList<Student> restoredRoll;
+		LinkedAbstractList<Student> restoredWaitlist = null;
+		try {
+			restoredRoll = new LinkedAbstractList<>(enrollmentCap, Arrays.asList(enrolled));
+			if (waitlisted.length > 0) {
+				restoredWaitlist = new LinkedAbstractList<>(WAITLIST_CAPACITY, Arrays.asList(waitlisted));
+			}
+		} catch (NullPointerException e) {
+			throw new IllegalArgumentException("Student is null");
 		}
+		for (Student s : waitlisted) {
+			if (restoredRoll.contains(s)) {
+				throw new IllegalArgumentException("Student is already enrolled");
+			}
+		}
+		roll = restoredRoll;
+		waitlist = restoredWaitlist;
+		rollChanged();
 	}
 
 	/**
@@ -154,8 +201,36 @@ public class CourseRoll {
 	 * @return true if the student can be enrolled
 	 */
 	public boolean canEnroll(Student s) {
-		return s != null && !roll.contains(s) && !waitlist.contains(s)
-				&& (getOpenSeats() > 0 || waitlist.size() < WAITLIST_CAPACITY);
+		return s != null && !roll.contains(s) && (waitlist == null || !waitlist.contains(s))
+				&& (getOpenSeats() > 0 || getNumberOnWaitlist() < WAITLIST_CAPACITY);
+	}
+
+	/**
+	 * Tells the roll's Course that its enrollment has changed. The Course is not
+	 * recorded until construction finishes, so setting the initial cap is quiet.
+	 */
+	private void rollChanged() {
+		if (course != null) {
+			course.fireRollChanged();
+		}
+	}
+
+	/**
+	 * Returns the enrolled students in the order they were enrolled.
+	 * 
+	 * @return array of the enrolled students
+	 */
+	public Student[] getEnrolledStudents() {
+		return roll.toArray(new Student[0]);
+	}
+
+	/**
+	 * Returns the students on the waitlist in the order they will be enrolled.
+	 * 
+	 * @return array of the waitlisted students
+	 */
+	public Student[] getWaitlistedStudents() {
+		return waitlist == null ? new Student[0] : waitlist.toArray(new Student[0]);
 	}
 
 	/**
@@ -164,7 +239,7 @@ public class CourseRoll {
 	 * @return the number of students on the waitlist
 	 */
 	public int getNumberOnWaitlist() {
-		return waitlist.size();
+		return waitlist == null ? 0 : waitlist.size();
 	}
 
 }
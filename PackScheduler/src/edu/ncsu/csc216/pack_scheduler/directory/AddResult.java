@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.pack_scheduler.directory;
+
+/**
+ * What happened to one account of a batch added to a directory.
+ */
+public class AddResult {
+
+	/**
+	 * Whether an account was added, and why not if it was not.
+	 */
+	public enum Status {
+		/** The account was added */
+		ADDED,
+		/** The id was already in the directory or earlier in the batch */
+		DUPLICATE,
+		/** The account's fields were not valid */
+		INVALID
+	}
+
+	/** Position of the account in the batch, counting from 0 */
+	private final int index;
+	/** Id of the account */
+	private final String id;
+	/** Whether the account was added */
+	private final Status status;
+	/** Why the account was not added, or null if it was */
+	private final String reason;
+
+	/**
+	 * Constructs an AddResult.
+	 *
+	 * @param index  position of the account in the batch, counting from 0
+	 * @param id     id of the account
+	 * @param status whether the account was added
+	 * @param reason why the account was not added, or null if it was
+	 */
+	public AddResult(int index, String id, Status status, String reason) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.reason = reason;
+	}
+
+	/**
+	 * Returns the position of the account in the batch.
+	 *
+	 * @return the index, counting from 0
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the id of the account.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Returns whether the account was added.
+	 *
+	 * @return the status
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns why the account was not added.
+	 *
+	 * @return the reason, or null if the account was added
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		return index + " " + id + ": " + status + (reason == null ? "" : ": " + reason);
+	}
+}
@@ -2,13 +2,15 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.user.Credentials;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
 
 /**
  * Maintains a directory of Faculty for the university. Provides functionality
@@ -16,13 +18,20 @@ import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
  * 
  * This class supports use cases CU18, UC19, UC21, and UC22.
  * 
+ * Methods that change the directory are synchronized and count each change in
+ * a version number, so a save on another thread can copy a consistent list of
+ * faculty and tell whether the directory changed since.
+ * 
+ * The Faculty are kept in a map by id that remembers the order they were added
+ * in, so looking up, adding, and removing a Faculty by id do not search the
+ * directory.
  */
 public class FacultyDirectory {
 
-	/** The hashing algorithm for passwords */
-	private static final String HASH_ALGORITHM = "SHA-256";
-	/** List of Faculty in the directory */
-	private LinkedList<Faculty> facultyDirectory;
+	/** Faculty in the directory by id, in the order they were added */
+	private LinkedHashMap<String, Faculty> facultyDirectory;
+	/** Number of changes made to the directory */
+	private volatile long version;
 
 	/**
 	 * Constructs an empty FacultyDirectory. Initializes the facultyDirectory by
@@ -36,10 +45,11 @@ public class FacultyDirectory {
 
 	/**
 	 * Creates a new, empty FacultyDirectory by reinitializing the facultyDirectory
-	 * field to a new LinkedList of Faculty. This method supports [CU18].
+	 * field to a new map of Faculty. This method supports [CU18].
 	 */
-	public void newFacultyDirectory() {
-		facultyDirectory = new LinkedList<>();
+	public synchronized void newFacultyDirectory() {
+		facultyDirectory = new LinkedHashMap<>();
+		version++;
 	}
 
 	/**
@@ -50,11 +60,48 @@ public class FacultyDirectory {
 	 * @throws IllegalArgumentException if the file cannot be read
 	 */
 	public void loadFacultyFromFile(String fileName) {
+		List<Faculty> loaded;
 		try {
-			facultyDirectory = FacultyRecordIO.readFacultyRecords(fileName);
+			loaded = FacultyRecordIO.readFacultyList(fileName);
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		replaceFaculty(loaded);
+	}
+
+	/**
+	 * Loads faculty from a binary snapshot written by saveFacultyDirectorySnapshot()
+	 * into the FacultyDirectory.
+	 * 
+	 * @param fileName the name of the file containing the snapshot
+	 * @throws IllegalArgumentException if the file cannot be read or is not a
+	 *                                  faculty snapshot
+	 */
+	public void loadFacultyFromSnapshot(String fileName) {
+		List<Faculty> loaded;
+		try {
+			loaded = SnapshotIO.readFacultySnapshot(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		replaceFaculty(loaded);
+	}
+
+	/**
+	 * Replaces the faculty in the directory with the loaded faculty. A Faculty
+	 * whose id was already loaded is dropped, as addFaculty() would reject them.
+	 * 
+	 * @param loaded the faculty to fill the directory with
+	 */
+	private void replaceFaculty(List<Faculty> loaded) {
+		LinkedHashMap<String, Faculty> byId = new LinkedHashMap<>(loaded.size() * 2);
+		for (Faculty f : loaded) {
+			byId.putIfAbsent(f.getId(), f);
+		}
+		synchronized (this) {
+			facultyDirectory = byId;
+			version++;
+		}
 	}
 
 	/**
@@ -70,7 +117,77 @@ public class FacultyDirectory {
 	 * @return true if the faculty is added, false if the ID is not unique
 	 * @throws IllegalArgumentException for invalid input values
 	 */
-	public boolean addFaculty(String firstName, String lastName, String id, String email, String password,
+	public synchronized boolean addFaculty(String firstName, String lastName, String id, String email, String password,
+			String repeatPassword, int maxCourses) {
+		Faculty faculty = newFaculty(firstName, lastName, id, email, password, repeatPassword, maxCourses);
+
+		if (facultyDirectory.containsKey(faculty.getId())) {
+			return false;
+		}
+
+		facultyDirectory.put(faculty.getId(), faculty);
+		version++;
+		return true;
+	}
+
+	/**
+	 * Adds a batch of faculty members to the directory, each as addFaculty() would.
+	 * The passwords are hashed and the Faculty made in parallel before the
+	 * directory is locked. Then a Faculty whose id is already in the directory, or
+	 * earlier in the batch, is turned away, and the rest are added in batch order.
+	 * 
+	 * @param accounts faculty members to add
+	 * @return what happened to each faculty member, in the order given
+	 */
+	public List<AddResult> addFaculty(List<NewAccount> accounts) {
+		int n = accounts.size();
+		Faculty[] faculty = new Faculty[n];
+		String[] reasons = new String[n];
+		IntStream.range(0, n).parallel().forEach(i -> {
+			NewAccount a = accounts.get(i);
+			try {
+				faculty[i] = newFaculty(a.getFirstName(), a.getLastName(), a.getId(), a.getEmail(), a.getPassword(),
+						a.getRepeatPassword(), a.getMax());
+			} catch (IllegalArgumentException e) {
+				reasons[i] = e.getMessage();
+			}
+		});
+
+		List<AddResult> results = new ArrayList<>(n);
+		synchronized (this) {
+			boolean changed = false;
+			for (int i = 0; i < n; i++) {
+				String id = accounts.get(i).getId();
+				if (faculty[i] == null) {
+					results.add(new AddResult(i, id, AddResult.Status.INVALID, reasons[i]));
+				} else if (facultyDirectory.putIfAbsent(faculty[i].getId(), faculty[i]) != null) {
+					results.add(new AddResult(i, id, AddResult.Status.DUPLICATE, "Duplicate id"));
+				} else {
+					results.add(new AddResult(i, id, AddResult.Status.ADDED, null));
+					changed = true;
+				}
+			}
+			if (changed) {
+				version++;
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Makes a Faculty member to add, hashing their password.
+	 * 
+	 * @param firstName      the faculty's first name
+	 * @param lastName       the faculty's last name
+	 * @param id             the faculty's unique ID
+	 * @param email          the faculty's email
+	 * @param password       the faculty's password
+	 * @param repeatPassword the faculty's repeated password
+	 * @param maxCourses     the maximum number of courses the faculty can teach
+	 * @return the new Faculty
+	 * @throws IllegalArgumentException for invalid input values
+	 */
+	private static Faculty newFaculty(String firstName, String lastName, String id, String email, String password,
 			String repeatPassword, int maxCourses) {
 		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
 			throw new IllegalArgumentException("Invalid password");
@@ -79,23 +196,13 @@ public class FacultyDirectory {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
 
-		String hashPW = hashString(password);
+		String hashPW = Credentials.hash(password);
 
-		Faculty faculty;
 		try {
-			faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
+			return new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException(e.getMessage());
 		}
-
-		for (Faculty f : facultyDirectory) {
-			if (f.getId().equals(faculty.getId())) {
-				return false;
-			}
-		}
-
-		facultyDirectory.add(faculty);
-		return true;
 	}
 
 	/**
@@ -104,14 +211,12 @@ public class FacultyDirectory {
 	 * @param id the ID of the faculty to remove
 	 * @return true if the faculty is removed, false otherwise
 	 */
-	public boolean removeFaculty(String id) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equals(id)) {
-				facultyDirectory.remove(i);
-				return true;
-			}
+	public synchronized boolean removeFaculty(String id) {
+		if (facultyDirectory.remove(id) == null) {
+			return false;
 		}
-		return false;
+		version++;
+		return true;
 	}
 
 	/**
@@ -120,13 +225,14 @@ public class FacultyDirectory {
 	 * 
 	 * @return a 2D array of faculty information
 	 */
-	public String[][] getFacultyDirectory() {
+	public synchronized String[][] getFacultyDirectory() {
 		String[][] directory = new String[facultyDirectory.size()][3];
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty f = facultyDirectory.get(i);
+		int i = 0;
+		for (Faculty f : facultyDirectory.values()) {
 			directory[i][0] = f.getFirstName();
 			directory[i][1] = f.getLastName();
 			directory[i][2] = f.getId();
+			i++;
 		}
 		return directory;
 	}
@@ -140,29 +246,47 @@ public class FacultyDirectory {
 	 */
 	public void saveFacultyDirectory(String fileName) {
 		try {
-			FacultyRecordIO.writeFacultyRecords(fileName, facultyDirectory);
+			FacultyRecordIO.writeFacultyRecords(fileName, copyFaculty());
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
 	}
 
 	/**
-	 * Hashes a string using SHA-256 and Base64 encoding.
+	 * Saves the faculty directory to a binary snapshot, which
+	 * loadFacultyFromSnapshot() reads back much faster than a record file.
 	 * 
-	 * @param password the string to hash
-	 * @return the hashed string
-	 * @throws IllegalArgumentException if the password cannot be hashed
+	 * @param fileName the name of the file to save to
+	 * @throws IllegalArgumentException if an error occurs while writing to the file
 	 */
-	private String hashString(String password) {
+	public void saveFacultyDirectorySnapshot(String fileName) {
 		try {
-			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest.update(password.getBytes());
-			return Base64.getEncoder().encodeToString(digest.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
+			SnapshotIO.writeFacultySnapshot(fileName, copyFaculty());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
 	}
 
+	/**
+	 * Returns a copy of the list of faculty, so it can be written out or
+	 * searched while the directory goes on changing.
+	 * 
+	 * @return the faculty in directory order
+	 */
+	public synchronized List<Faculty> copyFaculty() {
+		return new ArrayList<>(facultyDirectory.values());
+	}
+
+	/**
+	 * Returns the number of changes made to the directory so far. A save of the
+	 * directory includes every change up to the version read before it started.
+	 * 
+	 * @return version of the directory
+	 */
+	public long getVersion() {
+		return version;
+	}
+
 	/**
 	 * Retrieves a faculty member by their unique ID.
 	 * 
@@ -170,13 +294,8 @@ public class FacultyDirectory {
 	 * @return the Faculty object with the specified ID, or null if no match is
 	 *         found
 	 */
-	public Faculty getFacultyById(String id) {
-		for (Faculty faculty : facultyDirectory) {
-			if (faculty.getId().equals(id)) {
-				return faculty;
-			}
-		}
-		return null;
+	public synchronized Faculty getFacultyById(String id) {
+		return facultyDirectory.get(id);
 	}
 
 }
@@ -0,0 +1,111 @@
+package edu.ncsu.csc216.pack_scheduler.directory;
+
+/**
+ * An account to be added to a directory in a batch, with the fields
+ * StudentDirectory.addStudent() and FacultyDirectory.addFaculty() take one at a
+ * time.
+ */
+public class NewAccount {
+
+	/** First name */
+	private final String firstName;
+	/** Last name */
+	private final String lastName;
+	/** Unique id */
+	private final String id;
+	/** Email address */
+	private final String email;
+	/** Password, not yet hashed */
+	private final String password;
+	/** Password typed a second time */
+	private final String repeatPassword;
+	/** Maximum credits for a student, or maximum courses for a faculty member */
+	private final int max;
+
+	/**
+	 * Constructs a NewAccount.
+	 *
+	 * @param firstName      first name
+	 * @param lastName       last name
+	 * @param id             unique id
+	 * @param email          email address
+	 * @param password       password, not yet hashed
+	 * @param repeatPassword password typed a second time
+	 * @param max            maximum credits for a student, or maximum courses for a
+	 *                       faculty member
+	 */
+	public NewAccount(String firstName, String lastName, String id, String email, String password,
+			String repeatPassword, int max) {
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.id = id;
+		this.email = email;
+		this.password = password;
+		this.repeatPassword = repeatPassword;
+		this.max = max;
+	}
+
+	/**
+	 * Returns the first name.
+	 *
+	 * @return the first name
+	 */
+	public String getFirstName() {
+		return firstName;
+	}
+
+	/**
+	 * Returns the last name.
+	 *
+	 * @return the last name
+	 */
+	public String getLastName() {
+		return lastName;
+	}
+
+	/**
+	 * Returns the id.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the email address.
+	 *
+	 * @return the email address
+	 */
+	public String getEmail() {
+		return email;
+	}
+
+	/**
+	 * Returns the password.
+	 *
+	 * @return the password, not yet hashed
+	 */
+	public String getPassword() {
+		return password;
+	}
+
+	/**
+	 * Returns the password typed a second time.
+	 *
+	 * @return the repeated password
+	 */
+	public String getRepeatPassword() {
+		return repeatPassword;
+	}
+
+	/**
+	 * Returns the maximum credits for a student, or maximum courses for a faculty
+	 * member.
+	 *
+	 * @return the maximum
+	 */
+	public int getMax() {
+		return max;
+	}
+}
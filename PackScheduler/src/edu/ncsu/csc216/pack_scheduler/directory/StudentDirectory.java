@@ -2,27 +2,38 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.user.Credentials;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
  * Maintains a directory of all students enrolled at NC State.
  * All students have a unique id.
  * 
+ * Methods that change the directory are synchronized and count each change in
+ * a version number, so a save on another thread can copy a consistent list of
+ * students and tell whether the directory changed since.
+ * 
+ * Students are also indexed by id, so looking up, adding, and removing a student
+ * by id do not search the list.
+ * 
  * @author Samir - Hina - Chris 
  * @author Sarah Heckman.
  */
 public class StudentDirectory {
 
-	/** List of students in the directory */
-	private SortedList<Student> studentDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** List of students in the directory, kept in sorted order */
+	private ArrayList<Student> studentDirectory;
+	/** The same students by id */
+	private HashMap<String, Student> studentsById;
+	/** Number of changes made to the directory */
+	private volatile long version;
 
 	/**
 	 * Creates an empty student directory.
@@ -35,8 +46,10 @@ public class StudentDirectory {
 	 * Creates an empty student directory.  All students in the previous
 	 * list are list unless saved by the user.
 	 */
-	public void newStudentDirectory() {
-		studentDirectory = new SortedList<Student>();
+	public synchronized void newStudentDirectory() {
+		studentDirectory = new ArrayList<Student>();
+		studentsById = new HashMap<String, Student>();
+		version++;
 	}
 
 	/** 
@@ -48,12 +61,54 @@ public class StudentDirectory {
 	 */
 	public void loadStudentsFromFile(String fileName) {
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			replaceStudents(StudentRecordIO.readStudentList(fileName));
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 
+	/**
+	 * Replaces the directory with the students in a binary snapshot written by
+	 * saveStudentDirectorySnapshot().  Throws an IllegalArgumentException if the
+	 * file cannot be read.
+	 * @param fileName file containing the snapshot
+	 * @throws IllegalArgumentException if the file cannot be read or is not a student snapshot
+	 */
+	public void loadStudentsFromSnapshot(String fileName) {
+		try {
+			replaceStudents(SnapshotIO.readStudentSnapshot(fileName));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Replaces the directory with the loaded students.  A student whose id was already
+	 * loaded is dropped, as addStudent() would reject them, and the rest are sorted
+	 * once.  Students that are already strictly in order, as in a saved file or
+	 * snapshot, are kept in that order.
+	 * @param loaded students to fill the directory with, in any order
+	 */
+	private void replaceStudents(List<Student> loaded) {
+		HashMap<String, Student> byId = new HashMap<String, Student>(loaded.size() * 2);
+		ArrayList<Student> students = new ArrayList<Student>(loaded.size());
+		boolean sorted = true;
+		for (Student s : loaded) {
+			if (byId.putIfAbsent(s.getId(), s) == null) {
+				sorted = sorted && (students.isEmpty() || students.get(students.size() - 1).compareTo(s) < 0);
+				students.add(s);
+			}
+		}
+		if (!sorted) {
+			students.sort(null);
+		}
+		synchronized (this) {
+			studentDirectory = students;
+			studentsById = byId;
+			version++;
+		}
+	}
+
 	/**
 	 * Adds a Student to the directory.  Returns true if the student is added and false if
 	 * the student is unable to be added because their id matches another student's id.
@@ -70,55 +125,141 @@ public class StudentDirectory {
 	 * @return true if added
 	 * @throws IllegalArgumentException if password or repeat password is null or empty
 	 */
-	public boolean addStudent(String firstName, String lastName, String id, String email, String password, String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
-		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
-			throw new IllegalArgumentException("Invalid password");
+	public synchronized boolean addStudent(String firstName, String lastName, String id, String email, String password, String repeatPassword, int maxCredits) {
+		Student student = newStudent(firstName, lastName, id, email, password, repeatPassword, maxCredits);
+
+		if (studentsById.containsKey(student.getId())) {
+			return false;
 		}
+		
+		studentDirectory.add(insertionPoint(student), student);
+		studentsById.put(student.getId(), student);
+		version++;
+		return true;
+	}
 
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
+	/**
+	 * Adds a batch of students to the directory, each as addStudent() would.  The
+	 * passwords are hashed and the students made in parallel before the directory
+	 * is locked.  Then a student whose id is already in the directory, or earlier
+	 * in the batch, is turned away, and the rest are sorted and merged into the
+	 * directory in one pass rather than inserted one at a time.
+	 *
+	 * @param accounts students to add
+	 * @return what happened to each student, in the order given
+	 */
+	public List<AddResult> addStudents(List<NewAccount> accounts) {
+		int n = accounts.size();
+		Student[] students = new Student[n];
+		String[] reasons = new String[n];
+		IntStream.range(0, n).parallel().forEach(i -> {
+			NewAccount a = accounts.get(i);
+			try {
+				students[i] = newStudent(a.getFirstName(), a.getLastName(), a.getId(), a.getEmail(), a.getPassword(),
+						a.getRepeatPassword(), a.getMax());
+			} catch (IllegalArgumentException e) {
+				reasons[i] = e.getMessage();
+			}
+		});
 
-		if (!hashPW.equals(repeatHashPW)) {
+		List<AddResult> results = new ArrayList<AddResult>(n);
+		ArrayList<Student> added = new ArrayList<Student>();
+		synchronized (this) {
+			for (int i = 0; i < n; i++) {
+				String id = accounts.get(i).getId();
+				if (students[i] == null) {
+					results.add(new AddResult(i, id, AddResult.Status.INVALID, reasons[i]));
+				} else if (studentsById.putIfAbsent(students[i].getId(), students[i]) != null) {
+					results.add(new AddResult(i, id, AddResult.Status.DUPLICATE, "Duplicate id"));
+				} else {
+					results.add(new AddResult(i, id, AddResult.Status.ADDED, null));
+					added.add(students[i]);
+				}
+			}
+			if (!added.isEmpty()) {
+				// A stable sort keeps students that sort equal in batch order, after those already listed
+				added.sort(null);
+				studentDirectory = merge(studentDirectory, added);
+				version++;
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Makes a student to add, hashing their password.
+	 *
+	 * @param firstName student's first name
+	 * @param lastName student's last name
+	 * @param id student's id
+	 * @param email student's email
+	 * @param password student's password
+	 * @param repeatPassword student's repeated password
+	 * @param maxCredits student's max credits, or the default if out of range
+	 * @return the new student
+	 * @throws IllegalArgumentException if the passwords are empty or do not match, or a field is invalid
+	 */
+	private static Student newStudent(String firstName, String lastName, String id, String email, String password, String repeatPassword, int maxCredits) {
+		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
+			throw new IllegalArgumentException("Invalid password");
+		}
+		if (!password.equals(repeatPassword)) {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
 
+		String hashPW = Credentials.hash(password);
+
 		//If an IllegalArgumentException is thrown, it's passed up from Student
 		//to the GUI
-		Student student = null;
 		if (maxCredits < 3 || maxCredits > Student.MAX_CREDITS) {
-			student = new Student(firstName, lastName, id, email, hashPW);
-		} else {
-			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
+			return new Student(firstName, lastName, id, email, hashPW);
 		}
+		return new Student(firstName, lastName, id, email, hashPW, maxCredits);
+	}
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if(s.getId().equals(student.getId())) {
-				return false; 
+	/**
+	 * Merges two sorted lists of students into a new sorted list.  Of students that
+	 * sort equal, those in the first list come first.
+	 *
+	 * @param first sorted students
+	 * @param second sorted students
+	 * @return the students of both lists in sorted order
+	 */
+	private static ArrayList<Student> merge(List<Student> first, List<Student> second) {
+		ArrayList<Student> merged = new ArrayList<Student>(first.size() + second.size());
+		int i = 0;
+		int j = 0;
+		while (i < first.size() && j < second.size()) {
+			if (first.get(i).compareTo(second.get(j)) <= 0) {
+				merged.add(first.get(i++));
+			} else {
+				merged.add(second.get(j++));
 			}
 		}
-		
-		return studentDirectory.add(student);
+		merged.addAll(first.subList(i, first.size()));
+		merged.addAll(second.subList(j, second.size()));
+		return merged;
 	}
 
 	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in base64 encoding.
-	 * This allows the encoded digest to be safely copied, as it only uses [a-zA-Z0-9+/=].
+	 * Returns the position just after every student that does not sort after the
+	 * given one, which is where a SortedList would insert it.
 	 *
-	 * @param toHash the String to hash
-	 * @return the encoded digest of the hash algorithm in base64
-	 * @throws IllegalArgumentException if password cannot be hashed.  
+	 * @param student student to place
+	 * @return position to insert the student at
 	 */
-	private static String hashString(String toHash) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(toHash.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
+	private int insertionPoint(Student student) {
+		int low = 0;
+		int high = studentDirectory.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (studentDirectory.get(mid).compareTo(student) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
 		}
+		return low;
 	}
 
 	/**
@@ -127,15 +268,36 @@ public class StudentDirectory {
 	 * @param studentId student's id
 	 * @return true if removed
 	 */
-	public boolean removeStudent(String studentId) {
+	public synchronized boolean removeStudent(String studentId) {
+		Student s = studentsById.remove(studentId);
+		if (s == null) {
+			return false;
+		}
+		studentDirectory.remove(indexOf(s));
+		version++;
+		return true;
+	}
+
+	/**
+	 * Returns the position of a student in the directory.  The student is looked for
+	 * among those that sort equal to it, just before its insertion point, and only
+	 * searched for through the whole list if a name was changed after it was added.
+	 *
+	 * @param student student in the directory
+	 * @return position of the student
+	 */
+	private int indexOf(Student student) {
+		for (int i = insertionPoint(student) - 1; i >= 0 && studentDirectory.get(i).compareTo(student) == 0; i--) {
+			if (studentDirectory.get(i) == student) {
+				return i;
+			}
+		}
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
+			if (studentDirectory.get(i) == student) {
+				return i;
 			}
 		}
-		return false;
+		throw new IllegalStateException("Student is not in the directory.");
 	}
 
 	/**
@@ -160,28 +322,52 @@ public class StudentDirectory {
 	 */
 	public void saveStudentDirectory(String fileName) {
 		try {
-			StudentRecordIO.writeStudentRecords(fileName, studentDirectory);
+			StudentRecordIO.writeStudentRecords(fileName, copyStudents());
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
 	}
 
+	/**
+	 * Saves all students in the directory to a binary snapshot, which
+	 * loadStudentsFromSnapshot() reads back much faster than a record file.
+	 * @throws IllegalArgumentException if the IOException is caught 
+	 * @param fileName name of file to save the snapshot to.
+	 */
+	public void saveStudentDirectorySnapshot(String fileName) {
+		try {
+			SnapshotIO.writeStudentSnapshot(fileName, copyStudents());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns a copy of the list of students, so it can be written out or
+	 * searched while the directory goes on changing.
+	 * @return students in directory order
+	 */
+	public synchronized List<Student> copyStudents() {
+		return new ArrayList<Student>(studentDirectory);
+	}
+
+	/**
+	 * Returns the number of changes made to the directory so far.  A save of the
+	 * directory includes every change up to the version read before it started.
+	 * @return version of the directory
+	 */
+	public long getVersion() {
+		return version;
+	}
+
 	/**
 	 * Returns the student that has the id parameter from the student directory
 	 * 
 	 * @param id of the student
 	 * @return the student that has the id given in the parameter
 	 */
-	public Student getStudentById(String id) {
-		
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(id)) {
-				return s;
-			}
-		}
-		return null;
-
+	public synchronized Student getStudentById(String id) {
+		return studentsById.get(id);
 	}
 
 }
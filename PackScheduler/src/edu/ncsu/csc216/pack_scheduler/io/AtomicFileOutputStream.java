@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Buffered output stream that replaces a file atomically. Output goes to a
+ * temporary file in the same directory as the target, in blocks the size of
+ * the buffer. commit() forces the temporary file to disk and renames it over
+ * the target, so readers of the target see either the old file or the whole
+ * new one, never part of it. Closing the stream without committing it deletes
+ * the temporary file and leaves the target as it was. The temporary file is
+ * given the target's permissions, so replacing a file does not change who can
+ * read it.
+ */
+class AtomicFileOutputStream extends BufferedOutputStream {
+
+	/** Size of the write buffer */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/** File being replaced */
+	private Path target;
+	/** Temporary file written in its place */
+	private Path temp;
+	/** Stream to the temporary file */
+	private FileOutputStream file;
+	/** Number of bytes written to the file when it was committed */
+	private long bytesWritten;
+	/** Whether the file has been committed */
+	private boolean committed;
+
+	/**
+	 * Opens a temporary file next to the file to replace.
+	 *
+	 * @param fileName file to replace
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	AtomicFileOutputStream(String fileName) throws IOException {
+		this(Paths.get(fileName).toAbsolutePath());
+	}
+
+	/**
+	 * Opens a temporary file next to the file to replace.
+	 *
+	 * @param target file to replace
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	private AtomicFileOutputStream(Path target) throws IOException {
+		this(target, createTemp(target));
+	}
+
+	/**
+	 * Creates an empty temporary file next to the file to replace. The file is
+	 * created with the permissions a new file normally gets, rather than the
+	 * owner-only ones Files.createTempFile() gives it, and then takes the
+	 * target's permissions where the target exists and the file system has them.
+	 *
+	 * @param target file to replace
+	 * @return the temporary file
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	private static Path createTemp(Path target) throws IOException {
+		Path temp;
+		while (true) {
+			temp = target.resolveSibling(target.getFileName() + "."
+					+ Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			try {
+				Files.createFile(temp);
+				break;
+			} catch (FileAlreadyExistsException e) {
+				// Taken by another writer, so try another name
+			}
+		}
+		if (target.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			try {
+				Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+			} catch (NoSuchFileException e) {
+				// A new file keeps the permissions it was created with
+			} catch (IOException e) {
+				Files.deleteIfExists(temp);
+				throw e;
+			}
+		}
+		return temp;
+	}
+
+	/**
+	 * Opens a stream to the temporary file.
+	 *
+	 * @param target file to replace
+	 * @param temp   temporary file to write
+	 * @throws IOException if the temporary file cannot be opened
+	 */
+	private AtomicFileOutputStream(Path target, Path temp) throws IOException {
+		this(target, temp, new FileOutputStream(temp.toFile()));
+	}
+
+	/**
+	 * Constructs the buffered stream over the temporary file.
+	 *
+	 * @param target file to replace
+	 * @param temp   temporary file to write
+	 * @param file   stream to the temporary file
+	 */
+	private AtomicFileOutputStream(Path target, Path temp, FileOutputStream file) {
+		super(file, BUFFER_SIZE);
+		this.target = target;
+		this.temp = temp;
+		this.file = file;
+	}
+
+	/**
+	 * Writes out the buffer, forces the temporary file to disk, and renames it
+	 * over the target. Falls back to a plain replace where the file system
+	 * cannot rename atomically.
+	 *
+	 * @throws IOException if the file cannot be written or renamed
+	 */
+	void commit() throws IOException {
+		flush();
+		file.getChannel().force(true);
+		bytesWritten = file.getChannel().position();
+		super.close();
+		try {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+	}
+
+	/**
+	 * Returns the number of bytes in the committed file.
+	 *
+	 * @return number of bytes written, or 0 if the file has not been committed
+	 */
+	long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Closes the stream. A stream that was not committed has its temporary file
+	 * deleted, leaving the target untouched.
+	 *
+	 * @throws IOException if the temporary file cannot be closed or deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!committed) {
+			try {
+				super.close();
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression a record file may be stored with. A file is compressed by the
+ * extension of its name: .gz for gzip, and .zz or .deflate for a zlib deflate
+ * stream. A gzip file being read is also recognized by its first bytes, which
+ * no text file starts with, so it need not be named .gz. A zlib header is only
+ * two bytes that many lines of text also start with, so a file is only
+ * inflated as zlib when its name says it is.
+ *
+ * Compressed data is inflated or deflated on a pipeline thread of its own, so
+ * that work overlaps with parsing or formatting the records. With a single
+ * processor there is nothing to overlap, and the handoff between threads only
+ * costs time, so it is done on the calling thread instead.
+ */
+enum Compression {
+
+	/** Plain text */
+	NONE,
+	/** gzip, as written by gzip and GZIPOutputStream */
+	GZIP,
+	/** zlib deflate stream, as written by DeflaterOutputStream */
+	DEFLATE;
+
+	/** Size of the buffer compressed data is read through */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Whether compressing and decompressing run on pipeline threads */
+	static final boolean PIPELINED = Runtime.getRuntime().availableProcessors() > 1;
+
+	/**
+	 * Returns the compression of a file being read, from its name and its first
+	 * two bytes. A file that starts with the gzip magic number is gzip whatever
+	 * its name; otherwise the name decides.
+	 *
+	 * @param fileName name of the file
+	 * @param b0       first byte of the file
+	 * @param b1       second byte of the file
+	 * @return the compression of the file
+	 */
+	static Compression detect(String fileName, int b0, int b1) {
+		if (b0 == 0x1f && b1 == 0x8b) {
+			return GZIP;
+		}
+		return forFileName(fileName) == DEFLATE ? DEFLATE : NONE;
+	}
+
+	/**
+	 * Returns the compression to write a file with, from its name.
+	 *
+	 * @param fileName name of the file
+	 * @return the compression for the file
+	 */
+	static Compression forFileName(String fileName) {
+		String name = fileName.toLowerCase(Locale.ROOT);
+		if (name.endsWith(".gz")) {
+			return GZIP;
+		}
+		if (name.endsWith(".zz") || name.endsWith(".deflate")) {
+			return DEFLATE;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Opens a file to read, inflating it if it is compressed.
+	 *
+	 * @param fileName file to read
+	 * @return stream of the file's uncompressed bytes
+	 * @throws FileNotFoundException if the file cannot be found or read, or its
+	 *                               compressed header is not valid
+	 */
+	static InputStream open(String fileName) throws FileNotFoundException {
+		BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE);
+		try {
+			in.mark(2);
+			int b0 = in.read();
+			int b1 = in.read();
+			in.reset();
+			return detect(fileName, b0, b1).decompress(in);
+		} catch (IOException e) {
+			try {
+				in.close();
+			} catch (IOException ignored) {
+				// Nothing more to read from it
+			}
+			FileNotFoundException failed = new FileNotFoundException("Unable to read file " + fileName);
+			failed.initCause(e);
+			throw failed;
+		}
+	}
+
+	/**
+	 * Returns the uncompressed bytes of a stream compressed this way, inflated on
+	 * a pipeline thread where there is more than one processor. A stream that is
+	 * not compressed is returned as is.
+	 *
+	 * @param in compressed stream
+	 * @return stream of the uncompressed bytes
+	 * @throws IOException if the compressed stream's header cannot be read
+	 */
+	InputStream decompress(InputStream in) throws IOException {
+		InputStream inflated;
+		switch (this) {
+		case GZIP:
+			inflated = new GZIPInputStream(in, BUFFER_SIZE);
+			break;
+		case DEFLATE:
+			inflated = new InflaterInputStream(in);
+			break;
+		default:
+			return in;
+		}
+		return PIPELINED ? new PipelineInputStream(inflated) : inflated;
+	}
+
+	/**
+	 * Returns a stream that compresses what is written to it this way into the
+	 * given stream. finish() on the returned stream writes the end of the
+	 * compressed data without closing the given stream.
+	 *
+	 * @param out stream to write compressed data to
+	 * @return stream to write uncompressed data to
+	 * @throws IOException if the compressed stream's header cannot be written
+	 * @throws IllegalStateException if this is NONE
+	 */
+	DeflaterOutputStream compress(OutputStream out) throws IOException {
+		switch (this) {
+		case GZIP:
+			return new GZIPOutputStream(out, BUFFER_SIZE);
+		case DEFLATE:
+			return new DeflaterOutputStream(out);
+		default:
+			throw new IllegalStateException("Not compressed.");
+		}
+	}
+}
@@ -1,17 +1,18 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
-import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc216.pack_scheduler.user.schedule.FacultySchedule;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -22,8 +23,6 @@ import edu.ncsu.csc217.collections.list.SortedList;
  * @author Samir Naseri
  */
 public class CourseRecordIO {
-	/** Instance of FacultyDirectory to check if faculty exists. */
-	private static FacultyDirectory facultyDirectory = new FacultyDirectory();
 
 	/**
 	 * Reads course records from a file and generates a list of valid Courses. Any
@@ -35,51 +34,158 @@ public class CourseRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
 		SortedList<Course> courses = new SortedList<Course>(); // Create an empty array of Course objects
+		HashSet<String> seen = new HashSet<String>(); // Names and sections already added
 
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try {
-				Course course = readCourse(fileReader.nextLine());
+		for (Course course : readCourseList(fileName)) {
+			if (seen.add(course.getName() + "," + course.getSection())) {
+				courses.add(course); // Add to the ArrayList!
+			} // Otherwise it's a duplicate, ignore
+		}
+		// Return the ArrayList with all the courses we read!
+		return courses;
+	}
+
+	/**
+	 * Reads course records from a file and returns every valid Course in file
+	 * order. Invalid Courses are ignored, but duplicates are kept, so callers that
+	 * sort the Courses themselves can drop duplicates in the same pass. Large
+	 * files are parsed in parallel. The Courses are read without instructors. If
+	 * the file to read cannot be found or the permissions are incorrect a
+	 * FileNotFoundException is thrown.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static List<Course> readCourseList(String fileName) throws FileNotFoundException {
+		return readCourseList(fileName, null);
+	}
 
-				boolean duplicate = false;
-				for (int i = 0; i < courses.size(); i++) {
-					Course current = courses.get(i);
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
+	/**
+	 * Reads course records from a file as readCourseList(String) does, and then
+	 * assigns each Course to its instructor in the given faculty directory,
+	 * adding it to the instructor's FacultySchedule. A Course whose instructor is
+	 * not in the directory, or cannot be assigned the Course, is read without an
+	 * instructor, as is a later duplicate of a Course.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param faculty  directory of the instructors, or null to read every Course
+	 *                 without an instructor
+	 * @return a list of valid Courses in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static List<Course> readCourseList(String fileName, FacultyDirectory faculty)
+			throws FileNotFoundException {
+		List<Course> courses = readCourseListWithInstructorIds(fileName);
+		assignInstructors(courses, faculty);
+		return courses;
+	}
+
+	/**
+	 * Reads course records from a file as readCourseList(String) does, but leaves
+	 * each Course holding the instructor id from its record without adding it to
+	 * any FacultySchedule. Callers that keep only some of the Courses can then
+	 * pass just those to assignInstructors().
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static List<Course> readCourseListWithInstructorIds(String fileName) throws FileNotFoundException {
+		// Invalid lines are skipped as each chunk of the file is parsed
+		return ParallelRecordReader.readRecords(fileName, CourseRecordIO::readCourse);
+	}
+
+	/**
+	 * Assigns each Course to the instructor named in its record, looking the
+	 * instructors up in a HashMap built once from the directory rather than
+	 * searching the directory for each Course. A Course whose instructor is not
+	 * in the directory, or cannot be assigned the Course, is left without an
+	 * instructor, as is a later duplicate of a Course.
+	 * 
+	 * @param courses Courses holding the instructor ids from their records, as
+	 *                read by readCourseListWithInstructorIds()
+	 * @param faculty directory of the instructors, or null to leave every Course
+	 *                without an instructor
+	 */
+	public static void assignInstructors(List<Course> courses, FacultyDirectory faculty) {
+		HashMap<String, Faculty> instructors = new HashMap<String, Faculty>();
+		if (faculty != null) {
+			for (Faculty f : faculty.copyFaculty()) {
+				instructors.put(f.getId(), f);
+			}
+		}
+		HashSet<String> seen = new HashSet<String>(); // Names and sections already read
+		for (Course course : courses) {
+			// Later duplicates are dropped from the catalog, so are not assigned
+			boolean first = seen.add(course.getName() + "," + course.getSection());
+			String instructorId = course.getInstructorId();
+			if (instructorId == null) {
+				continue;
+			}
+			// The schedule only takes a Course with no instructor, and sets it
+			course.setInstructorId(null);
+			Faculty instructor = instructors.get(instructorId);
+			if (first && instructor != null) {
+				// Registration locks a faculty member while changing their schedule
+				synchronized (instructor) {
+					try {
+						instructor.getSchedule().addCourseToSchedule(course);
+					} catch (IllegalArgumentException e) {
+						// Conflicts with the instructor's other Courses, so left unassigned
 					}
 				}
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
-			} catch (IllegalArgumentException e) {
-				// The line is invalid b/c we couldn't create a course, skip it!
 			}
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		RegistrationManager.getInstance();
-		// Return the ArrayList with all the courses we read!
-		return courses;
 	}
 
 	/**
-	 * Reads input from ReadCourseRecords as a string for the line, separates
+	 * Opens a course record file to be read one Course at a time, in file order.
+	 * Each invalid line is passed to the listener with its line number and the
+	 * reason it was rejected. Duplicates are not dropped. The reader must be
+	 * closed once done with.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param rejected told about each invalid line, or null to skip them silently
+	 * @return reader of the valid Courses in the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static RecordReader<Course> streamCourseRecords(String fileName, Consumer<RejectedLine> rejected)
+			throws FileNotFoundException {
+		return new RecordReader<>(fileName, CourseRecordIO::readUnassignedCourse, rejected);
+	}
+
+	/**
+	 * Reads the current line of a tokenizer as readCourse() does, leaving the
+	 * Course without an instructor as readCourseList(String) does.
+	 * 
+	 * @param scnr tokenizer positioned at the line to read
+	 * @return A constructed course from the inputted line.
+	 * @throws IllegalArgumentException if the line is not a valid course
+	 */
+	private static Course readUnassignedCourse(RecordTokenizer scnr) {
+		Course course = readCourse(scnr);
+		if (course.getInstructorId() != null) {
+			course.setInstructorId(null);
+		}
+		return course;
+	}
+
+	/**
+	 * Reads the current line of a tokenizer from readCourseList, separating
 	 * elements into individual pieces of information that make up a course. Checks
-	 * scanner input for extra elements and throws exceptions if there are any.
+	 * the line for extra elements and throws exceptions if there are any. The
+	 * Course holds the instructor id from the line until assignInstructors()
+	 * resolves it, so parsing changes no shared state and can run in parallel.
 	 * 
-	 * @param nextLine line inputted from file from readCourseRecords method
+	 * @param scnr tokenizer positioned at the line read by readCourseList
 	 * @throws IllegalArgumentException for unnecessary input, catched no such
 	 *                                  element exceptions and input mismatch
 	 *                                  exception
 	 * @return A constructed course from the inputted line.
 	 */
-	private static Course readCourse(String nextLine) {
-		Scanner scnr = new Scanner(nextLine);
-		scnr.useDelimiter(",");
+	private static Course readCourse(RecordTokenizer scnr) {
 		try {
 			String name = scnr.next();
 			String title = scnr.next();
@@ -88,60 +194,67 @@ public class CourseRecordIO {
 			String instructorId = scnr.next();
 			int enrollmentCap = scnr.nextInt();
 			String meetingDay = scnr.next();
+			// An empty id names no instructor
+			if (instructorId.isEmpty()) {
+				instructorId = null;
+			}
 
 			if ("A".equals(meetingDay)) {
 				if (scnr.hasNext()) {
-					scnr.close();
-					throw new IllegalArgumentException();
-				} else {
-					scnr.close();
-					Course course = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay);
-					if (facultyDirectory.getFacultyById(instructorId) != null) {
-						course = new Course(name, title, section, creditHours, instructorId, enrollmentCap, meetingDay);
-						FacultySchedule facultySchedule = facultyDirectory.getFacultyById(instructorId).getSchedule();
-						facultySchedule.addCourseToSchedule(course);
-					}
-					RegistrationManager.getInstance();
-					return course;
+					throw new IllegalArgumentException("Too many fields in course record.");
 				}
+				return new Course(name, title, section, creditHours, instructorId, enrollmentCap, meetingDay);
 			}
 			int startTime = scnr.nextInt();
 			int endTime = scnr.nextInt();
 			if (scnr.hasNext()) {
-				scnr.close();
-				throw new IllegalArgumentException();
+				throw new IllegalArgumentException("Too many fields in course record.");
 			}
-			scnr.close();
-			Course course = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay, startTime,
+			return new Course(name, title, section, creditHours, instructorId, enrollmentCap, meetingDay, startTime,
 					endTime);
-			Faculty instructor = facultyDirectory.getFacultyById(instructorId);
-			if (instructor != null) {
-				course.setInstructorId(instructorId);
-				FacultySchedule facultySchedule = instructor.getSchedule();
-				facultySchedule.addCourseToSchedule(course);
-			}
-			return course;
+		} catch (InputMismatchException e) {
+			throw new IllegalArgumentException("Invalid number in course record.");
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException("Missing fields in course record.");
+		} catch (IllegalArgumentException e) {
+			throw e;
 		} catch (Exception e) {
-			scnr.close();
-			throw new IllegalArgumentException();
+			throw new IllegalArgumentException("Invalid course record.");
 		}
 	}
 
 	/**
-	 * Writes the given list of Courses to
+	 * Writes the given list of Courses to a file. The file is replaced only once
+	 * every Course has been written, so a failed write leaves the old file intact.
 	 * 
 	 * @param fileName file to write schedule of Courses to
 	 * @param catalog  list of Courses to write
+	 * @return number of records and bytes written
 	 * @throws IOException if cannot write to file
 	 */
-	public static void writeCourseRecords(String fileName, SortedList<Course> catalog) throws IOException {
-
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-
-		for (int i = 0; i < catalog.size(); i++) {
-			fileWriter.println(catalog.get(i).toString());
+	public static WriteResult writeCourseRecords(String fileName, SortedList<Course> catalog) throws IOException {
+		try (RecordFileWriter fileWriter = new RecordFileWriter(fileName)) {
+			for (int i = 0; i < catalog.size(); i++) {
+				fileWriter.writeRecord(catalog.get(i));
+			}
+			return fileWriter.commit();
 		}
+	}
 
-		fileWriter.close();
+	/**
+	 * Writes the given read-only list of Courses, such as a catalog snapshot, to a file.
+	 * 
+	 * @param fileName file to write Courses to
+	 * @param courses  list of Courses to write
+	 * @return number of records and bytes written
+	 * @throws IOException if cannot write to file
+	 */
+	public static WriteResult writeCourseRecords(String fileName, List<Course> courses) throws IOException {
+		try (RecordFileWriter fileWriter = new RecordFileWriter(fileName)) {
+			for (Course c : courses) {
+				fileWriter.writeRecord(c);
+			}
+			return fileWriter.commit();
+		}
 	}
-}
\ No newline at end of file
+}
@@ -1,12 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.function.Consumer;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -29,32 +27,55 @@ public class FacultyRecordIO {
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
 		LinkedList<Faculty> faculties = new LinkedList<>();
-		Scanner fileScanner = new Scanner(new FileInputStream(fileName));
 
-		while (fileScanner.hasNextLine()) {
+		for (Faculty faculty : readFacultyList(fileName)) {
 			try {
-				Faculty faculty = processFaculty(fileScanner.nextLine());
 				faculties.add(faculty);
 			} catch (IllegalArgumentException e) {
 				// Do nothing here
 			}
 		}
 
-		fileScanner.close();
 		return faculties;
 	}
 
 	/**
-	 * Processes a single line of input into a Faculty object.
+	 * Reads faculty records from a file and returns every valid Faculty in file
+	 * order. Invalid lines are skipped but duplicates are kept, so callers that
+	 * index the faculty by id can drop duplicates in the same pass. Large files
+	 * are parsed in parallel.
 	 * 
-	 * @param nextLine the line to process
+	 * @param fileName the name of the file to read from
+	 * @return a list of valid Faculty in file order
+	 * @throws FileNotFoundException if the file does not exist
+	 */
+	public static List<Faculty> readFacultyList(String fileName) throws FileNotFoundException {
+		return ParallelRecordReader.readRecords(fileName, FacultyRecordIO::processFaculty);
+	}
+
+	/**
+	 * Opens a faculty record file to be read one faculty member at a time, in file
+	 * order. Each invalid line is passed to the listener with its line number and
+	 * the reason it was rejected. The reader must be closed once done with.
+	 * 
+	 * @param fileName the name of the file to read from
+	 * @param rejected told about each invalid line, or null to skip them silently
+	 * @return reader of the valid Faculty in the file
+	 * @throws FileNotFoundException if the file does not exist
+	 */
+	public static RecordReader<Faculty> streamFacultyRecords(String fileName, Consumer<RejectedLine> rejected)
+			throws FileNotFoundException {
+		return new RecordReader<>(fileName, FacultyRecordIO::processFaculty, rejected);
+	}
+
+	/**
+	 * Processes the current line of input into a Faculty object.
+	 * 
+	 * @param lineScanner tokenizer positioned at the line to process
 	 * @return a Faculty object
 	 * @throws IllegalArgumentException if the line format is invalid
 	 */
-	private static Faculty processFaculty(String nextLine) {
-		Scanner lineScanner = new Scanner(nextLine);
-		lineScanner.useDelimiter(",");
-
+	private static Faculty processFaculty(RecordTokenizer lineScanner) {
 		try {
 			String firstName = lineScanner.next();
 			String lastName = lineScanner.next();
@@ -64,31 +85,29 @@ public class FacultyRecordIO {
 			int maxCourses = lineScanner.nextInt();
 
 			Faculty faculty = new Faculty(firstName, lastName, id, email, password, maxCourses);
-			lineScanner.close();
 			return faculty;
 
 		} catch (NoSuchElementException e) {
-			lineScanner.close();
 			throw new IllegalArgumentException("Invalid faculty record.");
 		}
 	}
 
 	/**
-	 * Writes the given list of faculty records to the specified file.
+	 * Writes the given list of faculty records to the specified file. The file is
+	 * replaced only once every record has been written, so a failed write leaves
+	 * the old file intact.
 	 * 
 	 * @param fileName         the name of the file to write to
-	 * @param facultyDirectory the LinkedList of Faculty objects to write
+	 * @param facultyDirectory the list of Faculty objects to write
+	 * @return number of records and bytes written
 	 * @throws IOException if an error occurs while writing to the file
 	 */
-	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> facultyDirectory) throws IOException {
-		try {
-			PrintStream output = new PrintStream(new File(fileName));
-
+	public static WriteResult writeFacultyRecords(String fileName, List<Faculty> facultyDirectory) throws IOException {
+		try (RecordFileWriter output = new RecordFileWriter(fileName)) {
 			for (Faculty faculty : facultyDirectory) {
-				output.println(faculty.toString());
+				output.writeRecord(faculty);
 			}
-
-			output.close();
+			return output.commit();
 		} catch (IOException e) {
 			throw new IOException(fileName + " (No such file or directory)");
 		}
@@ -0,0 +1,273 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Reads every valid record of a record file, parsing large files on all cores.
+ * The file is memory-mapped and split into chunks that each end just after a
+ * newline, so no line is split between two chunks. Each chunk is decoded and
+ * tokenized by its own fork/join task, and the records of the chunks are joined
+ * back together in file order, giving the same list as reading the file line
+ * by line.
+ *
+ * A file no larger than one chunk is read on the calling thread, as is a file
+ * whose size is unknown, such as a pipe. So is any file when the default
+ * charset does not write a newline as the single byte 0x0A, since it could
+ * then not be split safely at those bytes. A compressed file cannot be split
+ * either, and is parsed on the calling thread as Compression inflates it.
+ */
+class ParallelRecordReader {
+
+	/** Size of the chunks a large file is split into */
+	private static final int CHUNK_SIZE = 1 << 20;
+	/** Number of bytes read at a time while looking for the end of a chunk */
+	private static final int WINDOW_SIZE = 4096;
+
+	/**
+	 * Reads the records of a file. The parser is given a tokenizer positioned at
+	 * each line and throws an IllegalArgumentException for an invalid line, which
+	 * is skipped. Since the parser may run on several threads at once, it must
+	 * not change any shared state.
+	 *
+	 * @param <T>      type of record
+	 * @param fileName file to read records from
+	 * @param parser   parses the current line of a tokenizer into a record
+	 * @return list of valid records in file order
+	 * @throws FileNotFoundException if the file cannot be found or read, including
+	 *                               a failure part way through reading it
+	 */
+	static <T> List<T> readRecords(String fileName, Function<RecordTokenizer, T> parser)
+			throws FileNotFoundException {
+		return readRecords(fileName, parser, CHUNK_SIZE);
+	}
+
+	/**
+	 * Reads the records of a file, splitting it into chunks of about the given size.
+	 *
+	 * @param <T>       type of record
+	 * @param fileName  file to read records from
+	 * @param parser    parses the current line of a tokenizer into a record
+	 * @param chunkSize smallest number of bytes in each chunk
+	 * @return list of valid records in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	static <T> List<T> readRecords(String fileName, Function<RecordTokenizer, T> parser, int chunkSize)
+			throws FileNotFoundException {
+		FileInputStream in = new FileInputStream(fileName);
+		Charset charset = Charset.defaultCharset();
+		try (FileChannel channel = in.getChannel()) {
+			long size = channel.size();
+			if (isCompressed(fileName, channel)) {
+				return parse(new RecordTokenizer(new InputStreamReader(Compression.open(fileName), charset)), parser);
+			}
+			if (size <= chunkSize || !Arrays.equals("\n".getBytes(charset), new byte[] { '\n' })) {
+				return parse(new RecordTokenizer(new InputStreamReader(in, charset)), parser);
+			}
+			long[] bounds = findChunks(channel, size, chunkSize);
+			List<List<T>> chunks = new ArrayList<>();
+			for (int i = 0; i < bounds.length - 1; i++) {
+				chunks.add(null);
+			}
+			ForkJoinPool.commonPool().invoke(new ChunkTask<>(channel, charset, bounds, 0, chunks.size(), parser, chunks));
+
+			int total = 0;
+			for (List<T> chunk : chunks) {
+				total += chunk.size();
+			}
+			List<T> records = new ArrayList<>(total);
+			for (List<T> chunk : chunks) {
+				records.addAll(chunk);
+			}
+			return records;
+		} catch (IOException | UncheckedIOException e) {
+			// Records already parsed are not returned, so a caller never replaces its data with part of a file
+			FileNotFoundException failed = new FileNotFoundException("Unable to read file " + fileName);
+			failed.initCause(e);
+			throw failed;
+		}
+	}
+
+	/**
+	 * Returns true if a file is compressed, by its name or by starting as a gzip
+	 * file does. The file's position is left where it was.
+	 *
+	 * @param fileName name of the file
+	 * @param channel  file to check
+	 * @return true if the file is compressed
+	 * @throws IOException if the file cannot be read
+	 */
+	private static boolean isCompressed(String fileName, FileChannel channel) throws IOException {
+		ByteBuffer head = ByteBuffer.allocate(2);
+		while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+			// Keep reading until both bytes are in
+		}
+		int b0 = head.position() > 0 ? head.get(0) & 0xff : -1;
+		int b1 = head.position() > 1 ? head.get(1) & 0xff : -1;
+		return Compression.detect(fileName, b0, b1) != Compression.NONE;
+	}
+
+	/**
+	 * Parses each line of a tokenizer, skipping invalid lines, and closes it.
+	 *
+	 * @param <T>       type of record
+	 * @param tokenizer tokenizer to read lines from
+	 * @param parser    parses the current line of the tokenizer into a record
+	 * @return list of valid records
+	 * @throws UncheckedIOException if reading stopped on an IOException rather
+	 *                              than at the end of the source
+	 */
+	private static <T> List<T> parse(RecordTokenizer tokenizer, Function<RecordTokenizer, T> parser) {
+		List<T> records = new ArrayList<>();
+		while (tokenizer.nextLine()) {
+			try {
+				records.add(parser.apply(tokenizer));
+			} catch (IllegalArgumentException e) {
+				// The line is invalid, skip it
+			}
+		}
+		tokenizer.close();
+		if (tokenizer.ioException() != null) {
+			throw new UncheckedIOException(tokenizer.ioException());
+		}
+		return records;
+	}
+
+	/**
+	 * Finds where each chunk of a file starts. Every chunk but the last runs
+	 * from its start to just after the first newline at least chunkSize bytes on.
+	 *
+	 * @param channel   file to split
+	 * @param size      size of the file
+	 * @param chunkSize smallest number of bytes in each chunk
+	 * @return start of each chunk, followed by the size of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long[] findChunks(FileChannel channel, long size, int chunkSize) throws IOException {
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(0L);
+		ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE);
+		long end = chunkSize;
+		while (end < size) {
+			end = nextLineStart(channel, end, window);
+			if (end >= size) {
+				break;
+			}
+			bounds.add(end);
+			end += chunkSize;
+		}
+		bounds.add(size);
+
+		long[] starts = new long[bounds.size()];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = bounds.get(i);
+		}
+		return starts;
+	}
+
+	/**
+	 * Returns the position just after the first newline at or after a position.
+	 *
+	 * @param channel  file to search
+	 * @param position where to start searching
+	 * @param window   buffer to read the file into
+	 * @return position after the newline, or the size of the file if there is none
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long nextLineStart(FileChannel channel, long position, ByteBuffer window) throws IOException {
+		while (true) {
+			window.clear();
+			int read = channel.read(window, position);
+			if (read < 0) {
+				return channel.size();
+			}
+			for (int i = 0; i < read; i++) {
+				if (window.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Parses a range of chunks, splitting the range in half between two tasks
+	 * until each task has a single chunk.
+	 *
+	 * @param <T> type of record
+	 */
+	private static class ChunkTask<T> extends RecursiveAction {
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+		/** File being read */
+		private FileChannel channel;
+		/** Charset of the file */
+		private Charset charset;
+		/** Start of each chunk, followed by the size of the file */
+		private long[] bounds;
+		/** First chunk of the range */
+		private int first;
+		/** Chunk just after the range */
+		private int last;
+		/** Parses the current line of a tokenizer into a record */
+		private Function<RecordTokenizer, T> parser;
+		/** Records of each chunk, filled in as the chunks are parsed */
+		private List<List<T>> results;
+
+		/**
+		 * Constructs a task for a range of chunks.
+		 *
+		 * @param channel file being read
+		 * @param charset charset of the file
+		 * @param bounds  start of each chunk, followed by the size of the file
+		 * @param first   first chunk of the range
+		 * @param last    chunk just after the range
+		 * @param parser  parses the current line of a tokenizer into a record
+		 * @param results records of each chunk
+		 */
+		ChunkTask(FileChannel channel, Charset charset, long[] bounds, int first, int last,
+				Function<RecordTokenizer, T> parser, List<List<T>> results) {
+			this.channel = channel;
+			this.charset = charset;
+			this.bounds = bounds;
+			this.first = first;
+			this.last = last;
+			this.parser = parser;
+			this.results = results;
+		}
+
+		@Override
+		protected void compute() {
+			if (last - first > 1) {
+				int middle = (first + last) >>> 1;
+				invokeAll(new ChunkTask<>(channel, charset, bounds, first, middle, parser, results),
+						new ChunkTask<>(channel, charset, bounds, middle, last, parser, results));
+				return;
+			}
+			try {
+				ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, bounds[first],
+						bounds[first + 1] - bounds[first]);
+				// Replace bad input the same way an InputStreamReader would
+				CharBuffer chars = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE).decode(bytes);
+				results.set(first, parse(new RecordTokenizer(chars.array(), chars.limit()), parser));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
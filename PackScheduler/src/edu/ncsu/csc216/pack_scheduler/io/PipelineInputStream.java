@@ -0,0 +1,134 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a stream on a pipeline thread of its own, a few blocks ahead of the
+ * reader. Used over a decompressing stream, the inflating runs on the pipeline
+ * thread while the reader's thread parses the blocks already inflated.
+ *
+ * An IOException on the pipeline thread is thrown by the read that reaches the
+ * point it happened. Closing the stream stops the pipeline thread and closes
+ * the source.
+ */
+class PipelineInputStream extends InputStream {
+
+	/** Size of the blocks passed from the pipeline thread */
+	static final int BLOCK_SIZE = 1 << 16;
+	/** Number of blocks the pipeline thread may read ahead */
+	private static final int BLOCKS_AHEAD = 4;
+	/** Marks the end of the source in the queue */
+	private static final byte[] END = new byte[0];
+
+	/** Blocks read by the pipeline thread, in order */
+	private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(BLOCKS_AHEAD);
+	/** Reads the source */
+	private final Thread pipeline;
+	/** Error that ended the source, or null if it ended normally */
+	private volatile IOException error;
+	/** Block being read, or null before the first */
+	private byte[] block;
+	/** Position of the next byte to read in the block */
+	private int position;
+
+	/**
+	 * Starts reading a source on a pipeline thread.
+	 *
+	 * @param source stream to read
+	 */
+	PipelineInputStream(InputStream source) {
+		pipeline = new Thread(() -> readAhead(source), "record-reader-pipeline");
+		pipeline.setDaemon(true);
+		pipeline.start();
+	}
+
+	/**
+	 * Reads the source into blocks until it ends, fails, or this stream is closed.
+	 *
+	 * @param source stream to read
+	 */
+	private void readAhead(InputStream source) {
+		try (InputStream in = source) {
+			while (true) {
+				byte[] b = new byte[BLOCK_SIZE];
+				int n = in.readNBytes(b, 0, b.length);
+				if (n == 0) {
+					break;
+				}
+				blocks.put(n == b.length ? b : Arrays.copyOf(b, n));
+			}
+		} catch (IOException e) {
+			error = e;
+		} catch (InterruptedException e) {
+			// Closed by the reader, which takes nothing more
+			return;
+		}
+		try {
+			blocks.put(END);
+		} catch (InterruptedException e) {
+			// Closed by the reader
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!nextBlock()) {
+			return -1;
+		}
+		return block[position++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!nextBlock()) {
+			return -1;
+		}
+		int n = Math.min(len, block.length - position);
+		System.arraycopy(block, position, b, off, n);
+		position += n;
+		return n;
+	}
+
+	/**
+	 * Moves to the next block if the current one has been read.
+	 *
+	 * @return true if there is a byte to read, or false at the end of the source
+	 * @throws IOException if the source failed
+	 */
+	private boolean nextBlock() throws IOException {
+		if (block != null && position < block.length) {
+			return true;
+		}
+		if (block == END) {
+			return false;
+		}
+		try {
+			block = blocks.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading.");
+		}
+		position = 0;
+		if (block == END && error != null) {
+			throw error;
+		}
+		return block != END;
+	}
+
+	/**
+	 * Stops the pipeline thread, which closes the source.
+	 */
+	@Override
+	public void close() {
+		pipeline.interrupt();
+		block = END;
+		blocks.clear();
+	}
+}
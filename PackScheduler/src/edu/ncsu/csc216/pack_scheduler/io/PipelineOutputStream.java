@@ -0,0 +1,185 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes to a stream on a pipeline thread of its own, a few blocks behind the
+ * writer. Used over a compressing stream, the deflating runs on the pipeline
+ * thread while the writer's thread formats the next records.
+ *
+ * finish() waits for every block to be written, and throws any IOException the
+ * pipeline thread hit. The sink is not closed; closing this stream only stops
+ * the pipeline thread, dropping blocks not yet written.
+ */
+class PipelineOutputStream extends OutputStream {
+
+	/** Size of the blocks passed to the pipeline thread */
+	static final int BLOCK_SIZE = 1 << 16;
+	/** Number of blocks the pipeline thread may fall behind */
+	private static final int BLOCKS_BEHIND = 4;
+	/** Marks the end of the output in the queue */
+	private static final byte[] END = new byte[0];
+
+	/** Blocks to write, in order */
+	private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(BLOCKS_BEHIND);
+	/** Writes the blocks to the sink */
+	private final Thread pipeline;
+	/** Error the pipeline thread hit, or null if none */
+	private volatile IOException error;
+	/** True once the writer gives up, so blocks left are dropped */
+	private volatile boolean aborted;
+	/** Block being filled */
+	private byte[] block = new byte[BLOCK_SIZE];
+	/** Number of bytes in the block */
+	private int count;
+	/** True once finish() or close() has been called */
+	private boolean done;
+
+	/**
+	 * Starts writing to a sink on a pipeline thread.
+	 *
+	 * @param sink stream to write to
+	 */
+	PipelineOutputStream(OutputStream sink) {
+		pipeline = new Thread(() -> writeBehind(sink), "record-writer-pipeline");
+		pipeline.setDaemon(true);
+		pipeline.start();
+	}
+
+	/**
+	 * Writes blocks to the sink until the end is queued. After an error, blocks
+	 * are taken and dropped so the writer is never left waiting.
+	 *
+	 * @param sink stream to write to
+	 */
+	private void writeBehind(OutputStream sink) {
+		try {
+			for (byte[] b = blocks.take(); b != END; b = blocks.take()) {
+				if (error == null && !aborted) {
+					try {
+						sink.write(b);
+					} catch (IOException e) {
+						error = e;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// Nothing else interrupts the pipeline thread
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (count == block.length) {
+			queueBlock();
+		}
+		block[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (count == block.length) {
+				queueBlock();
+			}
+			int n = Math.min(len, block.length - count);
+			System.arraycopy(b, off, block, count, n);
+			count += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Passes the bytes written so far to the pipeline thread. They are not
+	 * written to the sink until the pipeline thread gets to them.
+	 *
+	 * @throws IOException if the pipeline thread has failed
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (count > 0) {
+			queueBlock();
+		}
+	}
+
+	/**
+	 * Passes the block being filled to the pipeline thread and starts a new one.
+	 *
+	 * @throws IOException if the pipeline thread has failed or the stream is done
+	 */
+	private void queueBlock() throws IOException {
+		if (done) {
+			throw new IOException("Stream finished.");
+		}
+		if (error != null) {
+			throw error;
+		}
+		put(count == block.length ? block : Arrays.copyOf(block, count));
+		block = new byte[BLOCK_SIZE];
+		count = 0;
+	}
+
+	/**
+	 * Queues a block, waiting for room.
+	 *
+	 * @param b block to queue
+	 * @throws IOException if interrupted while waiting
+	 */
+	private void put(byte[] b) throws IOException {
+		try {
+			blocks.put(b);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing.");
+		}
+	}
+
+	/**
+	 * Writes out everything written to this stream and waits for the pipeline
+	 * thread to finish.
+	 *
+	 * @throws IOException if the pipeline thread failed to write to the sink
+	 */
+	void finish() throws IOException {
+		flush();
+		done = true;
+		put(END);
+		try {
+			pipeline.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing.");
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Stops the pipeline thread, dropping anything not yet written. Does nothing
+	 * if the stream has been finished.
+	 *
+	 * @throws IOException if interrupted while stopping the pipeline thread
+	 */
+	@Override
+	public void close() throws IOException {
+		if (done) {
+			return;
+		}
+		done = true;
+		aborted = true;
+		put(END);
+		try {
+			pipeline.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing.");
+		}
+	}
+}
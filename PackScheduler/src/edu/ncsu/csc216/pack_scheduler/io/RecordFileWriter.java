@@ -0,0 +1,111 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a record file, one record per line, through an AtomicFileOutputStream.
+ * Lines are written with the default charset and line separator, as the
+ * PrintStream the record writers used before, so the files are unchanged.
+ * Nothing reaches the target file until commit() is called.
+ *
+ * A file named for a Compression is compressed, with the compressing done on a
+ * pipeline thread while the caller writes the next records where there is more
+ * than one processor.
+ */
+class RecordFileWriter implements AutoCloseable {
+
+	/** Line separator written after each record */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Temporary file being written */
+	private AtomicFileOutputStream file;
+	/** Compresses into the file, or null if the file is not compressed */
+	private DeflaterOutputStream compressor;
+	/** Passes the records to the compressor, or null if they are written to it directly */
+	private PipelineOutputStream pipeline;
+	/** Encodes the records into the file's buffer or the pipeline */
+	private Writer out;
+	/** Number of records written */
+	private int records;
+
+	/**
+	 * Opens a record file to be replaced.
+	 *
+	 * @param fileName file to replace
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	RecordFileWriter(String fileName) throws IOException {
+		file = new AtomicFileOutputStream(fileName);
+		Compression compression = Compression.forFileName(fileName);
+		if (compression == Compression.NONE) {
+			out = new OutputStreamWriter(file, Charset.defaultCharset());
+		} else {
+			try {
+				compressor = compression.compress(file);
+			} catch (IOException e) {
+				file.close();
+				throw e;
+			}
+			if (Compression.PIPELINED) {
+				pipeline = new PipelineOutputStream(compressor);
+				out = new OutputStreamWriter(pipeline, Charset.defaultCharset());
+			} else {
+				out = new OutputStreamWriter(compressor, Charset.defaultCharset());
+			}
+		}
+	}
+
+	/**
+	 * Writes a record's toString() as one line.
+	 *
+	 * @param record record to write
+	 * @throws IOException if the file cannot be written
+	 */
+	void writeRecord(Object record) throws IOException {
+		out.write(String.valueOf(record));
+		out.write(LINE_SEPARATOR);
+		records++;
+	}
+
+	/**
+	 * Writes out the remaining records and replaces the target file.
+	 *
+	 * @return number of records and bytes written
+	 * @throws IOException if the file cannot be written or renamed
+	 */
+	WriteResult commit() throws IOException {
+		out.flush();
+		if (pipeline != null) {
+			pipeline.finish();
+		}
+		if (compressor != null) {
+			compressor.finish();
+		}
+		file.commit();
+		return new WriteResult(records, file.getBytesWritten());
+	}
+
+	/**
+	 * Closes the file, discarding it if it was not committed.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (pipeline != null) {
+				pipeline.close();
+			}
+			if (compressor != null) {
+				// Frees the compressor's native memory
+				compressor.close();
+			}
+		} finally {
+			file.close();
+		}
+	}
+}
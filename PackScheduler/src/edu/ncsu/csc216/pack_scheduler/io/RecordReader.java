@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the valid records of a record file one at a time, so a file of any size
+ * can be filtered or indexed without holding all of its records. Each line that
+ * is not a valid record is passed to a listener with its line number and the
+ * reason it was rejected, rather than being dropped silently.
+ *
+ * A RecordReader is an Iterator, and stream() gives the records as a sequential
+ * Stream that closes the file when it is closed.
+ *
+ * @param <T> type of record
+ */
+public class RecordReader<T> implements Iterator<T>, AutoCloseable {
+
+	/** Splits the file into lines and tokens */
+	private RecordTokenizer tokenizer;
+	/** Parses the current line of the tokenizer into a record */
+	private Function<RecordTokenizer, T> parser;
+	/** Told about each rejected line, or null to skip them silently */
+	private Consumer<RejectedLine> rejected;
+	/** Next record to return, or null if it has not been read yet */
+	private T next;
+	/** Number of lines rejected */
+	private int rejectedCount;
+
+	/**
+	 * Opens a record file, which may be compressed.
+	 *
+	 * @param fileName file to read records from
+	 * @param parser   parses the current line of a tokenizer into a record,
+	 *                 throwing an IllegalArgumentException for an invalid line
+	 * @param rejected told about each rejected line, or null to skip them silently
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	RecordReader(String fileName, Function<RecordTokenizer, T> parser, Consumer<RejectedLine> rejected)
+			throws FileNotFoundException {
+		this(new InputStreamReader(Compression.open(fileName), Charset.defaultCharset()), parser, rejected);
+	}
+
+	/**
+	 * Reads records from a source.
+	 *
+	 * @param in       source of the records
+	 * @param parser   parses the current line of a tokenizer into a record,
+	 *                 throwing an IllegalArgumentException for an invalid line
+	 * @param rejected told about each rejected line, or null to skip them silently
+	 */
+	RecordReader(Reader in, Function<RecordTokenizer, T> parser, Consumer<RejectedLine> rejected) {
+		this.tokenizer = new RecordTokenizer(in);
+		this.parser = parser;
+		this.rejected = rejected;
+	}
+
+	/**
+	 * Returns true if the file has another valid record, reading past and
+	 * reporting any invalid lines before it.
+	 *
+	 * @return true if next() would return a record
+	 * @throws UncheckedIOException if the file could not be read to its end
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null && tokenizer.nextLine()) {
+			try {
+				next = parser.apply(tokenizer);
+			} catch (IllegalArgumentException e) {
+				rejectedCount++;
+				if (rejected != null) {
+					String reason = e.getMessage() == null ? "Invalid record." : e.getMessage();
+					rejected.accept(new RejectedLine(tokenizer.getLineNumber(), tokenizer.line(), reason));
+				}
+			}
+		}
+		if (next == null && tokenizer.ioException() != null) {
+			throw new UncheckedIOException(tokenizer.ioException());
+		}
+		return next != null;
+	}
+
+	/**
+	 * Returns the next valid record.
+	 *
+	 * @return the record
+	 * @throws NoSuchElementException if there are no more records
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T record = next;
+		next = null;
+		return record;
+	}
+
+	/**
+	 * Returns the number of lines rejected so far.
+	 *
+	 * @return number of rejected lines
+	 */
+	public int getRejectedCount() {
+		return rejectedCount;
+	}
+
+	/**
+	 * Returns the remaining records as a sequential, ordered Stream. Closing the
+	 * Stream closes the file.
+	 *
+	 * @return stream of records
+	 */
+	public Stream<T> stream() {
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+
+	/**
+	 * Closes the file.
+	 */
+	@Override
+	public void close() {
+		tokenizer.close();
+	}
+}
@@ -0,0 +1,288 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a record file into lines and each line into comma separated tokens,
+ * giving the same lines and tokens as reading the file with a Scanner and each
+ * line with a second Scanner using useDelimiter(","). The file is read into one
+ * reusable character buffer and tokens are found by scanning it directly, so
+ * the only objects created are the Strings returned by next(); nextInt() parses
+ * the number in place.
+ *
+ * Like Scanner, a line ends at \r\n or at any one of \n, \r, \u2028, \u2029, or
+ * \u0085, and an IOException while reading is treated as the end of the file
+ * and kept for ioException(), so callers can tell a failed read from a short file.
+ * Within a line, one comma is skipped before each token and the token runs to
+ * the next comma, so two commas in a row give an empty token but a single
+ * comma at the end of the line does not.
+ */
+class RecordTokenizer {
+
+	/** Initial size of the character buffer */
+	private static final int BUFFER_SIZE = 8192;
+	/** Separator between tokens */
+	private static final char DELIMITER = ',';
+
+	/** Source of the records, or null if they were all given up front */
+	private Reader in;
+	/** Characters read from the source, which grows to hold the longest line */
+	private char[] buffer;
+	/** Number of characters in the buffer */
+	private int limit;
+	/** True once the source has no more characters */
+	private boolean eof;
+	/** Exception that ended reading the source, or null if none did */
+	private IOException ioException;
+	/** Position of the first character after the current line and its separator */
+	private int nextLine;
+	/** Position of the first character of the current line */
+	private int lineStart;
+	/** Position just after the last character of the current line */
+	private int lineEnd;
+	/** Position in the current line where the search for the next token starts */
+	private int position;
+	/** Number of the current line, counting from 1 */
+	private int lineNumber;
+
+	/**
+	 * Constructs a tokenizer reading records from the given source.
+	 *
+	 * @param in source of the records
+	 */
+	RecordTokenizer(Reader in) {
+		this.in = in;
+		this.buffer = new char[BUFFER_SIZE];
+	}
+
+	/**
+	 * Constructs a tokenizer reading records from characters already in memory.
+	 * The tokenizer uses the array as its buffer rather than copying it.
+	 *
+	 * @param chars  characters to read
+	 * @param length number of characters at the start of the array to read
+	 */
+	RecordTokenizer(char[] chars, int length) {
+		this.buffer = chars;
+		this.limit = length;
+		this.eof = true;
+	}
+
+	/**
+	 * Moves to the next line of the source.
+	 *
+	 * @return true if there was another line, or false at the end of the source
+	 */
+	boolean nextLine() {
+		int scan = nextLine;
+		while (true) {
+			for (int i = scan; i < limit; i++) {
+				char c = buffer[i];
+				if (c == '\n' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+					return startLine(nextLine, i, i + 1);
+				}
+				if (c == '\r') {
+					// Need the next character to know if this is \r\n
+					if (i + 1 == limit && !eof) {
+						break;
+					}
+					return startLine(nextLine, i, i + 1 < limit && buffer[i + 1] == '\n' ? i + 2 : i + 1);
+				}
+				scan = i + 1;
+			}
+			if (eof) {
+				return nextLine < limit && startLine(nextLine, limit, limit);
+			}
+			int shift = fill();
+			scan -= shift;
+		}
+	}
+
+	/**
+	 * Returns true if the current line has another token.
+	 *
+	 * @return true if next() would return a token
+	 */
+	boolean hasNext() {
+		return tokenStart() < lineEnd;
+	}
+
+	/**
+	 * Returns the next token of the current line.
+	 *
+	 * @return the next token, which may be empty
+	 * @throws NoSuchElementException if the line has no more tokens
+	 */
+	String next() {
+		int start = tokenStart();
+		if (start >= lineEnd) {
+			throw new NoSuchElementException();
+		}
+		int end = tokenEnd(start);
+		position = end;
+		return new String(buffer, start, end - start);
+	}
+
+	/**
+	 * Returns the next token of the current line as an int. As with Scanner, the
+	 * token may have a leading + or - sign followed by decimal digits, including
+	 * digits from other scripts. The token is only used up if it is an int.
+	 *
+	 * @return the next token as an int
+	 * @throws InputMismatchException   if the next token is not an int
+	 * @throws NoSuchElementException if the line has no more tokens
+	 */
+	int nextInt() {
+		int start = tokenStart();
+		if (start >= lineEnd) {
+			throw new NoSuchElementException();
+		}
+		int end = tokenEnd(start);
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+			negative = buffer[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new InputMismatchException();
+		}
+		// Accumulate as a negative number so Integer.MIN_VALUE fits
+		int value = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(buffer[i], 10);
+			if (digit < 0 || value < (Integer.MIN_VALUE + digit) / 10) {
+				throw new InputMismatchException();
+			}
+			value = value * 10 - digit;
+		}
+		if (!negative) {
+			if (value == Integer.MIN_VALUE) {
+				throw new InputMismatchException();
+			}
+			value = -value;
+		}
+		position = end;
+		return value;
+	}
+
+	/**
+	 * Returns the whole of the current line, without its separator.
+	 *
+	 * @return the current line
+	 */
+	String line() {
+		return new String(buffer, lineStart, lineEnd - lineStart);
+	}
+
+	/**
+	 * Returns the number of the current line, counting from 1 at the start of
+	 * the source.
+	 *
+	 * @return the line number, or 0 before the first line
+	 */
+	int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Returns the IOException that ended reading the source, as Scanner does.
+	 *
+	 * @return the exception, or null if the source was read to its end
+	 */
+	IOException ioException() {
+		return ioException;
+	}
+
+	/**
+	 * Closes the source, if there is one.
+	 */
+	void close() {
+		if (in == null) {
+			return;
+		}
+		try {
+			in.close();
+		} catch (IOException e) {
+			// Nothing more can be read either way
+		}
+	}
+
+	/**
+	 * Makes the characters from start to end the current line.
+	 *
+	 * @param start position of the first character of the line
+	 * @param end   position just after the last character of the line
+	 * @param next  position of the first character of the following line
+	 * @return true
+	 */
+	private boolean startLine(int start, int end, int next) {
+		lineNumber++;
+		lineStart = start;
+		lineEnd = end;
+		position = start;
+		nextLine = next;
+		return true;
+	}
+
+	/**
+	 * Returns where the next token starts, after skipping one comma.
+	 *
+	 * @return position of the next token
+	 */
+	private int tokenStart() {
+		return position < lineEnd && buffer[position] == DELIMITER ? position + 1 : position;
+	}
+
+	/**
+	 * Returns where a token that starts at the given position ends.
+	 *
+	 * @param start position of the first character of the token
+	 * @return position of the comma or line end after the token
+	 */
+	private int tokenEnd(int start) {
+		int end = start;
+		while (end < lineEnd && buffer[end] != DELIMITER) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Reads more characters from the source, first moving the unread part of the
+	 * buffer to the front and growing the buffer if the unread part fills it.
+	 *
+	 * @return number of positions the unread characters moved toward the front
+	 */
+	private int fill() {
+		int shift = nextLine;
+		int unread = limit - nextLine;
+		if (unread == buffer.length) {
+			char[] larger = new char[buffer.length * 2];
+			System.arraycopy(buffer, nextLine, larger, 0, unread);
+			buffer = larger;
+		} else {
+			System.arraycopy(buffer, nextLine, buffer, 0, unread);
+		}
+		limit = unread;
+		nextLine = 0;
+		lineStart -= shift;
+		lineEnd -= shift;
+		position -= shift;
+		try {
+			int read = in.read(buffer, limit, buffer.length - limit);
+			if (read < 0) {
+				eof = true;
+			} else {
+				limit += read;
+			}
+		} catch (IOException e) {
+			ioException = e;
+			eof = true;
+		}
+		return shift;
+	}
+}
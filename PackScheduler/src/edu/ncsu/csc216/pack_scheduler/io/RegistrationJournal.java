@@ -0,0 +1,402 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of the registration operations made since the catalog
+ * and directories were last saved. Replaying the journal on top of the last
+ * snapshot brings back every operation that was committed to it.
+ *
+ * Each operation is one line of comma separated fields: a code for the
+ * operation, the id of the user, and the name and section of the Course when
+ * the operation has one. Operations are appended to a buffer and written by
+ * commit(). A commit writes and forces every operation appended so far in one
+ * sequential write, so threads that commit at the same time share a single
+ * write to the disk. A line is only complete once its newline is written, so a
+ * line cut short by a crash is ignored when the journal is read and removed
+ * when it is next opened.
+ */
+public class RegistrationJournal implements AutoCloseable {
+
+	/** Size of the window read while looking for the last complete line */
+	private static final int WINDOW_SIZE = 4096;
+
+	/**
+	 * Operations recorded in the journal.
+	 */
+	public enum Operation {
+		/** A student enrolled in a Course */
+		ENROLL('E', true),
+		/** A student dropped a Course */
+		DROP('D', true),
+		/** A student's schedule was reset */
+		RESET_SCHEDULE('R', false),
+		/** A faculty member was added to a Course */
+		ADD_FACULTY('A', true),
+		/** A faculty member was removed from a Course */
+		REMOVE_FACULTY('X', true),
+		/** A faculty member's schedule was reset */
+		RESET_FACULTY_SCHEDULE('F', false);
+
+		/** Code written for the operation */
+		private final char code;
+		/** Whether the operation is on a Course */
+		private final boolean hasCourse;
+
+		/**
+		 * Constructs an Operation.
+		 *
+		 * @param code      code written for the operation
+		 * @param hasCourse whether the operation is on a Course
+		 */
+		Operation(char code, boolean hasCourse) {
+			this.code = code;
+			this.hasCourse = hasCourse;
+		}
+
+		/**
+		 * Returns the operation written with a code.
+		 *
+		 * @param code code of the operation
+		 * @return the operation
+		 * @throws IllegalArgumentException if no operation has the code
+		 */
+		static Operation of(String code) {
+			for (Operation op : values()) {
+				if (code.length() == 1 && code.charAt(0) == op.code) {
+					return op;
+				}
+			}
+			throw new IllegalArgumentException("Invalid journal operation.");
+		}
+	}
+
+	/**
+	 * An operation read back from a journal.
+	 */
+	public static class Entry {
+		/** Operation made */
+		private final Operation operation;
+		/** Id of the student or faculty member */
+		private final String userId;
+		/** Name of the Course, or null if the operation has none */
+		private final String name;
+		/** Section of the Course, or null if the operation has none */
+		private final String section;
+
+		/**
+		 * Constructs an Entry.
+		 *
+		 * @param operation operation made
+		 * @param userId    id of the student or faculty member
+		 * @param name      name of the Course, or null
+		 * @param section   section of the Course, or null
+		 */
+		Entry(Operation operation, String userId, String name, String section) {
+			this.operation = operation;
+			this.userId = userId;
+			this.name = name;
+			this.section = section;
+		}
+
+		/**
+		 * Returns the operation made.
+		 *
+		 * @return the operation
+		 */
+		public Operation getOperation() {
+			return operation;
+		}
+
+		/**
+		 * Returns the id of the student or faculty member.
+		 *
+		 * @return the user's id
+		 */
+		public String getUserId() {
+			return userId;
+		}
+
+		/**
+		 * Returns the name of the Course.
+		 *
+		 * @return the Course name, or null if the operation has no Course
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the section of the Course.
+		 *
+		 * @return the Course section, or null if the operation has no Course
+		 */
+		public String getSection() {
+			return section;
+		}
+	}
+
+	/** Journal file */
+	private FileChannel channel;
+	/** Lines appended but not yet written */
+	private StringBuilder pending;
+	/** Number of operations appended */
+	private long appended;
+	/** Number of operations written and forced to disk */
+	private long committed;
+	/** Held by the one thread writing to the file at a time */
+	private final Object commitLock = new Object();
+	/** Failure of a write that may have left part of a batch in the file, or null */
+	private volatile IOException failure;
+
+	/**
+	 * Opens a journal for appending, creating it if it does not exist. A line
+	 * left incomplete by a crash is removed.
+	 *
+	 * @param fileName journal file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public RegistrationJournal(String fileName) throws IOException {
+		channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.READ);
+		try {
+			channel.truncate(endOfLastLine(channel));
+			channel.position(channel.size());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		pending = new StringBuilder();
+	}
+
+	/**
+	 * Reads the operations in a journal, in the order they were made. A missing
+	 * journal has no operations. Lines that are not valid operations, including
+	 * a last line cut short, are skipped.
+	 *
+	 * @param fileName journal file
+	 * @return list of operations
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<Entry> readEntries(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(path);
+		} catch (NoSuchFileException e) {
+			return new ArrayList<>();
+		}
+		int length = bytes.length;
+		while (length > 0 && bytes[length - 1] != '\n') {
+			length--;
+		}
+		char[] chars = new String(bytes, 0, length, StandardCharsets.UTF_8).toCharArray();
+		RecordTokenizer tokenizer = new RecordTokenizer(chars, chars.length);
+		List<Entry> entries = new ArrayList<>();
+		while (tokenizer.nextLine()) {
+			try {
+				entries.add(readEntry(tokenizer));
+			} catch (IllegalArgumentException e) {
+				// The line is invalid, skip it
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Reads an operation from the current line of a tokenizer.
+	 *
+	 * @param tokenizer tokenizer positioned at the line
+	 * @return the operation
+	 * @throws IllegalArgumentException if the line is not a valid operation
+	 */
+	private static Entry readEntry(RecordTokenizer tokenizer) {
+		if (!tokenizer.hasNext()) {
+			throw new IllegalArgumentException("Invalid journal operation.");
+		}
+		Operation op = Operation.of(tokenizer.next());
+		String userId = nextField(tokenizer);
+		String name = null;
+		String section = null;
+		if (op.hasCourse) {
+			name = nextField(tokenizer);
+			section = nextField(tokenizer);
+		}
+		if (tokenizer.hasNext()) {
+			throw new IllegalArgumentException("Invalid journal operation.");
+		}
+		return new Entry(op, userId, name, section);
+	}
+
+	/**
+	 * Returns the next field of a line.
+	 *
+	 * @param tokenizer tokenizer positioned at the line
+	 * @return the field
+	 * @throws IllegalArgumentException if the line has no more fields
+	 */
+	private static String nextField(RecordTokenizer tokenizer) {
+		if (!tokenizer.hasNext()) {
+			throw new IllegalArgumentException("Invalid journal operation.");
+		}
+		return tokenizer.next();
+	}
+
+	/**
+	 * Appends an operation on a Course. It is not written to the file until
+	 * commit() is called with the returned number or a later one.
+	 *
+	 * @param op      operation made
+	 * @param userId  id of the student or faculty member
+	 * @param name    name of the Course
+	 * @param section section of the Course
+	 * @return number of the operation in the journal
+	 */
+	public synchronized long append(Operation op, String userId, String name, String section) {
+		pending.append(op.code).append(',').append(userId);
+		if (op.hasCourse) {
+			pending.append(',').append(name).append(',').append(section);
+		}
+		pending.append('\n');
+		return ++appended;
+	}
+
+	/**
+	 * Appends an operation that has no Course, such as a reset schedule.
+	 *
+	 * @param op     operation made
+	 * @param userId id of the student or faculty member
+	 * @return number of the operation in the journal
+	 */
+	public long append(Operation op, String userId) {
+		return append(op, userId, null, null);
+	}
+
+	/**
+	 * Makes sure an operation and every one before it is on disk. If another
+	 * thread's commit already covered the operation, this returns without
+	 * writing; otherwise everything appended so far is written and forced in one
+	 * batch. The batch stays appended until it is on disk. If it cannot be
+	 * written, the file may hold part of it, so the journal fails: this commit
+	 * and every later one throws until clear() empties the file.
+	 *
+	 * @param number number of the operation returned by append()
+	 * @throws IOException if the journal cannot be written or has failed
+	 */
+	public void commit(long number) throws IOException {
+		synchronized (commitLock) {
+			if (committed >= number) {
+				return;
+			}
+			if (failure != null) {
+				throw new IOException("The journal has failed.", failure);
+			}
+			byte[] batch;
+			int length;
+			long last;
+			synchronized (this) {
+				batch = pending.toString().getBytes(StandardCharsets.UTF_8);
+				length = pending.length();
+				last = appended;
+			}
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(batch);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			} catch (IOException e) {
+				failure = e;
+				throw e;
+			}
+			synchronized (this) {
+				pending.delete(0, length);
+			}
+			committed = last;
+		}
+	}
+
+	/**
+	 * Returns true if a commit has failed since the journal was opened or last
+	 * emptied, so operations appended since then may not be on disk.
+	 *
+	 * @return true if the journal has failed
+	 */
+	public boolean hasFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * Empties the journal, after the catalog and directories have been saved
+	 * with every operation in it. No operation may be appended while this runs.
+	 * A journal that failed works again once it is emptied.
+	 *
+	 * @throws IOException if the journal cannot be emptied
+	 */
+	public void clear() throws IOException {
+		synchronized (commitLock) {
+			channel.truncate(0);
+			channel.force(true);
+			synchronized (this) {
+				pending.setLength(0);
+				committed = appended;
+			}
+			failure = null;
+		}
+	}
+
+	/**
+	 * Commits every appended operation and closes the journal.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			long last;
+			synchronized (this) {
+				last = appended;
+			}
+			commit(last);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Returns the position just after the last newline in a file.
+	 *
+	 * @param channel file to search
+	 * @return position after the last newline, or 0 if there is none
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long endOfLastLine(FileChannel channel) throws IOException {
+		ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE);
+		long end = channel.size();
+		while (end > 0) {
+			long start = Math.max(0, end - WINDOW_SIZE);
+			window.clear();
+			window.limit((int) (end - start));
+			while (window.hasRemaining() && channel.read(window, start + window.position()) >= 0) {
+				// Read the whole window
+			}
+			for (int i = window.position() - 1; i >= 0; i--) {
+				if (window.get(i) == '\n') {
+					return start + i + 1;
+				}
+			}
+			end = start;
+		}
+		return 0;
+	}
+}
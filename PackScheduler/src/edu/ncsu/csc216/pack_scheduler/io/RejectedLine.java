@@ -0,0 +1,60 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * A line of a record file that could not be read as a record, with the reason
+ * it was rejected.
+ */
+public class RejectedLine {
+
+	/** Number of the line in the file, counting from 1 */
+	private final int lineNumber;
+	/** Text of the line */
+	private final String line;
+	/** Why the line was rejected */
+	private final String reason;
+
+	/**
+	 * Constructs a RejectedLine.
+	 *
+	 * @param lineNumber number of the line in the file, counting from 1
+	 * @param line       text of the line
+	 * @param reason     why the line was rejected
+	 */
+	public RejectedLine(int lineNumber, String line, String reason) {
+		this.lineNumber = lineNumber;
+		this.line = line;
+		this.reason = reason;
+	}
+
+	/**
+	 * Returns the number of the line in the file.
+	 *
+	 * @return the line number, counting from 1
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Returns the text of the line.
+	 *
+	 * @return the line
+	 */
+	public String getLine() {
+		return line;
+	}
+
+	/**
+	 * Returns why the line was rejected.
+	 *
+	 * @return the reason
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		return "Line " + lineNumber + ": " + reason + ": " + line;
+	}
+}
@@ -0,0 +1,171 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Reads and writes roster files, which record who is enrolled in and
+ * waitlisted for each Course. Each line holds one Course's roster: its name and
+ * section, the number of enrolled students, the ids of the enrolled students in
+ * the order they enrolled, and then the ids of the waitlisted students in the
+ * order they will be enrolled.
+ *
+ * CSC216,001,2,efrost,ahicks,zking
+ *
+ * Courses with no enrolled or waitlisted students are not written.
+ */
+public class RosterRecordIO {
+
+	/**
+	 * Reads the rosters in a roster file. Invalid lines are skipped.
+	 *
+	 * @param fileName file to read rosters from
+	 * @return list of rosters in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static List<Roster> readRosters(String fileName) throws FileNotFoundException {
+		return ParallelRecordReader.readRecords(fileName, RosterRecordIO::readRoster);
+	}
+
+	/**
+	 * Reads the current line of a tokenizer as a roster.
+	 *
+	 * @param scnr tokenizer positioned at the line to read
+	 * @return the roster on the line
+	 * @throws IllegalArgumentException if the line is not a valid roster
+	 */
+	private static Roster readRoster(RecordTokenizer scnr) {
+		try {
+			String name = scnr.next();
+			String section = scnr.next();
+			int enrolledCount = scnr.nextInt();
+			List<String> ids = new ArrayList<String>();
+			while (scnr.hasNext()) {
+				String id = scnr.next();
+				if (id.isEmpty()) {
+					throw new IllegalArgumentException("Invalid id in roster record.");
+				}
+				ids.add(id);
+			}
+			if (name.isEmpty() || section.isEmpty() || enrolledCount < 0 || enrolledCount > ids.size()) {
+				throw new IllegalArgumentException("Invalid roster record.");
+			}
+			String[] enrolled = ids.subList(0, enrolledCount).toArray(new String[0]);
+			String[] waitlisted = ids.subList(enrolledCount, ids.size()).toArray(new String[0]);
+			return new Roster(name, section, enrolled, waitlisted);
+		} catch (InputMismatchException e) {
+			throw new IllegalArgumentException("Invalid number in roster record.");
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException("Missing fields in roster record.");
+		}
+	}
+
+	/**
+	 * Writes the roster of each of the given Courses that has enrolled or
+	 * waitlisted students to a file. The file is replaced only once every roster
+	 * has been written, so a failed write leaves the old file intact.
+	 *
+	 * @param fileName file to write the rosters to
+	 * @param courses  Courses whose rosters are written
+	 * @return number of rosters and bytes written
+	 * @throws IOException if the file cannot be written
+	 */
+	public static WriteResult writeRosters(String fileName, List<Course> courses) throws IOException {
+		try (RecordFileWriter fileWriter = new RecordFileWriter(fileName)) {
+			StringBuilder line = new StringBuilder();
+			for (Course c : courses) {
+				CourseRoll roll = c.getCourseRoll();
+				Student[] enrolled = roll.getEnrolledStudents();
+				Student[] waitlisted = roll.getWaitlistedStudents();
+				if (enrolled.length == 0 && waitlisted.length == 0) {
+					continue;
+				}
+				line.setLength(0);
+				line.append(c.getName()).append(',').append(c.getSection()).append(',').append(enrolled.length);
+				for (Student s : enrolled) {
+					line.append(',').append(s.getId());
+				}
+				for (Student s : waitlisted) {
+					line.append(',').append(s.getId());
+				}
+				fileWriter.writeRecord(line);
+			}
+			return fileWriter.commit();
+		}
+	}
+
+	/**
+	 * The enrolled and waitlisted student ids of one Course, as read from a
+	 * roster file.
+	 */
+	public static class Roster {
+		/** Name of the Course */
+		private final String name;
+		/** Section of the Course */
+		private final String section;
+		/** Ids of the enrolled students, in the order they enrolled */
+		private final String[] enrolledIds;
+		/** Ids of the waitlisted students, in the order they will be enrolled */
+		private final String[] waitlistedIds;
+
+		/**
+		 * Constructs a Roster.
+		 *
+		 * @param name          name of the Course
+		 * @param section       section of the Course
+		 * @param enrolledIds   ids of the enrolled students
+		 * @param waitlistedIds ids of the waitlisted students
+		 */
+		public Roster(String name, String section, String[] enrolledIds, String[] waitlistedIds) {
+			this.name = name;
+			this.section = section;
+			this.enrolledIds = enrolledIds;
+			this.waitlistedIds = waitlistedIds;
+		}
+
+		/**
+		 * Returns the name of the Course.
+		 *
+		 * @return the name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the section of the Course.
+		 *
+		 * @return the section
+		 */
+		public String getSection() {
+			return section;
+		}
+
+		/**
+		 * Returns the ids of the enrolled students, in the order they enrolled.
+		 *
+		 * @return array of ids
+		 */
+		public String[] getEnrolledIds() {
+			return enrolledIds.clone();
+		}
+
+		/**
+		 * Returns the ids of the waitlisted students, in the order they will be
+		 * enrolled.
+		 *
+		 * @return array of ids
+		 */
+		public String[] getWaitlistedIds() {
+			return waitlistedIds.clone();
+		}
+	}
+}
@@ -0,0 +1,493 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+
+/**
+ * Reads and writes binary snapshots of the course catalog, student directory,
+ * and faculty directory, which load much faster than the text record files.
+ * The record files remain the format for exchanging data with other systems.
+ *
+ * A snapshot starts with a header of a magic number, the format version, a
+ * byte for the kind of record it holds, and the number of records. Each record
+ * is written as its length in bytes followed by its fields, so a reader can
+ * skip fields added to the end of a record by a later version. Strings are
+ * written as UTF-8, prefixed by their length in bytes.
+ *
+ * Course records hold the ids of the students enrolled and waitlisted, in roll
+ * order, and the id of the instructor. They are matched to the students and
+ * faculty in the directories when the catalog is loaded.
+ */
+public class SnapshotIO {
+
+	/** First four bytes of every snapshot, "PSNP" */
+	private static final int MAGIC = 0x50534E50;
+	/** Version of the format written */
+	private static final int VERSION = 1;
+	/** Kind byte for a course catalog snapshot */
+	private static final byte COURSES = 'C';
+	/** Kind byte for a student directory snapshot */
+	private static final byte STUDENTS = 'S';
+	/** Kind byte for a faculty directory snapshot */
+	private static final byte FACULTY = 'F';
+	/** Size of the file buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Writes the Courses, with their rolls and waitlists, to a snapshot file.
+	 *
+	 * @param fileName file to write the snapshot to
+	 * @param courses  Courses to write
+	 * @return number of records and bytes written
+	 * @throws IOException if the file cannot be written
+	 */
+	public static WriteResult writeCourseSnapshot(String fileName, List<Course> courses) throws IOException {
+		try (SnapshotWriter writer = new SnapshotWriter(fileName, COURSES, courses.size())) {
+			for (Course c : courses) {
+				DataOutputStream record = writer.startRecord();
+				writeString(record, c.getName());
+				writeString(record, c.getTitle());
+				writeString(record, c.getSection());
+				record.writeByte(c.getCredits());
+				record.writeBoolean(c.getInstructorId() != null);
+				if (c.getInstructorId() != null) {
+					writeString(record, c.getInstructorId());
+				}
+				record.writeShort(c.getCourseRoll().getEnrollmentCap());
+				writeString(record, c.getMeetingDays());
+				record.writeShort(c.getStartTime());
+				record.writeShort(c.getEndTime());
+				writeIds(record, c.getCourseRoll().getEnrolledStudents());
+				writeIds(record, c.getCourseRoll().getWaitlistedStudents());
+				writer.endRecord();
+			}
+			return writer.commit();
+		}
+	}
+
+	/**
+	 * Reads the Courses from a snapshot file in the order they were written. Each
+	 * Course's instructor is assigned if they are in the faculty directory, and
+	 * each enrolled or waitlisted student in the student directory is enrolled
+	 * again in roll order and has the Course added back to their schedule.
+	 *
+	 * @param fileName file to read the snapshot from
+	 * @param students directory to find enrolled students in
+	 * @param faculty  directory to find instructors in
+	 * @return list of the Courses
+	 * @throws IOException if the file cannot be read or is not a course snapshot
+	 */
+	public static List<Course> readCourseSnapshot(String fileName, StudentDirectory students, FacultyDirectory faculty)
+			throws IOException {
+		try (SnapshotReader reader = new SnapshotReader(fileName, COURSES)) {
+			List<Course> courses = new ArrayList<Course>(Math.min(reader.count, BUFFER_SIZE));
+			for (int i = 0; i < reader.count; i++) {
+				reader.nextRecord();
+				String name = reader.readString();
+				String title = reader.readString();
+				String section = reader.readString();
+				int credits = reader.readByte();
+				String instructorId = reader.readBoolean() ? reader.readString() : null;
+				int enrollmentCap = reader.readShort();
+				String meetingDays = reader.readString();
+				int startTime = reader.readShort();
+				int endTime = reader.readShort();
+
+				Course course;
+				try {
+					course = new Course(name, title, section, credits, null, enrollmentCap, meetingDays, startTime,
+							endTime);
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Invalid course in snapshot.");
+				}
+				Faculty instructor = instructorId == null ? null : faculty.getFacultyById(instructorId);
+				if (instructor != null) {
+					try {
+						instructor.getSchedule().addCourseToSchedule(course);
+					} catch (IllegalArgumentException e) {
+						// The instructor's schedule has changed, leave the Course unassigned
+					}
+				}
+				enroll(course, readIds(reader), students);
+				enroll(course, readIds(reader), students);
+				courses.add(course);
+			}
+			return courses;
+		}
+	}
+
+	/**
+	 * Writes the students to a snapshot file.
+	 *
+	 * @param fileName file to write the snapshot to
+	 * @param students students to write
+	 * @return number of records and bytes written
+	 * @throws IOException if the file cannot be written
+	 */
+	public static WriteResult writeStudentSnapshot(String fileName, List<Student> students) throws IOException {
+		try (SnapshotWriter writer = new SnapshotWriter(fileName, STUDENTS, students.size())) {
+			for (Student s : students) {
+				DataOutputStream record = writer.startRecord();
+				writeString(record, s.getFirstName());
+				writeString(record, s.getLastName());
+				writeString(record, s.getId());
+				writeString(record, s.getEmail());
+				writeString(record, s.getPassword());
+				record.writeByte(s.getMaxCredits());
+				writer.endRecord();
+			}
+			return writer.commit();
+		}
+	}
+
+	/**
+	 * Reads the students from a snapshot file in the order they were written.
+	 *
+	 * @param fileName file to read the snapshot from
+	 * @return list of the students
+	 * @throws IOException if the file cannot be read or is not a student snapshot
+	 */
+	public static List<Student> readStudentSnapshot(String fileName) throws IOException {
+		try (SnapshotReader reader = new SnapshotReader(fileName, STUDENTS)) {
+			List<Student> students = new ArrayList<Student>(Math.min(reader.count, BUFFER_SIZE));
+			for (int i = 0; i < reader.count; i++) {
+				reader.nextRecord();
+				try {
+					students.add(new Student(reader.readString(), reader.readString(), reader.readString(), reader.readString(),
+							reader.readString(), reader.readByte()));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Invalid student in snapshot.");
+				}
+			}
+			return students;
+		}
+	}
+
+	/**
+	 * Writes the faculty to a snapshot file.
+	 *
+	 * @param fileName file to write the snapshot to
+	 * @param faculty  faculty to write
+	 * @return number of records and bytes written
+	 * @throws IOException if the file cannot be written
+	 */
+	public static WriteResult writeFacultySnapshot(String fileName, List<Faculty> faculty) throws IOException {
+		try (SnapshotWriter writer = new SnapshotWriter(fileName, FACULTY, faculty.size())) {
+			for (Faculty f : faculty) {
+				DataOutputStream record = writer.startRecord();
+				writeString(record, f.getFirstName());
+				writeString(record, f.getLastName());
+				writeString(record, f.getId());
+				writeString(record, f.getEmail());
+				writeString(record, f.getPassword());
+				record.writeByte(f.getMaxCourses());
+				writer.endRecord();
+			}
+			return writer.commit();
+		}
+	}
+
+	/**
+	 * Reads the faculty from a snapshot file in the order they were written.
+	 *
+	 * @param fileName file to read the snapshot from
+	 * @return list of the faculty
+	 * @throws IOException if the file cannot be read or is not a faculty snapshot
+	 */
+	public static LinkedList<Faculty> readFacultySnapshot(String fileName) throws IOException {
+		try (SnapshotReader reader = new SnapshotReader(fileName, FACULTY)) {
+			LinkedList<Faculty> faculty = new LinkedList<Faculty>();
+			for (int i = 0; i < reader.count; i++) {
+				reader.nextRecord();
+				try {
+					faculty.add(new Faculty(reader.readString(), reader.readString(), reader.readString(), reader.readString(),
+							reader.readString(), reader.readByte()));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Invalid faculty in snapshot.");
+				}
+			}
+			return faculty;
+		}
+	}
+
+	/**
+	 * Writes the ids of a list of students, preceded by how many there are.
+	 *
+	 * @param record   record to write to
+	 * @param students students to write the ids of
+	 * @throws IOException if the record cannot be written
+	 */
+	private static void writeIds(DataOutputStream record, Student[] students) throws IOException {
+		record.writeShort(students.length);
+		for (Student s : students) {
+			writeString(record, s.getId());
+		}
+	}
+
+	/**
+	 * Reads a list of student ids written by writeIds().
+	 *
+	 * @param reader reader positioned at the ids in the current record
+	 * @return array of the ids
+	 * @throws IOException if the record cannot be read
+	 */
+	private static String[] readIds(SnapshotReader reader) throws IOException {
+		String[] ids = new String[reader.readShort()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = reader.readString();
+		}
+		return ids;
+	}
+
+	/**
+	 * Writes a string as its length in UTF-8 bytes followed by those bytes.
+	 *
+	 * @param record record to write to
+	 * @param s      string to write
+	 * @throws IOException if the string is longer than 65535 bytes
+	 */
+	private static void writeString(DataOutputStream record, String s) throws IOException {
+		byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+		if (utf8.length > 0xFFFF) {
+			throw new IOException("String too long for a snapshot.");
+		}
+		record.writeShort(utf8.length);
+		record.write(utf8);
+	}
+
+	/**
+	 * Enrolls students in a Course in order, as enrollStudentInCourse() would,
+	 * skipping ids that are not in the directory and students who can no longer
+	 * add the Course.
+	 *
+	 * @param course   Course to enroll in
+	 * @param ids      ids of the students to enroll
+	 * @param students directory to find the students in
+	 */
+	private static void enroll(Course course, String[] ids, StudentDirectory students) {
+		CourseRoll roll = course.getCourseRoll();
+		for (String id : ids) {
+			Student s = students.getStudentById(id);
+			if (s != null && s.canAdd(course) && roll.canEnroll(s)) {
+				s.getSchedule().addCourseToSchedule(course);
+				roll.enroll(s);
+			}
+		}
+	}
+
+	/**
+	 * Writes the header of a snapshot and then its records, each prefixed by its
+	 * length. The snapshot replaces the file only when it is committed.
+	 */
+	private static class SnapshotWriter implements AutoCloseable {
+		/** Temporary file the snapshot is written to */
+		private AtomicFileOutputStream file;
+		/** Writes to the snapshot file */
+		private DataOutputStream out;
+		/** Bytes of the record being written */
+		private ByteArrayOutputStream buffer;
+		/** Writes the fields of the record being written */
+		private DataOutputStream record;
+		/** Number of records written */
+		private int records;
+
+		/**
+		 * Opens a snapshot file and writes its header.
+		 *
+		 * @param fileName file to write
+		 * @param kind     kind of record the snapshot holds
+		 * @param count    number of records that will be written
+		 * @throws IOException if the file cannot be written
+		 */
+		SnapshotWriter(String fileName, byte kind, int count) throws IOException {
+			file = new AtomicFileOutputStream(fileName);
+			out = new DataOutputStream(file);
+			buffer = new ByteArrayOutputStream();
+			record = new DataOutputStream(buffer);
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeByte(kind);
+			out.writeInt(count);
+		}
+
+		/**
+		 * Starts a new record.
+		 *
+		 * @return stream to write the fields of the record to
+		 */
+		DataOutputStream startRecord() {
+			buffer.reset();
+			return record;
+		}
+
+		/**
+		 * Writes the record's length and fields to the file.
+		 *
+		 * @throws IOException if the file cannot be written
+		 */
+		void endRecord() throws IOException {
+			out.writeInt(buffer.size());
+			buffer.writeTo(out);
+			records++;
+		}
+
+		/**
+		 * Replaces the target file with the snapshot.
+		 *
+		 * @return number of records and bytes written
+		 * @throws IOException if the file cannot be written or renamed
+		 */
+		WriteResult commit() throws IOException {
+			file.commit();
+			return new WriteResult(records, file.getBytesWritten());
+		}
+
+		@Override
+		public void close() throws IOException {
+			file.close();
+		}
+	}
+
+	/**
+	 * Checks the header of a snapshot and then reads its records one at a time.
+	 */
+	private static class SnapshotReader implements AutoCloseable {
+		/** Snapshot file */
+		private DataInputStream in;
+		/** Number of records in the snapshot */
+		private int count;
+		/** Bytes of the current record, reused between records */
+		private byte[] bytes;
+		/** Position of the next field in the current record */
+		private int position;
+		/** Length of the current record */
+		private int end;
+
+		/**
+		 * Opens a snapshot file and checks its header.
+		 *
+		 * @param fileName file to read
+		 * @param kind     kind of record the snapshot must hold
+		 * @throws IOException if the file cannot be read or is not a snapshot of the given kind
+		 */
+		SnapshotReader(String fileName, byte kind) throws IOException {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE));
+			bytes = new byte[256];
+			try {
+				if (in.readInt() != MAGIC) {
+					throw new IOException(fileName + " is not a snapshot.");
+				}
+				int version = in.readShort();
+				if (version != VERSION) {
+					throw new IOException(fileName + " has unsupported snapshot version " + version + ".");
+				}
+				if (in.readByte() != kind) {
+					throw new IOException(fileName + " holds a different kind of snapshot.");
+				}
+				count = in.readInt();
+			} catch (IOException e) {
+				in.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Reads the next record into the record buffer, where its fields are read
+		 * from in order. Fields left unread at the end of a record are skipped.
+		 *
+		 * @throws IOException if the file cannot be read
+		 */
+		void nextRecord() throws IOException {
+			int length = in.readInt();
+			if (length < 0) {
+				throw new IOException("Invalid record length.");
+			}
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, bytes.length * 2)];
+			}
+			in.readFully(bytes, 0, length);
+			position = 0;
+			end = length;
+		}
+
+		/**
+		 * Reads a signed byte of the current record.
+		 *
+		 * @return the byte
+		 * @throws IOException if the record has no more bytes
+		 */
+		int readByte() throws IOException {
+			require(1);
+			return bytes[position++];
+		}
+
+		/**
+		 * Reads a boolean of the current record.
+		 *
+		 * @return the boolean
+		 * @throws IOException if the record has no more bytes
+		 */
+		boolean readBoolean() throws IOException {
+			return readByte() != 0;
+		}
+
+		/**
+		 * Reads a signed short of the current record.
+		 *
+		 * @return the short
+		 * @throws IOException if the record has fewer than two bytes left
+		 */
+		int readShort() throws IOException {
+			require(2);
+			int value = (short) (((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF));
+			position += 2;
+			return value;
+		}
+
+		/**
+		 * Reads a string written by writeString() from the current record.
+		 *
+		 * @return the string
+		 * @throws IOException if the record ends before the string does
+		 */
+		String readString() throws IOException {
+			int length = readShort() & 0xFFFF;
+			require(length);
+			String s = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return s;
+		}
+
+		/**
+		 * Checks that the current record has a number of bytes left.
+		 *
+		 * @param n number of bytes needed
+		 * @throws IOException if the record has fewer bytes left
+		 */
+		private void require(int n) throws IOException {
+			if (end - position < n) {
+				throw new IOException("Truncated record.");
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+}
@@ -1,12 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.function.Consumer;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc217.collections.list.SortedList;
@@ -33,32 +31,56 @@ public class StudentRecordIO {
 
 		//Create an empty list of Student objects
 		SortedList<Student> students = new SortedList<>();
-		//Create a file scanner to read the file
-		Scanner scnr = new Scanner(new FileInputStream(fileName));
 
-		//While there are more lines, read the line, process it in processStudent, and get the object, then add student
-		while (scnr.hasNextLine()) {
+		//Add each student read from the file, skipping duplicates
+		for (Student student : readStudentList(fileName)) {
 			try {
-				Student student = processStudent(scnr.nextLine());
 				students.add(student);
 			} catch (IllegalArgumentException e) {
-				//Invalid student object, skipped line.
+				//Duplicate student object, skipped line.
 			}
 		}
-		scnr.close();
 		return students;
 	}
 
 	/**
-	 * Takes line input from inputed file and converts contents into a student object.
+	 * Reads student records from a file and returns every valid Student in file
+	 * order. Invalid lines are skipped but duplicates are kept, so callers that
+	 * sort the students themselves can drop duplicates in the same pass. Large
+	 * files are parsed in parallel.
 	 *
-	 * @param nextLine inputed line from file given
+	 * @param fileName inputed name for file of input
+	 * @return a list of valid students in file order
+	 * @throws FileNotFoundException for inputed files that are not accessible
+	 */
+	public static List<Student> readStudentList(String fileName) throws FileNotFoundException {
+		return ParallelRecordReader.readRecords(fileName, StudentRecordIO::processStudent);
+	}
+
+	/**
+	 * Opens a student record file to be read one student at a time, in file order.
+	 * Each invalid line is passed to the listener with its line number and the reason
+	 * it was rejected.  Duplicates are not dropped.  The reader must be closed once
+	 * done with.
+	 *
+	 * @param fileName inputed name for file of input
+	 * @param rejected told about each invalid line, or null to skip them silently
+	 * @return reader of the valid students in the file
+	 * @throws FileNotFoundException for inputed files that are not accessible
+	 */
+	public static RecordReader<Student> streamStudentRecords(String fileName, Consumer<RejectedLine> rejected)
+			throws FileNotFoundException {
+		return new RecordReader<>(fileName, StudentRecordIO::processStudent, rejected);
+	}
+
+	/**
+	 * Takes the current line of the inputed file and converts its contents into a student object.
+	 *
+	 * @param scnr tokenizer positioned at the line to convert
 	 * @throws IllegalArgumentException if NoSuchElementException is caught 
 	 * @return Student object
 	 */
-	private static Student processStudent(String nextLine) {
-		Scanner scnr = new Scanner(nextLine);
-		scnr.useDelimiter(",");
+	private static Student processStudent(RecordTokenizer scnr) {
  	   //read in tokens for first name, last name, id, email, password, and max credits in local variables
 		try {
 			String fName = scnr.next();
@@ -68,34 +90,51 @@ public class StudentRecordIO {
 			String pWord = scnr.next();
 			int maxCredits = scnr.nextInt();
 			Student student = new Student(fName, lName, id, email, pWord, maxCredits);
-			scnr.close();
 			return student;
 
 		} catch(NoSuchElementException e) {
-			scnr.close();
 			throw new IllegalArgumentException("invalid format");
 		}
 	}
 
 	/**
-	 * Writes the student objects into an output file
+	 * Writes the student objects into an output file.  The file is replaced only once
+	 * every student has been written, so a failed write leaves the old file intact.
 	 *
 	 * @param fileName inputed file name for output 
 	 * @param studentDirectory SortedList of students
+	 * @return number of records and bytes written
 	 * @throws IOException For invalid
 	 */
-	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-		try{
-			//writes student object to file
-			PrintStream output = new PrintStream(new File(fileName));
-
+	public static WriteResult writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
+		//writes student object to file
+		try (RecordFileWriter output = new RecordFileWriter(fileName)) {
 			for (int i = 0; i < studentDirectory.size(); i++) {
-				output.println(studentDirectory.get(i));
+				output.writeRecord(studentDirectory.get(i));
+			}
+			return output.commit();
+		} catch (IOException e) {
+			throw new IOException(fileName + " (No such file or directory)");
+		}
+	}
+
+	/**
+	 * Writes the given list of students, such as a StudentDirectory's, into an output file
+	 *
+	 * @param fileName inputed file name for output
+	 * @param students list of students to write
+	 * @return number of records and bytes written
+	 * @throws IOException For invalid
+	 */
+	public static WriteResult writeStudentRecords(String fileName, List<Student> students) throws IOException {
+		//writes student object to file
+		try (RecordFileWriter output = new RecordFileWriter(fileName)) {
+			for (Student student : students) {
+				output.writeRecord(student);
 			}
-			
-			output.close();
+			return output.commit();
 		} catch (IOException e) {
 			throw new IOException(fileName + " (No such file or directory)");
 		}
 	}
-}
\ No newline at end of file
+}
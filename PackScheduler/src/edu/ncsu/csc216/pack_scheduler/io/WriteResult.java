@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * Number of records and bytes written to a file by one of the record writers.
+ */
+public class WriteResult {
+
+	/** Number of records written */
+	private final int records;
+	/** Number of bytes written */
+	private final long bytes;
+
+	/**
+	 * Constructs a WriteResult.
+	 *
+	 * @param records number of records written
+	 * @param bytes   number of bytes written
+	 */
+	public WriteResult(int records, long bytes) {
+		this.records = records;
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Returns the number of records written.
+	 *
+	 * @return number of records
+	 */
+	public int getRecords() {
+		return records;
+	}
+
+	/**
+	 * Returns the number of bytes written.
+	 *
+	 * @return number of bytes
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return records + " records, " + bytes + " bytes";
+	}
+}
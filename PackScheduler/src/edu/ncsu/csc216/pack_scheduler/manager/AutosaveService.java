@@ -0,0 +1,198 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+
+/**
+ * Saves the course catalog and the student and faculty directories to their
+ * record files in the background as they change, so edits never wait on a save.
+ *
+ * Each watched catalog or directory counts its changes in a version number. A
+ * single background thread checks the versions once per interval and saves
+ * each one whose version moved since its last save, so any number of edits
+ * made within an interval are written in one save. The save copies the records
+ * first, so editing goes on while the file is written, and a change made during
+ * a save is picked up by the next one. A save that fails is retried at the next
+ * interval.
+ *
+ * close() stops the checks and saves any changes left, and flushOnExit() does
+ * the same when the program exits.
+ */
+public class AutosaveService implements AutoCloseable {
+
+	/** Runs the checks and saves, one at a time */
+	private final ScheduledExecutorService executor;
+	/** Catalogs and directories being saved */
+	private final List<Target> targets = new CopyOnWriteArrayList<>();
+	/** Number of saves made */
+	private volatile int saveCount;
+	/** Error from the last save that failed, or null if none has */
+	private volatile IllegalArgumentException lastError;
+
+	/**
+	 * Starts an autosave service that checks for changes once per interval.
+	 *
+	 * @param interval time between checks
+	 * @param unit     unit of the interval
+	 * @throws IllegalArgumentException if the interval is not positive
+	 */
+	public AutosaveService(long interval, TimeUnit unit) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Invalid autosave interval.");
+		}
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "autosave");
+			t.setDaemon(true);
+			return t;
+		});
+		executor.scheduleWithFixedDelay(this::saveChanges, interval, interval, unit);
+	}
+
+	/**
+	 * Saves the catalog to a record file whenever its course records change.
+	 * Enrolling and dropping change only the rolls, which the record file does
+	 * not hold, so they do not cause a save. Changes made before this call are
+	 * not saved until the next change.
+	 *
+	 * @param catalog  catalog to save
+	 * @param fileName file to save it to
+	 */
+	public void watchCatalog(CourseCatalog catalog, String fileName) {
+		targets.add(new Target(catalog::getRecordVersion, () -> catalog.saveCourseCatalog(fileName)));
+	}
+
+	/**
+	 * Saves the student directory to a record file whenever it changes. Changes
+	 * made before this call are not saved until the next change.
+	 *
+	 * @param directory directory to save
+	 * @param fileName  file to save it to
+	 */
+	public void watchStudents(StudentDirectory directory, String fileName) {
+		targets.add(new Target(directory::getVersion, () -> directory.saveStudentDirectory(fileName)));
+	}
+
+	/**
+	 * Saves the faculty directory to a record file whenever it changes. Changes
+	 * made before this call are not saved until the next change.
+	 *
+	 * @param directory directory to save
+	 * @param fileName  file to save it to
+	 */
+	public void watchFaculty(FacultyDirectory directory, String fileName) {
+		targets.add(new Target(directory::getVersion, () -> directory.saveFacultyDirectory(fileName)));
+	}
+
+	/**
+	 * Saves every change made so far without waiting for the next interval, and
+	 * returns once the saves are done.
+	 *
+	 * @throws IllegalStateException if the service has been closed
+	 */
+	public void flush() {
+		try {
+			executor.submit(this::saveChanges).get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Autosave failed.", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RejectedExecutionException e) {
+			throw new IllegalStateException("Autosave is closed.");
+		}
+	}
+
+	/**
+	 * Closes the service when the program exits, saving any changes left.
+	 */
+	public void flushOnExit() {
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close, "autosave-exit"));
+	}
+
+	/**
+	 * Returns the number of saves made.
+	 *
+	 * @return number of saves
+	 */
+	public int getSaveCount() {
+		return saveCount;
+	}
+
+	/**
+	 * Returns the error thrown by the last save that failed.
+	 *
+	 * @return the error, or null if no save has failed
+	 */
+	public IllegalArgumentException getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * Stops checking for changes, saves any changes left, and stops the
+	 * background thread. Does nothing if the service is already closed.
+	 */
+	@Override
+	public void close() {
+		if (executor.isShutdown()) {
+			return;
+		}
+		executor.shutdown();
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		saveChanges();
+	}
+
+	/**
+	 * Saves each target whose version moved since its last save.
+	 */
+	private synchronized void saveChanges() {
+		for (Target target : targets) {
+			long version = target.version.getAsLong();
+			if (version != target.savedVersion) {
+				try {
+					target.save.run();
+					target.savedVersion = version;
+					saveCount++;
+				} catch (IllegalArgumentException e) {
+					lastError = e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A catalog or directory being saved.
+	 */
+	private static class Target {
+		/** Returns the current version */
+		private final LongSupplier version;
+		/** Saves the records to their file */
+		private final Runnable save;
+		/** Version written by the last save */
+		private long savedVersion;
+
+		/**
+		 * Constructs a Target, taking its current version as saved.
+		 *
+		 * @param version returns the current version
+		 * @param save    saves the records to their file
+		 */
+		Target(LongSupplier version, Runnable save) {
+			this.version = version;
+			this.save = save;
+			this.savedVersion = version.getAsLong();
+		}
+	}
+}
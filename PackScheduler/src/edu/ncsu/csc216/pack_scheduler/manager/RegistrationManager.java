@@ -3,16 +3,20 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
 import java.util.Properties;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import edu.ncsu.csc216.pack_scheduler.catalog.CatalogDiff;
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationJournal;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationJournal.Entry;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationJournal.Operation;
+import edu.ncsu.csc216.pack_scheduler.user.Credentials;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
@@ -22,6 +26,27 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
  * Class that manages the registration of a user, the courses, and student
  * directory
  * 
+ * The GUI logs one user in at a time with login() and acts as that current
+ * user. A server instead opens a session for each user with openSession() and
+ * passes the session's token to the registration methods, so any number of
+ * users can register at once from different threads. Each operation locks the
+ * student or faculty member it changes and then the roll of the Course it
+ * changes, in that order, so operations on different students and Courses run
+ * in parallel. The operation is appended to the journal while the locks are
+ * held, so the journal replays operations on the same Course in the order they
+ * were made, and committed after they are released, so the threads waiting on
+ * the disk share one write. Operations also share the snapshot lock while they
+ * change users and Courses, which saveSnapshots() and loadRosters() hold alone
+ * while they save or restore the rolls and empty the journal, so no operation
+ * falls between the saved rolls and the journal.
+ * 
+ * An operation is made before it is committed, and by the time the commit
+ * fails other operations may already depend on it, such as a student enrolled
+ * from the waitlist after a drop. So a failed commit does not undo the
+ * operation or change its result. The journal keeps the failure instead, and
+ * isJournalFailed() reports it until saveSnapshots() saves every operation and
+ * empties the journal.
+ * 
  * @author Sarah Heckman
  * @author Neha Pothireddy
  * @author Zhonghai pu
@@ -41,10 +66,13 @@ public class RegistrationManager {
 	private User registrar;
 
 	/** User object of the current person logged in */
-	private User currentUser;
+	private volatile User currentUser;
 
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Time a session may go unused before it expires, in milliseconds */
+	private static final long SESSION_TIMEOUT = 30 * 60 * 1000;
+
+	/** Users logged in with openSession(), by session token */
+	private final SessionTable sessions = new SessionTable(SESSION_TIMEOUT);
 
 	/** string that contains the properties of the registrar file */
 	private static final String PROP_FILE = "registrar.properties";
@@ -53,6 +81,12 @@ public class RegistrationManager {
 	 */
 	private FacultyDirectory facultyDirectory;
 
+	/** Journal of registration operations since the last snapshot, or null if none is open */
+	private volatile RegistrationJournal journal;
+
+	/** Shared by registration operations, held alone while snapshots are saved or rosters loaded */
+	private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
 	/**
 	 * Creates a RegistrationManager object
 	 */
@@ -75,7 +109,7 @@ public class RegistrationManager {
 		try (InputStream input = new FileInputStream(PROP_FILE)) {
 			prop.load(input);
 
-			String hashPW = hashPW(prop.getProperty("pw"));
+			String hashPW = Credentials.hash(prop.getProperty("pw"));
 
 			registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"),
 					prop.getProperty("email"), hashPW);
@@ -84,23 +118,6 @@ public class RegistrationManager {
 		}
 	}
 
-	/**
-	 * Converts the password into a Hash password
-	 * 
-	 * @return String hash version of the password
-	 * @param pw String password
-	 * @throws IllegalArgumentException if the password cannot be hashed
-	 */
-	private String hashPW(String pw) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(pw.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-	}
-
 	/**
 	 * Returns instance
 	 * 
@@ -152,30 +169,39 @@ public class RegistrationManager {
 	 */
 	public boolean login(String id, String password) {
 
-		String localHashPW = hashPW(password);
 		if (currentUser != null) {
 			return false;
 		}
 
-		if (registrar.getId().equals(id) && registrar.getPassword().equals(localHashPW)) {
-			currentUser = registrar;
-			return true;
+		currentUser = authenticate(id, password);
+		return true;
+	}
 
+	/**
+	 * Finds the registrar, student, or faculty member with the given id and
+	 * password.
+	 * 
+	 * @param id       id of the user
+	 * @param password password given for the user
+	 * @return the user
+	 * @throws IllegalArgumentException if no user has the id and password
+	 */
+	private User authenticate(String id, String password) {
+		if (registrar.getId().equals(id) && Credentials.matches(password, registrar.getPassword())) {
+			return registrar;
 		}
 
 		if (studentDirectory != null) {
 			Student student = studentDirectory.getStudentById(id);
-			if (student != null && student.getPassword().equals(localHashPW)) {
-				currentUser = student;
-				return true;
+			if (student != null && Credentials.matches(password, student.getPassword())) {
+				return student;
 			}
 		}
 
 		if (facultyDirectory != null) {
 			Faculty faculty = facultyDirectory.getFacultyById(id);
-			if (faculty != null && faculty.getPassword().equals(localHashPW)) {
-				currentUser = faculty;
-				return true;
+			if (faculty != null && Credentials.matches(password, faculty.getPassword())) {
+				return faculty;
 			}
 		}
 		throw new IllegalArgumentException("User doesn't exist.");
@@ -189,6 +215,67 @@ public class RegistrationManager {
 		currentUser = null;
 	}
 
+	/**
+	 * Logs a user in to a session of their own, without changing the current
+	 * user. Any number of sessions can be open at once, including several for
+	 * the same user. The session stays open until it is closed or goes unused
+	 * for longer than the session timeout.
+	 * 
+	 * @param id       id of the user
+	 * @param password password of the user
+	 * @return token that identifies the session to the registration methods
+	 * @throws IllegalArgumentException if no user has the id and password
+	 */
+	public String openSession(String id, String password) {
+		return sessions.open(authenticate(id, password));
+	}
+
+	/**
+	 * Returns the user logged in to a session, and counts the session as used.
+	 * 
+	 * @param token session token
+	 * @return the session's user, or null if the session is closed or expired
+	 */
+	public User getSessionUser(String token) {
+		return sessions.get(token);
+	}
+
+	/**
+	 * Logs the user of a session out.
+	 * 
+	 * @param token session token
+	 * @return true if the session was open
+	 */
+	public boolean closeSession(String token) {
+		return sessions.close(token);
+	}
+
+	/**
+	 * Sets how long a session may go unused before it expires. The default is
+	 * thirty minutes.
+	 * 
+	 * @param timeoutMillis idle timeout in milliseconds
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	public void setSessionTimeout(long timeoutMillis) {
+		sessions.setTimeout(timeoutMillis);
+	}
+
+	/**
+	 * Returns the user of an open session.
+	 * 
+	 * @param token session token
+	 * @return the session's user
+	 * @throws IllegalArgumentException if the session is closed or expired
+	 */
+	private User sessionUser(String token) {
+		User user = sessions.get(token);
+		if (user == null) {
+			throw new IllegalArgumentException("Invalid session.");
+		}
+		return user;
+	}
+
 	/**
 	 * Returns the current user
 	 * 
@@ -199,11 +286,259 @@ public class RegistrationManager {
 	}
 
 	/**
-	 * clears the courseCatalog and studentDirectory and makes it empty
+	 * clears the courseCatalog and studentDirectory and makes it empty, and
+	 * closes every session
 	 */
 	public void clearData() {
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
+		sessions.clear();
+	}
+
+	/**
+	 * Loads the student directory, faculty directory, and course catalog from
+	 * snapshots saved by saveSnapshots(), restoring course rolls, waitlists, and
+	 * instructors.
+	 * 
+	 * @param courseFile  course catalog snapshot
+	 * @param studentFile student directory snapshot
+	 * @param facultyFile faculty directory snapshot
+	 * @throws IllegalArgumentException if a snapshot cannot be read
+	 */
+	public void loadSnapshots(String courseFile, String studentFile, String facultyFile) {
+		studentDirectory.loadStudentsFromSnapshot(studentFile);
+		facultyDirectory.loadFacultyFromSnapshot(facultyFile);
+		courseCatalog.loadCoursesFromSnapshot(courseFile, studentDirectory, facultyDirectory);
+	}
+
+	/**
+	 * Brings the course catalog in line with an edited course record file,
+	 * keeping the rolls of the Courses that stay and assigning added Courses to
+	 * their instructors in the faculty directory.
+	 * 
+	 * @param fileName course record file
+	 * @return the changes made to the catalog
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public CatalogDiff reloadCourses(String fileName) {
+		return courseCatalog.reloadCoursesFromFile(fileName, facultyDirectory);
+	}
+
+	/**
+	 * Saves snapshots of the course catalog, with its rolls and waitlists, and
+	 * of the student and faculty directories. Every operation in the open
+	 * journal is then part of the snapshots, so the journal is emptied.
+	 * Registration operations wait until the snapshots are saved and the journal
+	 * emptied, so the three snapshots agree and none of them is lost.
+	 * 
+	 * @param courseFile  course catalog snapshot
+	 * @param studentFile student directory snapshot
+	 * @param facultyFile faculty directory snapshot
+	 * @throws IllegalArgumentException if a snapshot cannot be saved or the journal
+	 *                                  cannot be emptied
+	 */
+	public void saveSnapshots(String courseFile, String studentFile, String facultyFile) {
+		snapshotLock.writeLock().lock();
+		try {
+			courseCatalog.saveCourseCatalogSnapshot(courseFile);
+			studentDirectory.saveStudentDirectorySnapshot(studentFile);
+			facultyDirectory.saveFacultyDirectorySnapshot(facultyFile);
+			if (journal != null) {
+				try {
+					journal.clear();
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Unable to write to journal.");
+				}
+			}
+		} finally {
+			snapshotLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Restores who is enrolled in and waitlisted for each Course in the catalog,
+	 * and each student's schedule, from a roster file saved by saveRosters().
+	 * Registration operations wait until the rosters are loaded, as they do for
+	 * saveSnapshots(), so none is made on a roll part way through being restored
+	 * or undone by the load. The operations in the open journal were made on the
+	 * rolls the rosters replace, so the journal is emptied; save snapshots after
+	 * loading rosters to make them the point the journal replays from.
+	 *
+	 * @param fileName roster file
+	 * @return number of Courses whose rosters were restored
+	 * @throws IllegalArgumentException if the file cannot be found or the journal
+	 *                                  cannot be emptied
+	 */
+	public int loadRosters(String fileName) {
+		snapshotLock.writeLock().lock();
+		try {
+			int restored = courseCatalog.loadRosters(fileName, studentDirectory);
+			if (journal != null) {
+				try {
+					journal.clear();
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Unable to write to journal.");
+				}
+			}
+			return restored;
+		} finally {
+			snapshotLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Saves who is enrolled in and waitlisted for each Course in the catalog to a
+	 * roster file.
+	 *
+	 * @param fileName roster file
+	 * @throws IllegalArgumentException if the file cannot be saved
+	 */
+	public void saveRosters(String fileName) {
+		courseCatalog.saveRosters(fileName);
+	}
+
+	/**
+	 * Opens a journal that records every registration operation from now on.
+	 * Operations already in the journal, made since the last snapshot was saved,
+	 * are first replayed onto the loaded catalog and directories. Operations whose
+	 * users or Courses are no longer loaded, or that can no longer be made, are
+	 * skipped.
+	 * 
+	 * @param fileName journal file
+	 * @return number of operations replayed
+	 * @throws IllegalArgumentException if the journal cannot be read or opened
+	 */
+	public int openJournal(String fileName) {
+		closeJournal();
+		int replayed = 0;
+		try {
+			for (Entry entry : RegistrationJournal.readEntries(fileName)) {
+				if (replay(entry)) {
+					replayed++;
+				}
+			}
+			journal = new RegistrationJournal(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		return replayed;
+	}
+
+	/**
+	 * Commits and closes the open journal, if there is one. Operations are no
+	 * longer journaled after this.
+	 * 
+	 * @throws IllegalArgumentException if the journal cannot be written
+	 */
+	public void closeJournal() {
+		if (journal != null) {
+			try {
+				journal.close();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to journal.");
+			} finally {
+				journal = null;
+			}
+		}
+	}
+
+	/**
+	 * Makes an operation read back from the journal.
+	 * 
+	 * @param entry operation to make
+	 * @return true if the operation was made
+	 */
+	private boolean replay(Entry entry) {
+		Course c = null;
+		if (entry.getName() != null) {
+			c = courseCatalog.getCourseFromCatalog(entry.getName(), entry.getSection());
+			if (c == null) {
+				return false;
+			}
+		}
+		try {
+			switch (entry.getOperation()) {
+			case ENROLL:
+			case DROP:
+			case RESET_SCHEDULE:
+				Student s = studentDirectory.getStudentById(entry.getUserId());
+				if (s == null) {
+					return false;
+				}
+				if (entry.getOperation() == Operation.ENROLL) {
+					return enroll(s, c);
+				} else if (entry.getOperation() == Operation.DROP) {
+					return drop(s, c);
+				}
+				resetSchedule(s);
+				return true;
+			default:
+				Faculty f = facultyDirectory.getFacultyById(entry.getUserId());
+				if (f == null) {
+					return false;
+				}
+				if (entry.getOperation() == Operation.ADD_FACULTY) {
+					f.getSchedule().addCourseToSchedule(c);
+				} else if (entry.getOperation() == Operation.REMOVE_FACULTY) {
+					f.getSchedule().removeCourseFromSchedule(c);
+				} else {
+					f.getSchedule().resetSchedule();
+				}
+				return true;
+			}
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Appends an operation to the open journal, if there is one. It is not on
+	 * disk until commit() is called with the number returned.
+	 * 
+	 * @param op     operation made
+	 * @param userId id of the student or faculty member
+	 * @param c      Course of the operation, or null if it has none
+	 * @return number of the operation in the journal, or 0 if no journal is open
+	 */
+	private long append(Operation op, String userId, Course c) {
+		RegistrationJournal j = journal;
+		if (j == null) {
+			return 0;
+		}
+		if (c == null) {
+			return j.append(op, userId);
+		}
+		return j.append(op, userId, c.getName(), c.getSection());
+	}
+
+	/**
+	 * Waits until an operation appended to the open journal is on disk. The
+	 * operation has already been made, so a failed write is not reported to its
+	 * caller; the journal keeps the failure for isJournalFailed().
+	 * 
+	 * @param number number of the operation, as returned by append()
+	 */
+	private void commit(long number) {
+		RegistrationJournal j = journal;
+		if (j != null && number > 0) {
+			try {
+				j.commit(number);
+			} catch (IOException e) {
+				// Kept by the journal, which fails every later commit until it is emptied
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the open journal could not write an operation made since it
+	 * was opened or last emptied. Those operations were made and stay made, but
+	 * would be lost if the system stopped before saveSnapshots() saved them.
+	 * 
+	 * @return true if operations may be missing from the journal
+	 */
+	public boolean isJournalFailed() {
+		RegistrationJournal j = journal;
+		return j != null && j.hasFailed();
 	}
 
 	/**
@@ -216,13 +551,47 @@ public class RegistrationManager {
 	 *                                  to course.
 	 */
 	public boolean addFacultyToCourse(Course c, Faculty f) {
-		if (!getCurrentUser().equals(registrar)) {
+		return addFacultyToCourse(getCurrentUser(), c, f);
+	}
+
+	/**
+	 * Adds a Faculty to a Course for the registrar logged in to a session.
+	 * 
+	 * @param token session token
+	 * @param c     the Course to be added to.
+	 * @param f     the Faculty to be added.
+	 * @return true if the Faculty is able to add the course to their schedule.
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not the registrar.
+	 */
+	public boolean addFacultyToCourse(String token, Course c, Faculty f) {
+		return addFacultyToCourse(sessionUser(token), c, f);
+	}
+
+	/**
+	 * Adds a Faculty to a Course for the given user.
+	 * 
+	 * @param user user making the change
+	 * @param c    the Course to be added to.
+	 * @param f    the Faculty to be added.
+	 * @return true if the Faculty is able to add the course to their schedule.
+	 * @throws IllegalArgumentException if the user is not the registrar.
+	 */
+	private boolean addFacultyToCourse(User user, Course c, Faculty f) {
+		if (!registrar.equals(user)) {
 			throw new IllegalArgumentException("Non Registrar user cannot add faculty to the course");
 		}
-		if (getCurrentUser() == null) {
-			return false;
+		long entry;
+		snapshotLock.readLock().lock();
+		try {
+			synchronized (f) {
+				f.getSchedule().addCourseToSchedule(c);
+				entry = append(Operation.ADD_FACULTY, f.getId(), c);
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
 		}
-		f.getSchedule().addCourseToSchedule(c);
+		commit(entry);
 		return true;
 	}
 
@@ -236,13 +605,47 @@ public class RegistrationManager {
 	 *                                  Faculty from course.
 	 */
 	public boolean removeFacultyFromCourse(Course c, Faculty f) {
-		if (!getCurrentUser().equals(registrar)) {
+		return removeFacultyFromCourse(getCurrentUser(), c, f);
+	}
+
+	/**
+	 * Removes a Faculty from a Course for the registrar logged in to a session.
+	 * 
+	 * @param token session token
+	 * @param c     the Course to be removed from.
+	 * @param f     the Faculty to be removed.
+	 * @return true if the Faculty is able to remove the course from their schedule.
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not the registrar.
+	 */
+	public boolean removeFacultyFromCourse(String token, Course c, Faculty f) {
+		return removeFacultyFromCourse(sessionUser(token), c, f);
+	}
+
+	/**
+	 * Removes a Faculty from a Course for the given user.
+	 * 
+	 * @param user user making the change
+	 * @param c    the Course to be removed from.
+	 * @param f    the Faculty to be removed.
+	 * @return true if the Faculty is able to remove the course from their schedule.
+	 * @throws IllegalArgumentException if the user is not the registrar.
+	 */
+	private boolean removeFacultyFromCourse(User user, Course c, Faculty f) {
+		if (!registrar.equals(user)) {
 			throw new IllegalArgumentException("Non Registrar user cannot add faculty to the course");
 		}
-		if (getCurrentUser() == null) {
-			return false;
+		long entry;
+		snapshotLock.readLock().lock();
+		try {
+			synchronized (f) {
+				f.getSchedule().removeCourseFromSchedule(c);
+				entry = append(Operation.REMOVE_FACULTY, f.getId(), c);
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
 		}
-		f.getSchedule().removeCourseFromSchedule(c);
+		commit(entry);
 		return true;
 	}
 
@@ -254,8 +657,41 @@ public class RegistrationManager {
 	 *                                  schedule.
 	 */
 	public void resetFacultySchedule(Faculty f) {
-		if (getCurrentUser() != null && getCurrentUser().getId().equals(registrar.getId())) {
-			f.getSchedule().resetSchedule();
+		resetFacultySchedule(getCurrentUser(), f);
+	}
+
+	/**
+	 * Resets a Faculty's schedule for the registrar logged in to a session.
+	 * 
+	 * @param token session token
+	 * @param f     the Faculty that will have a reset schedule.
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not the registrar.
+	 */
+	public void resetFacultySchedule(String token, Faculty f) {
+		resetFacultySchedule(sessionUser(token), f);
+	}
+
+	/**
+	 * Resets a Faculty's schedule for the given user.
+	 * 
+	 * @param user user making the change
+	 * @param f    the Faculty that will have a reset schedule.
+	 * @throws IllegalArgumentException if the user is not the registrar.
+	 */
+	private void resetFacultySchedule(User user, Faculty f) {
+		if (user != null && user.getId().equals(registrar.getId())) {
+			long entry;
+			snapshotLock.readLock().lock();
+			try {
+				synchronized (f) {
+					f.getSchedule().resetSchedule();
+					entry = append(Operation.RESET_FACULTY_SCHEDULE, f.getId(), null);
+				}
+			} finally {
+				snapshotLock.readLock().unlock();
+			}
+			commit(entry);
 		} else {
 			throw new IllegalArgumentException("Non Registrar user cannot reset schedule");
 		}
@@ -287,22 +723,74 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if current user is a student.
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
+		return enrollStudentInCourse(currentUser, c);
+	}
+
+	/**
+	 * Returns true if the student logged in to a session can enroll in the given
+	 * course.
+	 * 
+	 * @param token session token
+	 * @param c     Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not a student.
+	 */
+	public boolean enrollStudentInCourse(String token, Course c) {
+		return enrollStudentInCourse(sessionUser(token), c);
+	}
+
+	/**
+	 * Enrolls the given user in a Course if they are a student who can.
+	 * 
+	 * @param user user enrolling
+	 * @param c    Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the user is not a student.
+	 */
+	private boolean enrollStudentInCourse(User user, Course c) {
+		if (!(user instanceof Student)) {
 			throw new IllegalArgumentException("Illegal Action");
 		}
+		Student s = (Student) user;
+		long entry;
+		snapshotLock.readLock().lock();
 		try {
-			Student s = (Student) currentUser;
-			Schedule schedule = s.getSchedule();
-			CourseRoll roll = c.getCourseRoll();
-
-			if (s.canAdd(c) && roll.canEnroll(s)) {
-				schedule.addCourseToSchedule(c);
-				roll.enroll(s);
-				return true;
+			synchronized (s) {
+				synchronized (c.getCourseRoll()) {
+					try {
+						if (!enroll(s, c)) {
+							return false;
+						}
+					} catch (IllegalArgumentException e) {
+						return false;
+					}
+					entry = append(Operation.ENROLL, s.getId(), c);
+				}
 			}
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
+		commit(entry);
+		return true;
+	}
 
-		} catch (IllegalArgumentException e) {
-			return false;
+	/**
+	 * Enrolls a student in a Course if they can add it and the roll or waitlist
+	 * has room. The caller holds the locks on the student and the Course's roll.
+	 * 
+	 * @param s student to enroll
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 */
+	private boolean enroll(Student s, Course c) {
+		Schedule schedule = s.getSchedule();
+		CourseRoll roll = c.getCourseRoll();
+
+		if (s.canAdd(c) && roll.canEnroll(s)) {
+			schedule.addCourseToSchedule(c);
+			roll.enroll(s);
+			return true;
 		}
 		return false;
 	}
@@ -315,16 +803,69 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if current user is a student.
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
+		return dropStudentFromCourse(currentUser, c);
+	}
+
+	/**
+	 * Returns true if the student logged in to a session can drop the given
+	 * course.
+	 * 
+	 * @param token session token
+	 * @param c     Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not a student.
+	 */
+	public boolean dropStudentFromCourse(String token, Course c) {
+		return dropStudentFromCourse(sessionUser(token), c);
+	}
+
+	/**
+	 * Drops the given user from a Course if they are a student who has it.
+	 * 
+	 * @param user user dropping
+	 * @param c    Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the user is not a student.
+	 */
+	private boolean dropStudentFromCourse(User user, Course c) {
+		if (!(user instanceof Student)) {
 			throw new IllegalArgumentException("Illegal Action");
 		}
+		Student s = (Student) user;
+		long entry;
+		snapshotLock.readLock().lock();
 		try {
-			Student s = (Student) currentUser;
-			c.getCourseRoll().drop(s);
-			return s.getSchedule().removeCourseFromSchedule(c);
-		} catch (IllegalArgumentException e) {
-			return false;
+			synchronized (s) {
+				synchronized (c.getCourseRoll()) {
+					try {
+						if (!drop(s, c)) {
+							return false;
+						}
+					} catch (IllegalArgumentException e) {
+						return false;
+					}
+					entry = append(Operation.DROP, s.getId(), c);
+				}
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
 		}
+		commit(entry);
+		return true;
+	}
+
+	/**
+	 * Drops a student from a Course's roll or waitlist and their schedule. The
+	 * caller holds the locks on the student and the Course's roll.
+	 * 
+	 * @param s student to drop
+	 * @param c Course to drop
+	 * @return true if the Course was on the student's schedule
+	 */
+	private boolean drop(Student s, Course c) {
+		c.getCourseRoll().drop(s);
+		return s.getSchedule().removeCourseFromSchedule(c);
 	}
 
 	/**
@@ -334,22 +875,64 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if current user is a student.
 	 */
 	public void resetSchedule() {
-		if (!(currentUser instanceof Student)) {
+		resetSchedule(currentUser);
+	}
+
+	/**
+	 * Resets the schedule of the student logged in to a session by dropping them
+	 * from every course and then resetting the schedule.
+	 * 
+	 * @param token session token
+	 * @throws IllegalArgumentException if the session is closed or expired, or
+	 *                                  its user is not a student.
+	 */
+	public void resetSchedule(String token) {
+		resetSchedule(sessionUser(token));
+	}
+
+	/**
+	 * Resets the given user's schedule if they are a student.
+	 * 
+	 * @param user user whose schedule is reset
+	 * @throws IllegalArgumentException if the user is not a student.
+	 */
+	private void resetSchedule(User user) {
+		if (!(user instanceof Student)) {
 			throw new IllegalArgumentException("Illegal Action");
 		}
+		Student s = (Student) user;
+		long entry;
+		snapshotLock.readLock().lock();
 		try {
-			Student s = (Student) currentUser;
-			Schedule schedule = s.getSchedule();
-			String[][] scheduleArray = schedule.getScheduledCourses();
-
-			for (String[] courseInfo : scheduleArray) {
-				Course c = courseCatalog.getCourseFromCatalog(courseInfo[0], courseInfo[1]);
-				c.getCourseRoll().drop(s);
+			synchronized (s) {
+				resetSchedule(s);
+				entry = append(Operation.RESET_SCHEDULE, s.getId(), null);
 			}
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
+		commit(entry);
+	}
 
-			schedule.resetSchedule();
-		} catch (IllegalArgumentException e) {
-			// not good
+	/**
+	 * Drops a student from every Course on their schedule and then resets it.
+	 * The caller holds the lock on the student; each Course's roll is locked
+	 * while the student is dropped from it. The Courses are taken from the
+	 * schedule rather than the catalog, so a Course since removed from the
+	 * catalog still has the student dropped from its roll.
+	 * 
+	 * @param s student whose schedule is reset
+	 */
+	private void resetSchedule(Student s) {
+		Schedule schedule = s.getSchedule();
+
+		for (Course c : schedule.getCourses()) {
+			CourseRoll roll = c.getCourseRoll();
+			synchronized (roll) {
+				roll.drop(s);
+			}
 		}
+
+		schedule.resetSchedule();
 	}
 }
\ No newline at end of file
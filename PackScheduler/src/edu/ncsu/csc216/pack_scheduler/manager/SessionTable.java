@@ -0,0 +1,167 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * The users logged in through RegistrationManager.openSession(), by session
+ * token. Sessions are held in a ConcurrentHashMap, so any number of threads can
+ * open, use, and close sessions without waiting on each other.
+ *
+ * A session that goes unused for longer than the idle timeout expires. An
+ * expired session is removed when it is next used, and the whole table is swept
+ * for expired sessions at most once per timeout as sessions are opened, so
+ * sessions that are abandoned without being closed do not pile up.
+ */
+class SessionTable {
+
+	/** Number of random bytes in a session token */
+	private static final int TOKEN_BYTES = 24;
+
+	/** Open sessions by token */
+	private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+	/** Source of session tokens that cannot be guessed */
+	private final SecureRandom random = new SecureRandom();
+	/** Time a session may go unused before it expires, in nanoseconds */
+	private volatile long timeout;
+	/** System.nanoTime() after which the next session opened sweeps the table */
+	private final AtomicLong nextSweep;
+
+	/**
+	 * Constructs an empty session table.
+	 *
+	 * @param timeoutMillis time a session may go unused before it expires, in
+	 *                      milliseconds
+	 */
+	SessionTable(long timeoutMillis) {
+		setTimeout(timeoutMillis);
+		nextSweep = new AtomicLong(System.nanoTime() + timeout);
+	}
+
+	/**
+	 * Sets the time a session may go unused before it expires, for open sessions
+	 * as well as new ones.
+	 *
+	 * @param timeoutMillis idle timeout in milliseconds
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	void setTimeout(long timeoutMillis) {
+		if (timeoutMillis <= 0) {
+			throw new IllegalArgumentException("Invalid session timeout.");
+		}
+		timeout = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+	}
+
+	/**
+	 * Opens a session for a user.
+	 *
+	 * @param user user logged in
+	 * @return token of the new session
+	 */
+	String open(User user) {
+		long now = System.nanoTime();
+		long sweep = nextSweep.get();
+		if (now - sweep >= 0 && nextSweep.compareAndSet(sweep, now + timeout)) {
+			sweep(now);
+		}
+		byte[] bytes = new byte[TOKEN_BYTES];
+		String token;
+		do {
+			random.nextBytes(bytes);
+			token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		} while (sessions.putIfAbsent(token, new Session(user, now)) != null);
+		return token;
+	}
+
+	/**
+	 * Returns the user of a session and counts the session as used now.
+	 *
+	 * @param token session token
+	 * @return user of the session, or null if the token is not that of an open
+	 *         session or the session has expired
+	 */
+	User get(String token) {
+		if (token == null) {
+			return null;
+		}
+		Session session = sessions.get(token);
+		if (session == null) {
+			return null;
+		}
+		long now = System.nanoTime();
+		if (now - session.lastUsed > timeout) {
+			sessions.remove(token, session);
+			return null;
+		}
+		session.lastUsed = now;
+		return session.user;
+	}
+
+	/**
+	 * Closes a session.
+	 *
+	 * @param token session token
+	 * @return true if the session was open
+	 */
+	boolean close(String token) {
+		return token != null && sessions.remove(token) != null;
+	}
+
+	/**
+	 * Closes every session.
+	 */
+	void clear() {
+		sessions.clear();
+	}
+
+	/**
+	 * Returns the number of open sessions, including any that have expired but
+	 * not yet been removed.
+	 *
+	 * @return number of sessions
+	 */
+	int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * Removes every session that has expired.
+	 *
+	 * @param now the current System.nanoTime()
+	 */
+	private void sweep(long now) {
+		for (Iterator<Session> it = sessions.values().iterator(); it.hasNext();) {
+			if (now - it.next().lastUsed > timeout) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * A user's session.
+	 */
+	private static class Session {
+
+		/** User logged in */
+		private final User user;
+		/** System.nanoTime() when the session was last used */
+		private volatile long lastUsed;
+
+		/**
+		 * Constructs a session.
+		 *
+		 * @param user user logged in
+		 * @param now  the current System.nanoTime()
+		 */
+		Session(User user, long now) {
+			this.user = user;
+			this.lastUsed = now;
+		}
+	}
+}
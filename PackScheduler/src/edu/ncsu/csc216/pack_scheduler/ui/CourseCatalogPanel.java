@@ -9,6 +9,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -22,12 +23,15 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.pack_scheduler.catalog.CatalogListener;
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 
 /**
@@ -373,11 +377,9 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadCourseCatalog) {
 			try {
 				String fileName = getFileName(true);
-				catalog.loadCoursesFromFile(fileName);
-				courseCatalogTableModel.updateData();
+				catalog.loadCoursesFromFile(fileName, RegistrationManager.getInstance().getFacultyDirectory());
 				scrollCourseCatalog.revalidate();
 				scrollCourseCatalog.repaint();
-				courseCatalogTableModel.fireTableDataChanged();
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -390,10 +392,8 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewCourseCatalog) {
 			catalog.newCourseCatalog();
-			courseCatalogTableModel.updateData();
 			scrollCourseCatalog.revalidate();
 			scrollCourseCatalog.repaint();
-			courseCatalogTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddCourse) {
 			String name = txtName.getText();
 			String title = txtTitle.getText();
@@ -488,7 +488,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			courseCatalogTableModel.updateData();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableCourseCatalog.getSelectedRow();
 			if (row == -1 || row == courseCatalogTableModel.getRowCount()) {
@@ -500,7 +499,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No course selected.");
 				}
 			}
-			courseCatalogTableModel.updateData();
 		}
 		
 		this.validate();
@@ -543,15 +541,91 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		private static final long serialVersionUID = 1L;
 		/** Column names for the table */
 		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
+		/** Number of catalog rows fetched from the CourseCatalog at a time */
+		private static final int PAGE_SIZE = 100;
+		/** Page of catalog rows currently held, or null if none has been fetched */
 		private Object [][] data;
+		/** Catalog position of the first row in data */
+		private int pageStart;
+		/** Number of rows in the catalog */
+		private int rowCount;
+		/** Whether a refresh for changes made on other threads is waiting to run */
+		private final AtomicBoolean refreshQueued = new AtomicBoolean();
 		
 		/**
 		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * from the RequirementTrackerModel. The model then follows the catalog's
+		 * change events and only refreshes the rows that changed.
 		 */
 		public CourseCatalogTableModel() {
 			updateData();
+			catalog.addCatalogListener(new CatalogListener() {
+
+				@Override
+				public void courseAdded(int index, Course course) {
+					onEventThread(() -> {
+						rowCount++;
+						dropPageFrom(index);
+						fireTableRowsInserted(index, index);
+					});
+				}
+
+				@Override
+				public void courseRemoved(int index, Course course) {
+					onEventThread(() -> {
+						rowCount--;
+						dropPageFrom(index);
+						fireTableRowsDeleted(index, index);
+					});
+				}
+
+				@Override
+				public void courseUpdated(int index, Course course) {
+					onEventThread(() -> refreshRow(index));
+				}
+
+				@Override
+				public void seatsChanged(int index, Course course) {
+					onEventThread(() -> refreshRow(index));
+				}
+
+				@Override
+				public void catalogReset() {
+					onEventThread(() -> {
+						updateData();
+						fireTableDataChanged();
+					});
+				}
+			});
+		}
+		
+		/**
+		 * Applies a change event to the table if it arrived on the Swing event
+		 * thread. Changes made on other threads, such as students registering
+		 * through sessions, are gathered into one refresh of the whole table that
+		 * runs on the event thread.
+		 * @param update change to the table for the event
+		 */
+		private void onEventThread(Runnable update) {
+			if (SwingUtilities.isEventDispatchThread()) {
+				update.run();
+			} else {
+				queueRefresh();
+			}
+		}
+
+		/**
+		 * Queues one refresh of the whole table on the event thread, unless one is
+		 * already waiting to run.
+		 */
+		private void queueRefresh() {
+			if (refreshQueued.compareAndSet(false, true)) {
+				SwingUtilities.invokeLater(() -> {
+					refreshQueued.set(false);
+					updateData();
+					fireTableDataChanged();
+				});
+			}
 		}
 
 		/**
@@ -567,9 +641,7 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		 * @return the number of rows in the table.
 		 */
 		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
+			return rowCount;
 		}
 		
 		/**
@@ -588,9 +660,18 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		 * @return the data at the given location.
 		 */
 		public Object getValueAt(int row, int col) {
-			if (data == null)
+			if (row < 0 || row >= rowCount)
+				return null;
+			if (data == null || row < pageStart || row >= pageStart + data.length) {
+				pageStart = row - row % PAGE_SIZE;
+				data = catalog.getCourseCatalog(pageStart, PAGE_SIZE);
+			}
+			if (row - pageStart >= data.length) {
+				//Courses were removed on another thread since the row count was read
+				queueRefresh();
 				return null;
-			return data[row][col];
+			}
+			return data[row - pageStart][col];
 		}
 		
 		/**
@@ -600,15 +681,42 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		 * @param col location to modify the data.
 		 */
 		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
+			if (data != null && row >= pageStart && row < pageStart + data.length) {
+				data[row - pageStart][col] = value;
+			}
 			fireTableCellUpdated(row, col);
 		}
 		
 		/**
 		 * Updates the given model with Course information from the CourseCatalog.
+		 * Rows are fetched a page at a time as the table asks for them.
 		 */
 		public void updateData() {
-			data = catalog.getCourseCatalog();
+			rowCount = catalog.getNumCourses();
+			data = null;
+		}
+		
+		/**
+		 * Drops the held page if a row was inserted or deleted at or before its end,
+		 * since the rows after that point have shifted.
+		 * @param index row that was inserted or deleted
+		 */
+		private void dropPageFrom(int index) {
+			if (data != null && index < pageStart + data.length) {
+				data = null;
+			}
+		}
+		
+		/**
+		 * Re-reads a single changed row if it is on the held page and tells the
+		 * table to repaint it.
+		 * @param index row that changed
+		 */
+		private void refreshRow(int index) {
+			if (data != null && index >= pageStart && index < pageStart + data.length) {
+				data[index - pageStart] = catalog.getCourseCatalog(index, 1)[0];
+			}
+			fireTableRowsUpdated(index, index);
 		}
 	}
 
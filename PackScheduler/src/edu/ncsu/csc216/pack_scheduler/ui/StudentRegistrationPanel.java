@@ -7,6 +7,7 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -17,6 +18,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
@@ -24,11 +26,13 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.pack_scheduler.catalog.CatalogListener;
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.ScheduleListener;
 
 /**
  * Creates a user interface for students to register for classes.
@@ -307,16 +311,27 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 				JOptionPane.showMessageDialog(this, "No course selected in the catalog.");
 			} else {
 				try {
-					if (!RegistrationManager.getInstance().enrollStudentInCourse(catalog.getCourseFromCatalog(tableCatalog.getValueAt(row, 0).toString(), tableCatalog.getValueAt(row, 1).toString()))) {
-						JOptionPane.showMessageDialog(this, "Course cannot be added to schedule.");
+					Course course = catalog.getCourseFromCatalog(tableCatalog.getValueAt(row, 0).toString(), tableCatalog.getValueAt(row, 1).toString());
+					if (!RegistrationManager.getInstance().enrollStudentInCourse(course)) {
+						Student student = (Student)RegistrationManager.getInstance().getCurrentUser();
+						Course alternative = null;
+						//Another section only helps if the schedule would take this one but its roll and waitlist are full
+						if (student.canAdd(course) && !course.getCourseRoll().canEnroll(student)) {
+							alternative = catalog.suggestAlternativeSection(course);
+						}
+						if (alternative == null) {
+							JOptionPane.showMessageDialog(this, "Course cannot be added to schedule.");
+						} else {
+							JOptionPane.showMessageDialog(this, "Course cannot be added to schedule.\nSection " + alternative.getSection()
+									+ " of " + alternative.getName() + " has " + alternative.getCourseRoll().getOpenSeats() + " open seats.");
+						}
 					} else {
-						updateCourseDetails(catalog.getCourseFromCatalog(tableCatalog.getValueAt(row, 0).toString(), tableCatalog.getValueAt(row, 1).toString()));
+						updateCourseDetails(course);
 					}
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableSchedule.getSelectedRow();
 			if (row == -1) {
@@ -328,10 +343,8 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					updateCourseDetails(catalog.getCourseFromCatalog(tableCatalog.getValueAt(row, 0).toString(), tableCatalog.getValueAt(row, 1).toString()));
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			RegistrationManager.getInstance().resetSchedule();
-			updateTables();
 		} else if (e.getSource() == btnSetScheduleTitle) {
 			try {
 				schedule.setTitle(txtScheduleTitle.getText()); 
@@ -394,19 +407,130 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		private static final long serialVersionUID = 1L;
 		/** Column names for the table */
 		private String [] columnNames = {"Name", "Section", "Title", "Meeting Days", "Open Seats"};
-		/** Data stored in the table */
+		/** Number of catalog rows fetched from the CourseCatalog at a time */
+		private static final int PAGE_SIZE = 100;
+		/** Data stored in the table; for the catalog, the page of rows currently held */
 		private Object [][] data;
+		/** Catalog position of the first row in data */
+		private int pageStart;
+		/** Number of rows in the catalog */
+		private int rowCount;
 		/** Boolean flag if the model applies to the catalog or schedule */
 		private boolean isCatalog;
+		/** Schedule whose changes the model is following, if it shows a schedule */
+		private Schedule followedSchedule;
+		/** Whether a refresh for changes made on other threads is waiting to run */
+		private final AtomicBoolean refreshQueued = new AtomicBoolean();
+		/** Applies changes to the followed schedule to the affected rows */
+		private ScheduleListener scheduleListener = new ScheduleListener() {
+
+			@Override
+			public void courseAdded(int index, Course course) {
+				onEventThread(() -> {
+					data = followedSchedule.getScheduledCourses();
+					fireTableRowsInserted(index, index);
+				});
+			}
+
+			@Override
+			public void courseRemoved(int index, Course course) {
+				onEventThread(() -> {
+					data = followedSchedule.getScheduledCourses();
+					fireTableRowsDeleted(index, index);
+				});
+			}
+
+			@Override
+			public void scheduleReset() {
+				onEventThread(() -> {
+					data = followedSchedule.getScheduledCourses();
+					fireTableDataChanged();
+				});
+			}
+		};
 		
 		/**
 		 * Constructs the CourseTableModel by requesting the latest information
-		 * from the manager.
+		 * from the manager. The model then follows change events from the catalog
+		 * and schedule and only refreshes the rows that changed.
 		 * @param isCatalog true if the table is showing a catalog rather than a roll
 		 */
 		public CourseTableModel(boolean isCatalog) {
 			this.isCatalog = isCatalog;
 			updateData();
+			catalog.addCatalogListener(new CatalogListener() {
+
+				@Override
+				public void courseAdded(int index, Course course) {
+					if (CourseTableModel.this.isCatalog) {
+						onEventThread(() -> {
+							rowCount++;
+							dropPageFrom(index);
+							fireTableRowsInserted(index, index);
+						});
+					}
+				}
+
+				@Override
+				public void courseRemoved(int index, Course course) {
+					if (CourseTableModel.this.isCatalog) {
+						onEventThread(() -> {
+							rowCount--;
+							dropPageFrom(index);
+							fireTableRowsDeleted(index, index);
+						});
+					}
+				}
+
+				@Override
+				public void courseUpdated(int index, Course course) {
+					onEventThread(() -> refreshRow(index, course));
+				}
+
+				@Override
+				public void seatsChanged(int index, Course course) {
+					onEventThread(() -> refreshRow(index, course));
+				}
+
+				@Override
+				public void catalogReset() {
+					if (CourseTableModel.this.isCatalog) {
+						onEventThread(() -> {
+							updateData();
+							fireTableDataChanged();
+						});
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Applies a change event to the table if it arrived on the Swing event
+		 * thread. Changes made on other threads, such as students registering
+		 * through sessions, are gathered into one refresh of the whole table that
+		 * runs on the event thread.
+		 * @param update change to the table for the event
+		 */
+		private void onEventThread(Runnable update) {
+			if (SwingUtilities.isEventDispatchThread()) {
+				update.run();
+			} else {
+				queueRefresh();
+			}
+		}
+
+		/**
+		 * Queues one refresh of the whole table on the event thread, unless one is
+		 * already waiting to run.
+		 */
+		private void queueRefresh() {
+			if (refreshQueued.compareAndSet(false, true)) {
+				SwingUtilities.invokeLater(() -> {
+					refreshQueued.set(false);
+					updateData();
+					fireTableDataChanged();
+				});
+			}
 		}
 
 		/**
@@ -422,6 +546,8 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 * @return the number of rows in the table.
 		 */
 		public int getRowCount() {
+			if (isCatalog)
+				return rowCount;
 			if (data == null) 
 				return 0;
 			return data.length;
@@ -443,6 +569,20 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 * @return the data at the given location.
 		 */
 		public Object getValueAt(int row, int col) {
+			if (isCatalog) {
+				if (row < 0 || row >= rowCount)
+					return null;
+				if (data == null || row < pageStart || row >= pageStart + data.length) {
+					pageStart = row - row % PAGE_SIZE;
+					data = catalog.getCourseCatalog(pageStart, PAGE_SIZE);
+				}
+				if (row - pageStart >= data.length) {
+					//Courses were removed on another thread since the row count was read
+					queueRefresh();
+					return null;
+				}
+				return data[row - pageStart][col];
+			}
 			if (data == null)
 				return null;
 			return data[row][col];
@@ -455,7 +595,9 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 * @param col location to modify the data.
 		 */
 		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
+			if (row >= pageStart && row - pageStart < data.length) {
+				data[row - pageStart][col] = value;
+			}
 			fireTableCellUpdated(row, col);
 		}
 		
@@ -464,11 +606,19 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 */
 		private void updateData() {
 			if (isCatalog) {
-				data = catalog.getCourseCatalog();
+				rowCount = catalog.getNumCourses();
+				data = null;
 			} else {
 				currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
 				if (currentUser != null) {
 					schedule = currentUser.getSchedule();
+					if (schedule != followedSchedule) {
+						if (followedSchedule != null) {
+							followedSchedule.removeScheduleListener(scheduleListener);
+						}
+						schedule.addScheduleListener(scheduleListener);
+						followedSchedule = schedule;
+					}
 					txtScheduleTitle.setText(schedule.getTitle());
 					borderSchedule.setTitle(schedule.getTitle());
 					scrollSchedule.setToolTipText(schedule.getTitle());
@@ -479,6 +629,40 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 				}
 			}
 		}
+		
+		/**
+		 * Drops the held catalog page if a row was inserted or deleted at or before
+		 * its end, since the rows after that point have shifted.
+		 * @param index row that was inserted or deleted
+		 */
+		private void dropPageFrom(int index) {
+			if (data != null && index < pageStart + data.length) {
+				data = null;
+			}
+		}
+		
+		/**
+		 * Re-reads the row for a changed Course and tells the table to repaint it.
+		 * The catalog model uses the catalog position; the schedule model looks for
+		 * the Course among its own rows.
+		 * @param index position of the Course in the catalog
+		 * @param course Course that changed
+		 */
+		private void refreshRow(int index, Course course) {
+			if (isCatalog) {
+				if (data != null && index >= pageStart && index < pageStart + data.length) {
+					data[index - pageStart] = catalog.getCourseCatalog(index, 1)[0];
+				}
+				fireTableRowsUpdated(index, index);
+			} else if (data != null) {
+				for (int i = 0; i < data.length; i++) {
+					if (course.getName().equals(data[i][0]) && course.getSection().equals(data[i][1])) {
+						data[i] = course.getShortDisplayArray();
+						fireTableRowsUpdated(i, i);
+					}
+				}
+			}
+		}
 	}
 
-}
\ No newline at end of file
+}
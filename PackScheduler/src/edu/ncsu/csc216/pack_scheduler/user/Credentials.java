@@ -0,0 +1,79 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes passwords for storage and checks passwords against stored hashes. A
+ * stored hash is the SHA-256 digest of the password's UTF-8 bytes in base64
+ * encoding, which only uses [a-zA-Z0-9+/=] and so can be safely copied into a
+ * record file.
+ *
+ * Each thread keeps a MessageDigest of its own to reuse, so logins on any
+ * number of threads hash without creating a digest each time or waiting on
+ * each other. A password is checked by comparing its raw digest with the bytes
+ * of the stored hash in time that does not depend on where they differ.
+ */
+public class Credentials {
+
+	/** Hashing algorithm */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** Digest of the calling thread, reset after each use */
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Cannot hash password");
+		}
+	});
+
+	/**
+	 * Returns the hash of a password to store.
+	 *
+	 * @param password password to hash
+	 * @return the encoded digest of the password in base64
+	 * @throws IllegalArgumentException if the password cannot be hashed
+	 */
+	public static String hash(String password) {
+		return Base64.getEncoder().encodeToString(digest(password));
+	}
+
+	/**
+	 * Returns whether a password is the one a stored hash was made from. The
+	 * password's digest is compared with the decoded hash in time that depends
+	 * only on their lengths, so the time taken does not tell how much of a
+	 * guessed password's digest was right.
+	 *
+	 * @param password   password given
+	 * @param storedHash hash of the user's password, as returned by hash()
+	 * @return true if the password matches the hash, false if it does not or
+	 *         the stored hash is not in base64
+	 * @throws IllegalArgumentException if the password cannot be hashed
+	 */
+	public static boolean matches(String password, String storedHash) {
+		byte[] digest = digest(password);
+		if (storedHash == null) {
+			return false;
+		}
+		byte[] stored;
+		try {
+			stored = Base64.getDecoder().decode(storedHash);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		return MessageDigest.isEqual(digest, stored);
+	}
+
+	/**
+	 * Returns the raw digest of a password with the calling thread's digest.
+	 *
+	 * @param password password to hash
+	 * @return SHA-256 digest of the password's UTF-8 bytes
+	 */
+	private static byte[] digest(String password) {
+		return DIGEST.get().digest(password.getBytes(StandardCharsets.UTF_8));
+	}
+}
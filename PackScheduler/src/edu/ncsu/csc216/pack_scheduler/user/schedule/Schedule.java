@@ -17,6 +17,9 @@ public class Schedule {
 	
 	/** An ArrayList of courses */
 	private ArrayList<Course> schedule;
+	
+	/** Listeners told about each change to the schedule */
+	private ArrayList<ScheduleListener> listeners;
 
 	/**
 	 * Constructor of the Schedule class in which it creates a schedule object from the parameters
@@ -27,6 +30,7 @@ public class Schedule {
 		 
 		this.title = "My Schedule";
 		this.schedule = new ArrayList<Course>();
+		this.listeners = new ArrayList<ScheduleListener>();
 		
 	}
 	/**
@@ -77,6 +81,9 @@ public class Schedule {
 		//would this throw the NullPointer
 		//need to have the throws in there? 
 		schedule.add(schedule.size(), c);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).courseAdded(schedule.size() - 1, c);
+		}
 		return true;
 	}
 	
@@ -94,7 +101,10 @@ public class Schedule {
 		}
 		for(int i = 0; i < schedule.size(); i++) { 
 			if(c.isDuplicate(schedule.get(i))) {
-				schedule.remove(i);
+				Course removed = schedule.remove(i);
+				for (int j = 0; j < listeners.size(); j++) {
+					listeners.get(j).courseRemoved(i, removed);
+				}
 				return true;
 			}
 			
@@ -110,6 +120,53 @@ public class Schedule {
 	public void resetSchedule() {
 		schedule = new ArrayList<Course>();
 		title =  "My Schedule";
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).scheduleReset();
+		}
+	}
+	
+	/**
+	 * Replaces the courses in the schedule with saved ones, keeping the title.
+	 * The courses are not checked for conflicts, as they were when first added.
+	 * Listeners are only told the schedule was reset, and re-read its rows.
+	 *
+	 * @param courses the Courses to schedule, in order
+	 * @throws IllegalArgumentException if a course appears twice
+	 * @throws NullPointerException if a course is null
+	 */
+	public void restoreCourses(Course[] courses) {
+		ArrayList<Course> restored = new ArrayList<Course>();
+		for (Course c : courses) {
+			restored.add(restored.size(), c);
+		}
+		schedule = restored;
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).scheduleReset();
+		}
+	}
+
+	/**
+	 * Registers a listener to be told about each Course added to or removed from
+	 * the schedule.
+	 * 
+	 * @param listener the listener to add
+	 */
+	public void addScheduleListener(ScheduleListener listener) {
+		listeners.add(listeners.size(), listener);
+	}
+	
+	/**
+	 * Removes a listener previously added with addScheduleListener().
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public void removeScheduleListener(ScheduleListener listener) {
+		for (int i = 0; i < listeners.size(); i++) {
+			if (listeners.get(i) == listener) {
+				listeners.remove(i);
+				return;
+			}
+		}
 	}
 	
 	/**
@@ -125,6 +182,20 @@ public class Schedule {
         return scheduleCourses;
     }
     
+    /**
+     * Returns the Courses in the schedule, in the order they were added. The
+     * array is a copy, so changing it does not change the schedule.
+     * 
+     * @return array of the scheduled Courses
+     */
+    public Course[] getCourses() {
+        Course[] courses = new Course[schedule.size()];
+        for (int i = 0; i < schedule.size(); i++) {
+            courses[i] = schedule.get(i);
+        }
+        return courses;
+    }
+    
     /**
      * Is a cumulative sum that returns the total credits in the Schedule.
      * 
@@ -0,0 +1,34 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Interface for objects that display a Schedule and want to apply each change
+ * to the affected row. Every index is the Course's row in
+ * getScheduledCourses() at the time of the event.
+ */
+public interface ScheduleListener {
+
+	/**
+	 * Called after a Course is added to the schedule.
+	 * 
+	 * @param index  row of the new Course
+	 * @param course Course that was added
+	 */
+	void courseAdded(int index, Course course);
+
+	/**
+	 * Called after a Course is removed from the schedule.
+	 * 
+	 * @param index  row the Course had before it was removed
+	 * @param course Course that was removed
+	 */
+	void courseRemoved(int index, Course course);
+
+	/**
+	 * Called after the schedule is reset to empty, or after restoreCourses()
+	 * replaces its Courses. Every row may have changed, so the listener should
+	 * re-read the whole schedule.
+	 */
+	void scheduleReset();
+}
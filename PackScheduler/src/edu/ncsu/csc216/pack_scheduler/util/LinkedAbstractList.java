@@ -1,6 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Custom Linked Abstract List to fulfill requirements.
@@ -37,6 +41,42 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		this.capacity = capacity;
 	}
 
+	/**
+	 * Constructs a LinkedAbstractList with a specified capacity holding the given
+	 * elements in order. Duplicates are found with a HashSet rather than a
+	 * contains() call for each element, so the list is built in linear time.
+	 *
+	 * @param capacity the maximum number of elements the list can hold
+	 * @param elements the elements to hold, in order
+	 * @throws IllegalArgumentException if the capacity is less than 0
+	 * @throws IllegalArgumentException if there are more elements than the capacity
+	 * @throws IllegalArgumentException if there is a duplicate element
+	 * @throws NullPointerException     if an element is null
+	 */
+	public LinkedAbstractList(int capacity, Collection<? extends E> elements) {
+		this(capacity);
+		if (elements.size() > capacity) {
+			throw new IllegalArgumentException("List has reached its capacity.");
+		}
+		HashSet<E> seen = new HashSet<E>();
+		for (E element : elements) {
+			if (element == null) {
+				throw new NullPointerException("Element cannot be null.");
+			}
+			if (!seen.add(element)) {
+				throw new IllegalArgumentException("Duplicate elements are not allowed.");
+			}
+			ListNode newNode = new ListNode(element);
+			if (front == null) {
+				front = newNode;
+			} else {
+				back.next = newNode;
+			}
+			back = newNode;
+			size++;
+		}
+	}
+
 	/**
 	 * Sets the capacity of the list.
 	 * 
@@ -200,6 +240,18 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		return size;
 	}
 
+	/**
+	 * Returns an iterator that walks the nodes of the list. The iterator
+	 * inherited from AbstractList calls get() for each element, which would make
+	 * contains(), remove(Object), and toArray() quadratic.
+	 * 
+	 * @return iterator over the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new LinkedAbstractListIterator();
+	}
+
 	/**
 	 * Inner Class that assigns the node in the list
 	 * 
@@ -232,4 +284,58 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		}
 	}
 
+	/**
+	 * Iterator that follows the next references of the nodes
+	 */
+	private class LinkedAbstractListIterator implements Iterator<E> {
+		/** Node that next() will return */
+		private ListNode next;
+		/** Node last returned by next(), or null if it was removed */
+		private ListNode lastReturned;
+		/** Node before the one last returned, or null at the front */
+		private ListNode previous;
+
+		/**
+		 * Constructs an iterator starting at the front of the list.
+		 */
+		LinkedAbstractListIterator() {
+			next = front;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			if (lastReturned != null) {
+				previous = lastReturned;
+			}
+			lastReturned = next;
+			next = next.next;
+			return lastReturned.data;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (previous == null) {
+				front = next;
+			} else {
+				previous.next = next;
+			}
+			if (lastReturned == back) {
+				back = previous;
+			}
+			lastReturned = null;
+			size--;
+		}
+	}
+
 }
@@ -4,11 +4,26 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseQuery.TimeBand;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
 /**
  * This class Tests the Course Catalog Class
@@ -137,6 +152,31 @@ public class CourseCatalogTest {
 
 	}
 
+	/**
+	 * Test CourseCatalog.getCourseCatalog() with an offset and limit
+	 */
+	@Test
+	public void testGetCourseCatalogPage() {
+		catalog.loadCoursesFromFile(validTestFile);
+		assertEquals(13, catalog.getNumCourses());
+
+		String[][] page = catalog.getCourseCatalog(10, 5);
+		assertEquals(3, page.length);
+		assertEquals("CSC226", page[0][0]);
+		assertEquals("CSC316", page[2][0]);
+		assertEquals("10", page[2][4]);
+
+		page = catalog.getCourseCatalog(0, 2);
+		assertEquals(2, page.length);
+		assertEquals("CSC116", page[1][0]);
+		assertEquals("002", page[1][1]);
+
+		assertEquals(0, catalog.getCourseCatalog(13, 5).length);
+		assertEquals(0, catalog.getCourseCatalog(20, 5).length);
+		assertThrows(IllegalArgumentException.class, () -> catalog.getCourseCatalog(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getCourseCatalog(0, -1));
+	}
+
 	/**
 	 * Test CourseCatalog.saveCourseCatalog()
 	 */
@@ -173,4 +213,655 @@ public class CourseCatalogTest {
 
 	}
 
+	/**
+	 * Tests that lookups by name and section stay in sync with the catalog after
+	 * loading, removing, and clearing.
+	 */
+	@Test
+	public void testCourseLookupAfterLoadAndRemove() {
+		catalog.loadCoursesFromFile(validTestFile);
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals("CSC216", c.getName());
+		assertEquals("001", c.getSection());
+		assertNull(catalog.getCourseFromCatalog("CSC216", "999"));
+
+		// A loaded course is a duplicate
+		assertFalse(catalog.addCourseToCatalog("CSC216", TITLE, "001", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+				MEETING_DAYS, START_TIME, END_TIME));
+
+		assertTrue(catalog.removeCourseFromCatalog("CSC216", "001"));
+		assertNull(catalog.getCourseFromCatalog("CSC216", "001"));
+		assertEquals(12, catalog.getCourseCatalog().length);
+		assertTrue(catalog.addCourseToCatalog("CSC216", TITLE, "001", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+				MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals(13, catalog.getCourseCatalog().length);
+
+		catalog.newCourseCatalog();
+		assertNull(catalog.getCourseFromCatalog("CSC116", "001"));
+		assertEquals(0, catalog.getCourseCatalog().length);
+	}
+
+	/**
+	 * Test CourseCatalog.findCourses()
+	 */
+	@Test
+	public void testFindCourses() {
+		catalog.loadCoursesFromFile(validTestFile);
+
+		// No criteria matches everything
+		assertEquals(13, catalog.findCourses(new CourseQuery()).size());
+
+		// Tuesday afternoon CSC sections
+		CourseQuery query = new CourseQuery();
+		query.setSubject("CSC");
+		query.setMeetingDays("T");
+		query.setTimeBand(TimeBand.AFTERNOON);
+		List<Course> found = catalog.findCourses(query);
+		assertEquals(1, found.size());
+		assertEquals("CSC216", found.get(0).getName());
+		assertEquals("001", found.get(0).getSection());
+
+		// Every given day must be included
+		query = new CourseQuery();
+		query.setMeetingDays("MWF");
+		found = catalog.findCourses(query);
+		assertEquals(1, found.size());
+		assertEquals("CSC226", found.get(0).getName());
+
+		query = new CourseQuery();
+		query.setTimeBand(TimeBand.ARRANGED);
+		found = catalog.findCourses(query);
+		assertEquals(2, found.size());
+		assertEquals("CSC216", found.get(0).getName());
+		assertEquals("CSC217", found.get(1).getName());
+
+		query = new CourseQuery();
+		query.setSubject("MA");
+		assertTrue(catalog.findCourses(query).isEmpty());
+	}
+
+	/**
+	 * Tests that findCourses() follows changes to a Course's instructor and
+	 * removals from the catalog.
+	 */
+	@Test
+	public void testFindCoursesByInstructor() {
+		assertTrue(catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW",
+				910, 1100));
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+				MEETING_DAYS, START_TIME, END_TIME));
+
+		CourseQuery query = new CourseQuery();
+		query.setInstructorId(INSTRUCTOR_ID);
+		assertEquals(1, catalog.findCourses(query).size());
+
+		catalog.getCourseFromCatalog("CSC116", "001").setInstructorId(INSTRUCTOR_ID);
+		List<Course> found = catalog.findCourses(query);
+		assertEquals(2, found.size());
+		assertEquals("CSC116", found.get(0).getName());
+		assertEquals(NAME, found.get(1).getName());
+
+		query.setInstructorId("jdyoung2");
+		assertTrue(catalog.findCourses(query).isEmpty());
+
+		assertTrue(catalog.removeCourseFromCatalog(NAME, SECTION));
+		query.setInstructorId(INSTRUCTOR_ID);
+		assertEquals(1, catalog.findCourses(query).size());
+	}
+
+	/**
+	 * Tests that catalog listeners are told the position of each Course added,
+	 * removed, updated, or enrolled in, and when the catalog is replaced.
+	 */
+	@Test
+	public void testCatalogListener() {
+		StringBuilder events = new StringBuilder();
+		catalog.addCatalogListener(new CatalogListener() {
+
+			@Override
+			public void courseAdded(int index, Course course) {
+				events.append("added " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void courseRemoved(int index, Course course) {
+				events.append("removed " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void courseUpdated(int index, Course course) {
+				events.append("updated " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void seatsChanged(int index, Course course) {
+				events.append("seats " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void catalogReset() {
+				events.append("reset;");
+			}
+		});
+
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+				MEETING_DAYS, START_TIME, END_TIME));
+		assertTrue(catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", 3, "hlturne3", 10, "MWF",
+				1300, 1430));
+		assertFalse(catalog.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+				MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals("added 0 CSC216;added 0 CSC116;", events.toString());
+
+		events.setLength(0);
+		Course c = catalog.getCourseFromCatalog(NAME, SECTION);
+		c.setInstructorId("jdyoung2");
+		c.getCourseRoll().enroll(new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw"));
+		assertEquals("updated 1 CSC216;seats 1 CSC216;", events.toString());
+
+		events.setLength(0);
+		assertTrue(catalog.removeCourseFromCatalog("CSC116", "002"));
+		assertFalse(catalog.removeCourseFromCatalog("CSC116", "002"));
+		assertEquals("removed 0 CSC116;", events.toString());
+
+		events.setLength(0);
+		catalog.loadCoursesFromFile(validTestFile);
+		catalog.newCourseCatalog();
+		assertEquals("reset;reset;", events.toString());
+
+		//Courses that left the catalog no longer report changes through it
+		events.setLength(0);
+		c.setInstructorId(INSTRUCTOR_ID);
+		assertEquals("", events.toString());
+	}
+
+	/**
+	 * Tests that reloading an edited course file applies only the changed records,
+	 * keeping the Courses and rolls of the rest and telling listeners about each
+	 * change.
+	 * 
+	 * @throws IOException if the edited file cannot be written
+	 */
+	@Test
+	public void testReloadCoursesFromFile() throws IOException {
+		catalog.loadCoursesFromFile(validTestFile);
+		Course updatedCourse = catalog.getCourseFromCatalog("CSC216", "001");
+		Course keptCourse = catalog.getCourseFromCatalog("CSC116", "001");
+		Course unchangedCourse = catalog.getCourseFromCatalog("CSC230", "001");
+		Student s = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw");
+		updatedCourse.getCourseRoll().enroll(s);
+		keptCourse.getCourseRoll().enroll(s);
+
+		List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(validTestFile)));
+		lines.replaceAll(line -> line.replace("CSC216,Software Development Fundamentals,001,3,sesmith5,10",
+				"CSC216,Software Dev Fundamentals,001,3,sesmith5,20"));
+		lines.removeIf(line -> line.startsWith("CSC226,") || line.startsWith("CSC116,Intro to Programming - Java,001"));
+		lines.add("CSC316,Data Structures and Algorithms,002,3,jtking,10,TH,830,945");
+		String reloadFile = "test-files/actual_reload_courses.txt";
+		Files.write(Paths.get(reloadFile), lines);
+
+		StringBuilder events = new StringBuilder();
+		catalog.addCatalogListener(new CatalogListener() {
+
+			@Override
+			public void courseAdded(int index, Course course) {
+				events.append("added " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void courseRemoved(int index, Course course) {
+				events.append("removed " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void courseUpdated(int index, Course course) {
+				events.append("updated " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void seatsChanged(int index, Course course) {
+				events.append("seats " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void catalogReset() {
+				events.append("reset;");
+			}
+		});
+
+		CatalogDiff diff = catalog.reloadCoursesFromFile(reloadFile, null);
+		assertEquals("removed 10 CSC226;added 12 CSC316;seats 3 CSC216;updated 3 CSC216;", events.toString());
+		assertEquals(1, diff.getAdded().size());
+		assertEquals("002", diff.getAdded().get(0).getSection());
+		assertNull(diff.getAdded().get(0).getInstructorId());
+		assertEquals(1, diff.getRemoved().size());
+		assertEquals("CSC226", diff.getRemoved().get(0).getName());
+		assertEquals(Arrays.asList(updatedCourse), diff.getUpdated());
+		assertEquals(Arrays.asList(keptCourse), diff.getRejected());
+		assertEquals(10, diff.getUnchanged());
+
+		assertEquals(13, catalog.getNumCourses());
+		assertSame(updatedCourse, catalog.getCourseFromCatalog("CSC216", "001"));
+		assertEquals("Software Dev Fundamentals", updatedCourse.getTitle());
+		assertEquals(20, updatedCourse.getCourseRoll().getEnrollmentCap());
+		assertEquals(19, updatedCourse.getCourseRoll().getOpenSeats());
+		assertSame(keptCourse, catalog.getCourseFromCatalog("CSC116", "001"));
+		assertSame(unchangedCourse, catalog.getCourseFromCatalog("CSC230", "001"));
+		assertNull(catalog.getCourseFromCatalog("CSC226", "001"));
+		//The indexes follow the changes
+		assertEquals(2, catalog.searchCourses("CSC316", 10).size());
+		assertEquals(Arrays.asList(updatedCourse), catalog.searchCourses("dev", 1));
+		assertEquals(0, catalog.searchCourses("discrete", 10).size());
+
+		//Reloading the same file again changes nothing
+		events.setLength(0);
+		diff = catalog.reloadCoursesFromFile(reloadFile, null);
+		assertTrue(diff.isEmpty());
+		assertEquals(12, diff.getUnchanged());
+		assertEquals("", events.toString());
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.reloadCoursesFromFile("test-files/nothing.txt", null));
+	}
+
+	/**
+	 * Tests that reloading moves Courses whose records name a new instructor
+	 * between the instructors' schedules.
+	 * 
+	 * @throws IOException if the reload file cannot be written
+	 */
+	@Test
+	public void testReloadCoursesFromFileInstructors() throws IOException {
+		FacultyDirectory faculty = new FacultyDirectory();
+		faculty.addFaculty("Sarah", "Smith", "sesmith5", "sesmith5@ncsu.edu", "pw", "pw", 3);
+		faculty.addFaculty("Jo", "Young", "jdyoung2", "jdyoung2@ncsu.edu", "pw", "pw", 3);
+		Faculty sesmith5 = faculty.getFacultyById("sesmith5");
+		Faculty jdyoung2 = faculty.getFacultyById("jdyoung2");
+		catalog.loadCoursesFromFile(validTestFile, faculty);
+		Course moved = catalog.getCourseFromCatalog("CSC216", "001");
+		Course unassigned = catalog.getCourseFromCatalog("CSC116", "001");
+		assertEquals("sesmith5", moved.getInstructorId());
+		assertEquals(5, sesmith5.getSchedule().getNumScheduledCourses());
+		assertEquals(1, jdyoung2.getSchedule().getNumScheduledCourses());
+
+		List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(validTestFile)));
+		lines.replaceAll(line -> line.replace("CSC216,Software Development Fundamentals,001,3,sesmith5",
+				"CSC216,Software Development Fundamentals,001,3,jdyoung2")
+				.replace("CSC116,Intro to Programming - Java,001,3,jdyoung2", "CSC116,Intro to Programming - Java,001,3,nobody"));
+		String reloadFile = "test-files/actual_reload_instructors.txt";
+		Files.write(Paths.get(reloadFile), lines);
+
+		CatalogDiff diff = catalog.reloadCoursesFromFile(reloadFile, faculty);
+		assertEquals(Arrays.asList(unassigned, moved), diff.getUpdated());
+		assertEquals("jdyoung2", moved.getInstructorId());
+		assertNull(unassigned.getInstructorId());
+		assertEquals(4, sesmith5.getSchedule().getNumScheduledCourses());
+		assertEquals(1, jdyoung2.getSchedule().getNumScheduledCourses());
+		assertEquals("CSC216", jdyoung2.getSchedule().getScheduledCourses()[0][0]);
+
+		//An instructor not in the directory matches a Course without one
+		diff = catalog.reloadCoursesFromFile(reloadFile, faculty);
+		assertTrue(diff.isEmpty());
+
+		//Without a directory, instructors are left as they are
+		diff = catalog.reloadCoursesFromFile(validTestFile, null);
+		assertTrue(diff.isEmpty());
+		assertEquals("jdyoung2", moved.getInstructorId());
+	}
+
+	/**
+	 * Tests CourseCatalog.searchCourses() on names, title words, and prefixes,
+	 * and that the search follows title changes and removals.
+	 */
+	@Test
+	public void testSearchCourses() {
+		catalog.loadCoursesFromFile(validTestFile);
+
+		List<Course> found = catalog.searchCourses("Discrete", 10);
+		assertEquals(1, found.size());
+		assertEquals("CSC226", found.get(0).getName());
+
+		//Name prefixes rank ahead of title words, then catalog order
+		found = catalog.searchCourses("csc2", 3);
+		assertEquals(3, found.size());
+		assertEquals("CSC216", found.get(0).getName());
+		assertEquals("001", found.get(0).getSection());
+		assertEquals("CSC216", found.get(2).getName());
+		assertEquals("601", found.get(2).getSection());
+
+		//Every word must match, and whole words rank ahead of prefixes
+		found = catalog.searchCourses("software fund", 10);
+		assertEquals(7, found.size());
+		found = catalog.searchCourses("software lab", 10);
+		assertEquals(4, found.size());
+		assertEquals("CSC217", found.get(0).getName());
+		found = catalog.searchCourses("prog", 10);
+		assertEquals(3, found.size());
+		assertEquals("CSC116", found.get(0).getName());
+
+		assertTrue(catalog.searchCourses("", 10).isEmpty());
+		assertTrue(catalog.searchCourses("csc216 discrete", 10).isEmpty());
+		assertTrue(catalog.searchCourses("software", 0).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchCourses(null, 10));
+		assertThrows(IllegalArgumentException.class, () -> catalog.searchCourses("software", -1));
+
+		catalog.getCourseFromCatalog("CSC226", "001").setTitle("Discrete Math");
+		assertEquals(1, catalog.searchCourses("math", 10).size());
+		assertTrue(catalog.searchCourses("mathematics", 10).isEmpty());
+
+		assertTrue(catalog.removeCourseFromCatalog("CSC226", "001"));
+		assertTrue(catalog.searchCourses("discrete", 10).isEmpty());
+	}
+
+	/**
+	 * Tests CourseCatalog.findOpenSections() and suggestAlternativeSection() as
+	 * students enroll and drop and enrollment caps change.
+	 */
+	@Test
+	public void testFindOpenSections() {
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "001", CREDITS, INSTRUCTOR_ID, 10, "TH", 1330, 1445));
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "002", CREDITS, INSTRUCTOR_ID, 11, "MW", 1330, 1445));
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "003", CREDITS, INSTRUCTOR_ID, 12, "MW", 830, 945));
+		Course s1 = catalog.getCourseFromCatalog(NAME, "001");
+		Course s2 = catalog.getCourseFromCatalog(NAME, "002");
+		Course s3 = catalog.getCourseFromCatalog(NAME, "003");
+
+		List<Course> open = catalog.findOpenSections(NAME);
+		assertEquals(3, open.size());
+		assertEquals("003", open.get(0).getSection());
+		assertEquals("002", open.get(1).getSection());
+		assertEquals("001", open.get(2).getSection());
+		assertTrue(catalog.findOpenSections("CSC116").isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> catalog.findOpenSections(null));
+
+		//Fill section 002 and check it drops out
+		Student dropped = null;
+		for (int i = 0; i < 11; i++) {
+			Student s = new Student("First", "Last", "id" + i, "email@ncsu.edu", "pw");
+			s2.getCourseRoll().enroll(s);
+			dropped = s;
+		}
+		open = catalog.findOpenSections(NAME);
+		assertEquals(2, open.size());
+		assertEquals("003", open.get(0).getSection());
+		assertEquals("001", open.get(1).getSection());
+
+		//Section 001 starts at the same time as the full section 002
+		assertEquals(s1, catalog.suggestAlternativeSection(s2));
+		assertEquals(s1, catalog.suggestAlternativeSection(s3));
+		assertThrows(IllegalArgumentException.class, () -> catalog.suggestAlternativeSection(null));
+
+		s1.getCourseRoll().setEnrollmentCap(10);
+		s2.getCourseRoll().drop(dropped);
+		s1.getCourseRoll().enroll(dropped);
+		for (int i = 0; i < 9; i++) {
+			s1.getCourseRoll().enroll(new Student("First", "Last", "other" + i, "email@ncsu.edu", "pw"));
+		}
+		open = catalog.findOpenSections(NAME);
+		assertEquals(2, open.size());
+		assertEquals("003", open.get(0).getSection());
+		assertEquals("002", open.get(1).getSection());
+		assertEquals(s2, catalog.suggestAlternativeSection(s1));
+
+		assertTrue(catalog.removeCourseFromCatalog(NAME, "002"));
+		assertEquals(s3, catalog.suggestAlternativeSection(s1));
+		assertTrue(catalog.removeCourseFromCatalog(NAME, "003"));
+		assertNull(catalog.suggestAlternativeSection(s1));
+		assertTrue(catalog.findOpenSections(NAME).isEmpty());
+	}
+
+	/**
+	 * Tests that a roll change does not wait for the catalog's lock, and that the
+	 * open seat queries still see it once they run.
+	 * 
+	 * @throws InterruptedException if the enrolling thread is interrupted
+	 */
+	@Test
+	public void testRollChangeWithoutCatalogLock() throws InterruptedException {
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "001", CREDITS, INSTRUCTOR_ID, 10, "TH", 1330, 1445));
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "002", CREDITS, INSTRUCTOR_ID, 11, "MW", 1330, 1445));
+		Course s1 = catalog.getCourseFromCatalog(NAME, "001");
+		StringBuffer events = new StringBuffer();
+		catalog.addCatalogListener(new CatalogListener() {
+
+			@Override
+			public void courseAdded(int index, Course course) {
+				events.append("added;");
+			}
+
+			@Override
+			public void courseRemoved(int index, Course course) {
+				events.append("removed;");
+			}
+
+			@Override
+			public void courseUpdated(int index, Course course) {
+				events.append("updated;");
+			}
+
+			@Override
+			public void seatsChanged(int index, Course course) {
+				events.append("seats " + index + " " + course.getSection() + ";");
+			}
+
+			@Override
+			public void catalogReset() {
+				events.append("reset;");
+			}
+		});
+		long version = catalog.getVersion();
+		long recordVersion = catalog.getRecordVersion();
+
+		Thread enroller = new Thread(() -> {
+			for (int i = 0; i < 2; i++) {
+				s1.getCourseRoll().enroll(new Student("First", "Last", "id" + i, "email@ncsu.edu", "pw"));
+			}
+		});
+		synchronized (catalog) {
+			enroller.start();
+			enroller.join(10000);
+			assertFalse(enroller.isAlive());
+		}
+		assertEquals("seats 0 001;seats 0 001;", events.toString());
+		assertEquals(version + 2, catalog.getVersion());
+		assertEquals(recordVersion, catalog.getRecordVersion());
+		assertEquals(8, s1.getCourseRoll().getOpenSeats());
+
+		//Section 002 now has more open seats than 001
+		List<Course> open = catalog.findOpenSections(NAME);
+		assertEquals("002", open.get(0).getSection());
+		assertEquals("001", open.get(1).getSection());
+	}
+
+	/**
+	 * Tests that searches and queries are answered while another thread holds
+	 * the catalog's lock, as a reload does, and see the last change published.
+	 *
+	 * @throws InterruptedException if the reader thread is interrupted
+	 */
+	@Test
+	public void testQueriesWithoutCatalogLock() throws InterruptedException {
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "001", CREDITS, INSTRUCTOR_ID, 10, "TH", 1330, 1445));
+		assertTrue(catalog.addCourseToCatalog(NAME, TITLE, "002", CREDITS, INSTRUCTOR_ID, 11, "MW", 1330, 1445));
+		assertTrue(catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10,
+				"MW", 910, 1100));
+		Course s1 = catalog.getCourseFromCatalog(NAME, "001");
+		s1.setTitle("Data Structures");
+		CourseQuery query = new CourseQuery();
+		query.setInstructorId(INSTRUCTOR_ID);
+
+		StringBuffer results = new StringBuffer();
+		Thread reader = new Thread(() -> {
+			results.append(catalog.findCourses(query).size() + ";");
+			results.append(catalog.searchCourses("data", 10).size() + ";");
+			results.append(catalog.findOpenSections(NAME).get(0).getSection() + ";");
+			results.append(catalog.suggestAlternativeSection(s1).getSection() + ";");
+			results.append(catalog.findNonConflictingCourses(new Schedule()).size() + ";");
+			Student student = new Student("First", "Last", "id", "email@ncsu.edu", "pw");
+			results.append(catalog.findNonConflictingCourses(student).size() + ";");
+		});
+		synchronized (catalog) {
+			reader.start();
+			reader.join(10000);
+			assertFalse(reader.isAlive());
+		}
+		assertEquals("2;1;002;002;3;3;", results.toString());
+	}
+
+	/**
+	 * Tests that snapshots from CourseCatalog.getSnapshot() do not change when the
+	 * catalog is edited, and that a reader on another thread always sees a
+	 * complete, sorted catalog while a writer edits it.
+	 * 
+	 * @throws InterruptedException if the reader thread is interrupted
+	 */
+	@Test
+	public void testGetSnapshot() throws InterruptedException {
+		catalog.loadCoursesFromFile(validTestFile);
+		CatalogSnapshot before = catalog.getSnapshot();
+		assertEquals(13, before.size());
+		assertTrue(catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "004", 3, "jdyoung2", 10, "MW",
+				910, 1100));
+		assertTrue(catalog.removeCourseFromCatalog("CSC316", "001"));
+
+		assertEquals(13, before.size());
+		assertEquals(-1, before.indexOf(catalog.getCourseFromCatalog("CSC116", "004")));
+		assertEquals("CSC316", before.get(12).getName());
+		assertEquals("CSC316", before.getCourse("CSC316", "001").getName());
+		CatalogSnapshot after = catalog.getSnapshot();
+		assertEquals(13, after.size());
+		assertEquals(3, after.indexOf(catalog.getCourseFromCatalog("CSC116", "004")));
+		assertNull(after.getCourse("CSC316", "001"));
+		assertThrows(UnsupportedOperationException.class, () -> after.asList().remove(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> after.get(13));
+
+		//Read snapshots on another thread while this thread edits the catalog
+		AtomicBoolean consistent = new AtomicBoolean(true);
+		AtomicBoolean done = new AtomicBoolean(false);
+		Thread reader = new Thread(() -> {
+			while (!done.get()) {
+				CatalogSnapshot snapshot = catalog.getSnapshot();
+				List<Course> courses = snapshot.asList();
+				for (int i = 1; i < courses.size(); i++) {
+					if (courses.get(i - 1).compareTo(courses.get(i)) >= 0
+							|| snapshot.getCourse(courses.get(i).getName(), courses.get(i).getSection()) == null) {
+						consistent.set(false);
+					}
+				}
+			}
+		});
+		reader.start();
+		try {
+			for (int i = 400; i < 900; i++) {
+				assertTrue(catalog.addCourseToCatalog("CSC" + i, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP,
+						MEETING_DAYS, START_TIME, END_TIME));
+				if (i % 2 == 0) {
+					assertTrue(catalog.removeCourseFromCatalog("CSC" + i, SECTION));
+				}
+			}
+		} finally {
+			done.set(true);
+			reader.join();
+		}
+		assertTrue(consistent.get());
+		assertEquals(263, catalog.getNumCourses());
+	}
+
+	/**
+	 * Tests CourseCatalog.addCoursesToCatalog() with duplicates in the catalog
+	 * and within the batch.
+	 */
+	@Test
+	public void testAddCoursesToCatalog() {
+		catalog.loadCoursesFromFile(validTestFile);
+		Course existing = new Course("CSC216", TITLE, "001", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS,
+				START_TIME, END_TIME);
+		Course first = new Course("CSC116", "Intro to Programming - Java", "004", 3, "jdyoung2", 10, "MW", 910, 1100);
+		Course repeat = new Course("CSC116", "Intro to Programming - Java", "004", 3, "spbalik", 10, "TH", 910, 1100);
+		Course last = new Course("CSC999", TITLE, "001", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, "A");
+		Course lab = new Course("CSC217", "Software Development Fundamentals Lab", "212", 1, "sesmith5", 10, "T",
+				1040, 1230);
+
+		boolean[] results = catalog.addCoursesToCatalog(List.of(last, existing, first, repeat, lab));
+		assertEquals(5, results.length);
+		assertTrue(results[0]);
+		assertFalse(results[1]);
+		assertTrue(results[2]);
+		assertFalse(results[3]);
+		assertTrue(results[4]);
+
+		assertEquals(16, catalog.getNumCourses());
+		assertEquals("jdyoung2", catalog.getCourseFromCatalog("CSC116", "004").getInstructorId());
+		String[][] rows = catalog.getCourseCatalog();
+		for (int i = 1; i < rows.length; i++) {
+			assertTrue((rows[i - 1][0] + rows[i - 1][1]).compareTo(rows[i][0] + rows[i][1]) < 0);
+		}
+		assertEquals("CSC116", rows[3][0]);
+		assertEquals("004", rows[3][1]);
+		assertEquals("CSC999", rows[15][0]);
+		assertEquals(1, catalog.searchCourses("csc999", 10).size());
+
+		assertEquals(0, catalog.addCoursesToCatalog(List.of()).length);
+		assertEquals(16, catalog.getNumCourses());
+		assertThrows(IllegalArgumentException.class, () -> catalog.addCoursesToCatalog(null));
+		assertThrows(IllegalArgumentException.class,
+				() -> catalog.addCoursesToCatalog(Arrays.asList(lab, null)));
+	}
+
+	/**
+	 * Tests CourseCatalog.findNonConflictingCourses() against Student.canAdd()
+	 * as the schedule, credit limit, and meeting times change.
+	 */
+	@Test
+	public void testFindNonConflictingCourses() {
+		catalog.loadCoursesFromFile(validTestFile);
+		Student student = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 7);
+		assertEquals(13, catalog.findNonConflictingCourses(student).size());
+
+		//CSC216-001 meets TH 1330-1445 and CSC116-001 meets MW 910-1100
+		student.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC216", "001"));
+		student.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC116", "001"));
+		assertCanAddMatches(student);
+		List<Course> found = catalog.findNonConflictingCourses(student);
+		//CSC217-202 meets M 1040-1230, overlapping CSC116-001
+		assertEquals(3, found.size());
+		assertEquals("CSC217", found.get(0).getName());
+		assertEquals("211", found.get(0).getSection());
+		assertEquals("CSC217", found.get(2).getName());
+		assertEquals("601", found.get(2).getSection());
+
+		//Without the credit limit the three credit courses that fit come back too
+		found = catalog.findNonConflictingCourses(student.getSchedule());
+		assertEquals(4, found.size());
+		assertEquals("CSC230", found.get(3).getName());
+
+		//Moving a course refreshes the index
+		catalog.getCourseFromCatalog("CSC217", "223").setMeetingDaysAndTime("H", 1400, 1500);
+		assertCanAddMatches(student);
+		assertEquals(2, catalog.findNonConflictingCourses(student).size());
+		assertTrue(catalog.addCourseToCatalog("CSC217", "Software Development Fundamentals Lab", "224", 1, "sesmith5",
+				10, "F", 1000, 1100));
+		assertCanAddMatches(student);
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.findNonConflictingCourses((Student) null));
+		assertThrows(IllegalArgumentException.class,
+				() -> catalog.findNonConflictingCourses((Schedule) null));
+	}
+
+	/**
+	 * Checks that findNonConflictingCourses() returns exactly the Courses that
+	 * Student.canAdd() accepts.
+	 * 
+	 * @param student Student to check
+	 */
+	private void assertCanAddMatches(Student student) {
+		List<Course> found = catalog.findNonConflictingCourses(student);
+		int expected = 0;
+		for (Course c : catalog.getSnapshot().asList()) {
+			if (student.canAdd(c)) {
+				assertTrue(found.contains(c), c.getName() + "-" + c.getSection());
+				expected++;
+			}
+		}
+		assertEquals(expected, found.size());
+	}
+
 }
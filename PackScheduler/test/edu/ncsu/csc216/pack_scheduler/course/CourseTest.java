@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -14,6 +15,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
 /**
  * Tests the Course class.
  * 
@@ -514,6 +517,65 @@ public class CourseTest {
 		}
 	}
 
+	/**
+	 * Tests that getShortDisplayArray() reflects changes to the meeting
+	 * information and roll after it has been displayed once.
+	 */
+	@Test
+	public void testGetShortDisplayArrayAfterChanges() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME,
+				END_TIME);
+		String[] first = c.getShortDisplayArray();
+		assertEquals("MW 1:30PM-2:45PM", first[3]);
+		assertEquals("25", first[4]);
+
+		// Changing a returned row does not change the Course's display
+		first[2] = "Changed";
+		assertEquals(TITLE, c.getShortDisplayArray()[2]);
+
+		c.setMeetingDaysAndTime("TH", 900, 1015);
+		c.getCourseRoll().enroll(new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw"));
+		String[] second = c.getShortDisplayArray();
+		assertEquals("TH 9:00AM-10:15AM", second[3]);
+		assertEquals("24", second[4]);
+
+		c.setTitle("New Title");
+		assertEquals("New Title", c.getShortDisplayArray()[2]);
+	}
+
+	/**
+	 * Tests that rows read while another thread changes the Course are always
+	 * whole, and that the last row read shows the final state.
+	 * 
+	 * @throws InterruptedException if the writing thread is interrupted
+	 */
+	@Test
+	public void testGetShortDisplayArrayWhileChanging() throws InterruptedException {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME,
+				END_TIME);
+		Student s = new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw");
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < 20000; i++) {
+				c.setTitle(i % 2 == 0 ? "Even" : "Odd");
+				c.getCourseRoll().enroll(s);
+				c.getCourseRoll().drop(s);
+			}
+			c.setTitle("Done");
+		});
+		writer.start();
+		while (writer.isAlive()) {
+			String[] row = c.getShortDisplayArray();
+			assertEquals(5, row.length);
+			for (String field : row) {
+				assertTrue(field != null);
+			}
+			assertTrue(row[4].equals("24") || row[4].equals("25"));
+		}
+		writer.join();
+		assertEquals("Done", c.getShortDisplayArray()[2]);
+		assertEquals("25", c.getShortDisplayArray()[4]);
+	}
+
 	/**
 	 * Ensuring that you updates to the toString() method is correct.
 	 */
@@ -525,4 +587,23 @@ public class CourseTest {
 		assertEquals(test, c.toString());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests that sections read from separate strings share one copy of their
+	 * repeated fields, and that times survive being stored compactly.
+	 */
+	@Test
+	public void testSharedFields() {
+		Course c1 = new Course(new String(NAME), new String(TITLE), new String(SECTION), CREDITS,
+				new String(INSTRUCTOR_ID), ENROLLMENT_CAP, new String(MEETING_DAYS), START_TIME, END_TIME);
+		Course c2 = new Course(new String(NAME), new String(TITLE), "002", CREDITS, new String(INSTRUCTOR_ID),
+				ENROLLMENT_CAP, new String(MEETING_DAYS), 2300, 2359);
+		assertSame(c1.getName(), c2.getName());
+		assertSame(c1.getTitle(), c2.getTitle());
+		assertSame(c1.getInstructorId(), c2.getInstructorId());
+		assertSame(c1.getMeetingDays(), c2.getMeetingDays());
+		assertEquals(2300, c2.getStartTime());
+		assertEquals(2359, c2.getEndTime());
+		assertEquals(0, c1.getCourseRoll().getNumberOnWaitlist());
+	}
+
+}
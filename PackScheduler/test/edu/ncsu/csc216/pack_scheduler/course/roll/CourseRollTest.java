@@ -216,4 +216,40 @@ class CourseRollTest {
 		c.enroll(s);
 		assertThrows(IllegalArgumentException.class, () -> c.setEnrollmentCap(1));
 	}
+
+	/**
+	 * Tests that restore puts back a saved roll and waitlist in order, replacing
+	 * what was there, and rejects rolls that do not fit.
+	 */
+	@Test
+	void testRestore() {
+		CourseRoll c = course.getCourseRoll();
+		c.setEnrollmentCap(10);
+		Student[] enrolled = new Student[10];
+		for (int i = 0; i < enrolled.length; i++) {
+			enrolled[i] = new Student("first", "last", "id" + i, "id" + i + "@ncsu.edu", "hashedpassword");
+		}
+		Student waiting = new Student("first", "last", "wait", "wait@ncsu.edu", "hashedpassword");
+		c.enroll(waiting);
+
+		c.restore(enrolled, new Student[] { waiting });
+		assertEquals(0, c.getOpenSeats());
+		assertEquals(1, c.getNumberOnWaitlist());
+		assertEquals("id3", c.getEnrolledStudents()[3].getId());
+		assertEquals(waiting, c.getWaitlistedStudents()[0]);
+
+		// The waitlist still moves up on a drop
+		c.drop(enrolled[0]);
+		assertEquals(waiting, c.getEnrolledStudents()[9]);
+
+		assertThrows(IllegalArgumentException.class, () -> c.restore(new Student[] { waiting, waiting }, new Student[0]));
+		assertThrows(IllegalArgumentException.class, () -> c.restore(new Student[] { waiting }, new Student[] { waiting }));
+		assertThrows(IllegalArgumentException.class, () -> c.restore(new Student[] { null }, new Student[0]));
+		assertThrows(IllegalArgumentException.class, () -> c.restore(new Student[11], new Student[0]));
+		assertEquals(10, c.getEnrolledStudents().length);
+
+		c.restore(new Student[0], new Student[0]);
+		assertEquals(10, c.getOpenSeats());
+		assertEquals(0, c.getNumberOnWaitlist());
+	}
 }
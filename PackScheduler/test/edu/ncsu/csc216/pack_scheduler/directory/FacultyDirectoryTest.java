@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -138,6 +140,63 @@ public class FacultyDirectoryTest {
 		assertFalse(directory.removeFaculty("nonexistent"));
 	}
 
+	/**
+	 * Tests that lookups by id follow adds, removes, loads, and new directories,
+	 * and that removing keeps the rest of the directory in order.
+	 */
+	@Test
+	public void testIdIndex() {
+		directory.loadFacultyFromFile(validTestFile);
+		assertTrue(directory.addFaculty(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		assertFalse(directory.addFaculty("Other", "Name", ID, EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		assertEquals(FIRST_NAME, directory.getFacultyById(ID).getFirstName());
+
+		assertTrue(directory.removeFaculty("fmeadow"));
+		assertEquals(null, directory.getFacultyById("fmeadow"));
+		String[][] facultyDirectory = directory.getFacultyDirectory();
+		assertEquals(8, facultyDirectory.length);
+		assertEquals("awitt", facultyDirectory[0][2]);
+		assertEquals("bbrewer", facultyDirectory[1][2]);
+		assertEquals(ID, facultyDirectory[7][2]);
+
+		directory.newFacultyDirectory();
+		assertEquals(null, directory.getFacultyById("awitt"));
+		assertTrue(directory.addFaculty(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+	}
+
+	/**
+	 * Tests adding a batch of faculty, which turns away duplicate ids and invalid
+	 * fields and adds the rest in batch order.
+	 */
+	@Test
+	public void testAddFacultyBatch() {
+		directory.loadFacultyFromFile(validTestFile);
+		List<NewAccount> batch = new ArrayList<>();
+		batch.add(new NewAccount(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		batch.add(new NewAccount("Ashely", "Witt", "awitt", EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		batch.add(new NewAccount("Ann", "Zed", "azed", EMAIL, PASSWORD, PASSWORD, 5));
+		batch.add(new NewAccount("Other", "Name", ID, EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		batch.add(new NewAccount("Bob", "Yu", "byu", EMAIL, "", "", MAX_COURSES));
+		batch.add(new NewAccount("Ann", "Able", "aable", EMAIL, PASSWORD, PASSWORD, 1));
+
+		List<AddResult> results = directory.addFaculty(batch);
+		assertEquals(6, results.size());
+		assertEquals(AddResult.Status.ADDED, results.get(0).getStatus());
+		assertEquals(AddResult.Status.DUPLICATE, results.get(1).getStatus());
+		assertEquals(AddResult.Status.INVALID, results.get(2).getStatus());
+		assertEquals(AddResult.Status.DUPLICATE, results.get(3).getStatus());
+		assertEquals(AddResult.Status.INVALID, results.get(4).getStatus());
+		assertEquals("Invalid password", results.get(4).getReason());
+		assertEquals(AddResult.Status.ADDED, results.get(5).getStatus());
+
+		String[][] facultyDirectory = directory.getFacultyDirectory();
+		assertEquals(10, facultyDirectory.length);
+		assertEquals(ID, facultyDirectory[8][2]);
+		assertEquals("aable", facultyDirectory[9][2]);
+		assertEquals(FIRST_NAME, directory.getFacultyById(ID).getFirstName());
+		assertTrue(directory.removeFaculty("aable"));
+	}
+
 	/**
 	 * Tests FacultyDirectory.saveFacultyDirectory().
 	 */
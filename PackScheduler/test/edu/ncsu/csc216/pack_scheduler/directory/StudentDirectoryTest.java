@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.directory;
 
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -12,6 +13,8 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
@@ -228,6 +231,99 @@ public class StudentDirectoryTest {
 		
 		
 	}
+
+	/**
+	 * Tests adding a batch of students, which must leave the directory as adding
+	 * them one at a time would.
+	 */
+	@Test
+	public void testAddStudents() {
+		List<NewAccount> batch = new ArrayList<NewAccount>();
+		batch.add(new NewAccount("Amy", "Able", "aable", "aable@ncsu.edu", PASSWORD, PASSWORD, 12));
+		batch.add(new NewAccount("Zahir", "King", "zking", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		batch.add(new NewAccount("Bo", "Bell", "bbell", "bbell@ncsu.edu", PASSWORD, "other", 12));
+		batch.add(new NewAccount("Cy", "Cole", "ccole", "ccole@ncsu.edu", PASSWORD, PASSWORD, 30));
+		batch.add(new NewAccount("Amy", "Able", "aable", "aable@ncsu.edu", PASSWORD, PASSWORD, 12));
+		batch.add(new NewAccount("Di", "Dunn", "ddunn", "no email", PASSWORD, PASSWORD, 12));
+		batch.add(new NewAccount("Ed", "Able", "eable", "eable@ncsu.edu", PASSWORD, PASSWORD, 12));
+		batch.add(new NewAccount("Amy", "Able", "aable2", "aable2@ncsu.edu", PASSWORD, PASSWORD, 12));
+
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		long version = sd.getVersion();
+		List<AddResult> results = sd.addStudents(batch);
+		assertEquals(version + 1, sd.getVersion());
+
+		AddResult.Status[] expected = { AddResult.Status.ADDED, AddResult.Status.DUPLICATE,
+				AddResult.Status.INVALID, AddResult.Status.ADDED, AddResult.Status.DUPLICATE,
+				AddResult.Status.INVALID, AddResult.Status.ADDED, AddResult.Status.ADDED };
+		assertEquals(expected.length, results.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(i, results.get(i).getIndex());
+			assertEquals(batch.get(i).getId(), results.get(i).getId());
+			assertEquals(expected[i], results.get(i).getStatus());
+		}
+		assertEquals(null, results.get(0).getReason());
+		assertEquals("Passwords do not match", results.get(2).getReason());
+		assertEquals("Invalid email", results.get(5).getReason());
+		assertEquals(18, sd.getStudentById("ccole").getMaxCredits());
+
+		StudentDirectory one = new StudentDirectory();
+		one.loadStudentsFromFile(validTestFile);
+		for (NewAccount a : batch) {
+			try {
+				one.addStudent(a.getFirstName(), a.getLastName(), a.getId(), a.getEmail(), a.getPassword(),
+						a.getRepeatPassword(), a.getMax());
+			} catch (IllegalArgumentException e) {
+				// Rejected as in the batch
+			}
+		}
+		assertArrayEquals(one.getStudentDirectory(), sd.getStudentDirectory());
+		assertTrue(sd.removeStudent("aable2"));
+		assertEquals(13, sd.getStudentDirectory().length);
+
+		version = sd.getVersion();
+		assertTrue(sd.addStudents(new ArrayList<NewAccount>()).isEmpty());
+		assertEquals(version, sd.getVersion());
+	}
+
+	/**
+	 * Tests that lookups by id follow adds, removes, loads, and new directories,
+	 * and that a load keeps only the first student with each id.
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testIdIndex() throws IOException {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		assertTrue(sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals(FIRST_NAME, sd.getStudentById(ID).getFirstName());
+		assertFalse(sd.addStudent("Other", "Name", ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+
+		assertTrue(sd.removeStudent("zking"));
+		assertEquals(null, sd.getStudentById("zking"));
+		assertFalse(sd.removeStudent("zking"));
+		assertEquals(10, sd.getStudentDirectory().length);
+		for (String[] row : sd.getStudentDirectory()) {
+			assertFalse("zking".equals(row[2]));
+			assertEquals(row[2], sd.getStudentById(row[2]).getId());
+		}
+		assertTrue(sd.addStudent("Zahir", "King", "zking", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals(11, sd.getStudentDirectory().length);
+
+		sd.newStudentDirectory();
+		assertEquals(null, sd.getStudentById(ID));
+
+		Path duplicates = FileSystems.getDefault().getPath("test-files", "actual_duplicate_id_students.txt");
+		Files.write(duplicates, java.util.Arrays.asList(
+				"Zahir,King,zking,orci.Donec@ametmassaQuisque.com,MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=,15",
+				"Abel,Adams,zking,orci.Donec@ametmassaQuisque.com,MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=,15"));
+		sd.loadStudentsFromFile(duplicates.toString());
+		assertEquals(1, sd.getStudentDirectory().length);
+		assertEquals("Zahir", sd.getStudentById("zking").getFirstName());
+		assertTrue(sd.removeStudent("zking"));
+		assertEquals(0, sd.getStudentDirectory().length);
+	}
 	
 	
 }
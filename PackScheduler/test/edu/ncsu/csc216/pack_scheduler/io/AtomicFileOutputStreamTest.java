@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests AtomicFileOutputStream.
+ */
+public class AtomicFileOutputStreamTest {
+
+	/** File replaced by the test */
+	private static final String TEST_FILE = "test-files/actual_atomic_file.txt";
+
+	/**
+	 * Tests that a committed stream replaces the file and an abandoned one
+	 * leaves it as it was, without leaving temporary files behind.
+	 *
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testCommit() throws IOException {
+		byte[] first = new byte[3 * AtomicFileOutputStream.BUFFER_SIZE + 5];
+		for (int i = 0; i < first.length; i++) {
+			first[i] = (byte) i;
+		}
+		AtomicFileOutputStream out = new AtomicFileOutputStream(TEST_FILE);
+		out.write(first);
+		out.commit();
+		out.close();
+		assertEquals(first.length, out.getBytesWritten());
+		assertArrayEquals(first, Files.readAllBytes(Paths.get(TEST_FILE)));
+
+		// Not committed, so the first contents stay
+		try (AtomicFileOutputStream abandoned = new AtomicFileOutputStream(TEST_FILE)) {
+			abandoned.write(new byte[] { 1, 2, 3 });
+			abandoned.flush();
+		}
+		assertArrayEquals(first, Files.readAllBytes(Paths.get(TEST_FILE)));
+
+		String[] temps = new File("test-files").list((dir, name) -> name.startsWith("actual_atomic_file.txt."));
+		assertEquals(0, temps.length);
+	}
+
+	/**
+	 * Tests that replacing a file keeps its permissions.
+	 *
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testKeepsPermissions() throws IOException {
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path path = Paths.get(TEST_FILE);
+		Files.write(path, new byte[] { 1 });
+		Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-r-----"));
+
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(TEST_FILE)) {
+			out.write(new byte[] { 2 });
+			out.commit();
+		}
+		assertArrayEquals(new byte[] { 2 }, Files.readAllBytes(path));
+		assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+	}
+
+	/**
+	 * Tests that a file in a missing directory cannot be opened and is not created.
+	 */
+	@Test
+	public void testMissingDirectory() {
+		assertThrows(IOException.class, () -> new AtomicFileOutputStream("test-files/no_such_dir/file.txt"));
+		assertFalse(new File("test-files/no_such_dir").exists());
+	}
+}
@@ -0,0 +1,195 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests reading and writing compressed record files.
+ */
+public class CompressionTest {
+
+	/** Valid course records */
+	private static final String COURSE_FILE = "test-files/course_records.txt";
+	/** Valid student records */
+	private static final String STUDENT_FILE = "test-files/student_records.txt";
+	/** Valid faculty records */
+	private static final String FACULTY_FILE = "test-files/faculty_records.txt";
+
+	/**
+	 * Tests recognizing gzip files by their first bytes, zlib files only by name,
+	 * and choosing the compression to write by file name.
+	 */
+	@Test
+	public void testDetect() {
+		assertEquals(Compression.GZIP, Compression.detect("courses.txt", 0x1f, 0x8b));
+		assertEquals(Compression.GZIP, Compression.detect("courses.zz", 0x1f, 0x8b));
+		assertEquals(Compression.DEFLATE, Compression.detect("courses.zz", 0x78, 0x9c));
+		assertEquals(Compression.DEFLATE, Compression.detect("courses.deflate", 0x78, 0x01));
+		assertEquals(Compression.NONE, Compression.detect("courses.txt", 0x78, 0x9c));
+		assertEquals(Compression.NONE, Compression.detect("courses.txt", 'C', 'S'));
+		// Text that starts as a zlib header does, such as "HK" or "x^", is text
+		assertEquals(Compression.NONE, Compression.detect("courses.txt", 'H', 'K'));
+		assertEquals(Compression.NONE, Compression.detect("courses.txt", 'x', '^'));
+		assertEquals(Compression.NONE, Compression.detect("courses.txt", -1, -1));
+
+		assertEquals(Compression.GZIP, Compression.forFileName("courses.txt.GZ"));
+		assertEquals(Compression.DEFLATE, Compression.forFileName("courses.zz"));
+		assertEquals(Compression.DEFLATE, Compression.forFileName("courses.deflate"));
+		assertEquals(Compression.NONE, Compression.forFileName("courses.txt"));
+	}
+
+	/**
+	 * Tests that a plain file whose first line starts as a zlib header does is
+	 * read as text, and that a file named as zlib that is not fails to read.
+	 *
+	 * @throws IOException if a test file cannot be written
+	 */
+	@Test
+	public void testTextLikeZlibHeader() throws IOException {
+		String fileName = "test-files/actual_zlib_like_courses.txt";
+		List<String> lines = Files.readAllLines(Paths.get(COURSE_FILE), Charset.defaultCharset());
+		List<String> records = new ArrayList<>();
+		records.add("HKS101,Hong Kong Studies,001,3,jdyoung2,10,MW,910,1100");
+		records.add(lines.get(0));
+		Files.write(Paths.get(fileName), records, Charset.defaultCharset());
+		assertEquals(2, CourseRecordIO.readCourseList(fileName).size());
+		try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(fileName, null)) {
+			assertEquals(2, reader.stream().count());
+		}
+
+		String zlibName = "test-files/actual_not_zlib.zz";
+		Files.write(Paths.get(zlibName), records, Charset.defaultCharset());
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseList(zlibName));
+	}
+
+	/**
+	 * Tests that records written to compressed files read back as written, from
+	 * the list readers and the stream readers alike.
+	 *
+	 * @throws IOException if a test file cannot be read or written
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		List<Course> courses = CourseRecordIO.readCourseList(COURSE_FILE);
+		for (String fileName : new String[] { "test-files/actual_courses.txt.gz", "test-files/actual_courses.zz" }) {
+			WriteResult result = CourseRecordIO.writeCourseRecords(fileName, courses);
+			assertEquals(courses.size(), result.getRecords());
+			assertEquals(new File(fileName).length(), result.getBytes());
+			assertTrue(result.getBytes() < new File(COURSE_FILE).length());
+			byte[] head = Arrays.copyOf(Files.readAllBytes(Paths.get(fileName)), 2);
+			assertEquals(Compression.forFileName(fileName), Compression.detect(fileName, head[0] & 0xff, head[1] & 0xff));
+
+			assertEquals(courses, CourseRecordIO.readCourseList(fileName));
+			try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(fileName, null)) {
+				assertEquals(courses, reader.stream().collect(Collectors.toList()));
+			}
+		}
+
+		List<Student> students = StudentRecordIO.readStudentList(STUDENT_FILE);
+		StudentRecordIO.writeStudentRecords("test-files/actual_students.txt.gz", students);
+		assertEquals(students, StudentRecordIO.readStudentList("test-files/actual_students.txt.gz"));
+
+		List<Faculty> faculty = new ArrayList<>(FacultyRecordIO.readFacultyRecords(FACULTY_FILE));
+		FacultyRecordIO.writeFacultyRecords("test-files/actual_faculty.zz", faculty);
+		assertEquals(faculty.size(), FacultyRecordIO.readFacultyRecords("test-files/actual_faculty.zz").size());
+	}
+
+	/**
+	 * Tests that a large gzip file is read whatever its name, and that a file cut
+	 * short fails to read rather than giving the records before the cut.
+	 *
+	 * @throws IOException if a test file cannot be read or written
+	 */
+	@Test
+	public void testLargeAndTruncated() throws IOException {
+		byte[] records = Files.readAllBytes(Paths.get(COURSE_FILE));
+		int lines = CourseRecordIO.readCourseList(COURSE_FILE).size();
+		String fileName = "test-files/actual_gzip_courses.txt";
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(fileName))) {
+			for (int i = 0; i < 2000; i++) {
+				out.write(records);
+				out.write(System.lineSeparator().getBytes(Charset.defaultCharset()));
+			}
+		}
+		assertEquals(2000 * lines, CourseRecordIO.readCourseList(fileName).size());
+
+		byte[] gzip = Files.readAllBytes(Paths.get(fileName));
+		Files.write(Paths.get(fileName), Arrays.copyOf(gzip, gzip.length / 2));
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseList(fileName));
+		try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(fileName, null)) {
+			assertThrows(UncheckedIOException.class, () -> reader.stream().count());
+		}
+	}
+
+	/**
+	 * Tests that the pipeline streams pass bytes through unchanged and in order,
+	 * whether or not this machine compresses on pipeline threads.
+	 *
+	 * @throws IOException if a stream fails
+	 */
+	@Test
+	public void testPipelines() throws IOException {
+		byte[] data = new byte[3 * PipelineOutputStream.BLOCK_SIZE + 123];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31 + i / 7);
+		}
+		ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		PipelineOutputStream out = new PipelineOutputStream(sink);
+		out.write(data[0]);
+		out.write(data, 1, data.length - 1);
+		out.finish();
+		out.close();
+		assertArrayEquals(data, sink.toByteArray());
+
+		try (PipelineInputStream in = new PipelineInputStream(new ByteArrayInputStream(data))) {
+			assertEquals(data[0] & 0xff, in.read());
+			assertArrayEquals(Arrays.copyOfRange(data, 1, data.length), in.readAllBytes());
+			assertEquals(-1, in.read());
+		}
+	}
+
+	/**
+	 * Tests that a compressed file closed without being committed is discarded.
+	 *
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testAbandonedWrite() throws IOException {
+		String fileName = "test-files/actual_abandoned.txt.gz";
+		Files.deleteIfExists(Paths.get(fileName));
+		try (RecordFileWriter writer = new RecordFileWriter(fileName)) {
+			for (int i = 0; i < 100000; i++) {
+				writer.writeRecord("record " + i);
+			}
+		}
+		assertFalse(new File(fileName).exists());
+		String[] temps = new File("test-files").list((dir, name) -> name.startsWith("actual_abandoned.txt.gz."));
+		assertEquals(0, temps.length);
+	}
+}
@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.junit.Before;
@@ -12,9 +13,11 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -95,6 +98,32 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that readCourseList() assigns Courses to the instructors in a faculty
+	 * directory, and leaves Courses without instructors otherwise.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@Test
+	public void testReadCourseListInstructors() throws FileNotFoundException {
+		for (Course c : CourseRecordIO.readCourseList(validTestFile)) {
+			assertNull(c.getInstructorId());
+		}
+
+		FacultyDirectory faculty = new FacultyDirectory();
+		faculty.addFaculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", "pw", 3);
+		faculty.addFaculty("Jason", "King", "jtking", "jtking@ncsu.edu", "pw", "pw", 3);
+		List<Course> courses = CourseRecordIO.readCourseList(validTestFile, faculty);
+		assertEquals(14, courses.size());
+		assertNull(courses.get(0).getInstructorId());
+		assertEquals("sesmith5", courses.get(4).getInstructorId());
+		assertEquals(5, faculty.getFacultyById("sesmith5").getSchedule().getNumScheduledCourses());
+		// The second CSC116-002 is a duplicate, so only CSC316-001 is assigned
+		assertNull(courses.get(3).getInstructorId());
+		assertEquals("jtking", courses.get(13).getInstructorId());
+		assertEquals(1, faculty.getFacultyById("jtking").getSchedule().getNumScheduledCourses());
+	}
+
 	/**
 	 * Tests readInvalidCourseRecords().
 	 */
@@ -120,7 +149,9 @@ public class CourseRecordIOTest {
 		courses.add(new Course("CSC216", "Software Development Fundamentals", "601", 3, "jctetter", 10, "A"));
 
 		try {
-			CourseRecordIO.writeCourseRecords("test-files/actual_course_records.txt", courses);
+			WriteResult result = CourseRecordIO.writeCourseRecords("test-files/actual_course_records.txt", courses);
+			assertEquals(3, result.getRecords());
+			assertEquals(new File("test-files/actual_course_records.txt").length(), result.getBytes());
 		} catch (IOException e) {
 			fail("Cannot write to course records file");
 		}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
@@ -79,6 +80,30 @@ public class FacultyRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests reading faculty records as a list in file order, keeping duplicates.
+	 * 
+	 * @throws IOException if a test file cannot be read or written
+	 */
+	@Test
+	public void testReadFacultyList() throws IOException {
+		LinkedList<Faculty> records = FacultyRecordIO.readFacultyRecords(VALID_FACULTY_FILE);
+		List<Faculty> faculties = FacultyRecordIO.readFacultyList(VALID_FACULTY_FILE);
+		assertEquals(records.size(), faculties.size());
+		for (int i = 0; i < records.size(); i++) {
+			assertEquals(records.get(i), faculties.get(i));
+		}
+		assertEquals(0, FacultyRecordIO.readFacultyList(INVALID_FACULTY_FILE).size());
+
+		//A faculty member listed twice is kept twice
+		String duplicateFile = "test-files/actual_duplicate_faculty_records.txt";
+		FacultyRecordIO.writeFacultyRecords(duplicateFile, List.of(faculties.get(0), faculties.get(1), faculties.get(0)));
+		faculties = FacultyRecordIO.readFacultyList(duplicateFile);
+		assertEquals(3, faculties.size());
+		assertEquals("awitt", faculties.get(2).getId());
+		assertEquals(2, FacultyRecordIO.readFacultyRecords(duplicateFile).size());
+	}
+
 	/** Tests writing faculty records. */
 	@Test
 	public void testWriteFacultyRecords() {
@@ -0,0 +1,116 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ParallelRecordReader.
+ */
+public class ParallelRecordReaderTest {
+
+	/** Valid course records */
+	private static final String COURSE_FILE = "test-files/course_records.txt";
+	/** Invalid course records */
+	private static final String INVALID_COURSE_FILE = "test-files/invalid_course_records.txt";
+	/** Valid student records */
+	private static final String STUDENT_FILE = "test-files/student_records.txt";
+	/** File written with a mix of line separators */
+	private static final String MIXED_FILE = "test-files/actual_parallel_records.txt";
+
+	/** Returns the tokens of a line, rejecting lines that start with "bad" */
+	private static final Function<RecordTokenizer, List<String>> PARSER = tokenizer -> {
+		List<String> tokens = new ArrayList<>();
+		while (tokenizer.hasNext()) {
+			tokens.add(tokenizer.next());
+		}
+		if (!tokens.isEmpty() && "bad".equals(tokens.get(0))) {
+			throw new IllegalArgumentException();
+		}
+		return tokens;
+	};
+
+	/**
+	 * Tests that splitting a file into chunks of any size gives the same records
+	 * in the same order as reading it on one thread.
+	 *
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testReadRecords() throws IOException {
+		PrintStream out = new PrintStream(MIXED_FILE);
+		for (int i = 0; i < 200; i++) {
+			out.print("line," + i + ",,x");
+			out.print(i % 5 == 0 ? "\r\n" : i % 7 == 0 ? "\r" : i % 11 == 0 ? " " : "\n");
+			if (i % 3 == 0) {
+				out.print("bad," + i + "\n");
+			}
+			if (i % 13 == 0) {
+				out.print("\n");
+			}
+		}
+		out.print("last,line");
+		out.close();
+
+		for (String file : new String[] { COURSE_FILE, INVALID_COURSE_FILE, STUDENT_FILE, MIXED_FILE }) {
+			List<List<String>> expected = ParallelRecordReader.readRecords(file, PARSER, Integer.MAX_VALUE);
+			for (int chunkSize : new int[] { 1, 2, 10, 64, 500 }) {
+				assertEquals(expected, ParallelRecordReader.readRecords(file, PARSER, chunkSize), file + " " + chunkSize);
+			}
+		}
+
+		// Same lines as a Scanner, less the bad ones
+		int lines = 0;
+		Scanner scanner = new Scanner(new File(MIXED_FILE));
+		while (scanner.hasNextLine()) {
+			if (!scanner.nextLine().startsWith("bad,")) {
+				lines++;
+			}
+		}
+		scanner.close();
+		List<List<String>> mixed = ParallelRecordReader.readRecords(MIXED_FILE, PARSER, 100);
+		assertEquals(lines, mixed.size());
+		assertEquals(List.of("line", "0", "", "x"), mixed.get(0));
+		assertEquals(List.of("last", "line"), mixed.get(mixed.size() - 1));
+	}
+
+	/**
+	 * Tests that a missing file is reported.
+	 */
+	@Test
+	public void testReadRecordsMissingFile() {
+		assertThrows(FileNotFoundException.class,
+				() -> ParallelRecordReader.readRecords("test-files/no_such_file.txt", PARSER, 10));
+	}
+
+	/**
+	 * Tests that a failure part way through reading a file is reported, instead
+	 * of giving the records read before it or none at all.
+	 */
+	@Test
+	public void testReadRecordsFailure() {
+		Function<RecordTokenizer, List<String>> failing = tokenizer -> {
+			List<String> tokens = PARSER.apply(tokenizer);
+			if (tokens.contains("CSC216")) {
+				throw new UncheckedIOException(new IOException("Read failed"));
+			}
+			return tokens;
+		};
+		for (int chunkSize : new int[] { 10, Integer.MAX_VALUE }) {
+			FileNotFoundException e = assertThrows(FileNotFoundException.class,
+					() -> ParallelRecordReader.readRecords(COURSE_FILE, failing, chunkSize));
+			assertEquals("Unable to read file " + COURSE_FILE, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests RecordReader through the stream methods of the record IO classes.
+ */
+public class RecordReaderTest {
+
+	/** Valid course records */
+	private static final String COURSE_FILE = "test-files/course_records.txt";
+	/** Invalid course records */
+	private static final String INVALID_COURSE_FILE = "test-files/invalid_course_records.txt";
+	/** Valid student records */
+	private static final String STUDENT_FILE = "test-files/student_records.txt";
+	/** Valid faculty records */
+	private static final String FACULTY_FILE = "test-files/faculty_records.txt";
+	/** File written with a mix of valid and invalid course records */
+	private static final String MIXED_FILE = "test-files/actual_mixed_course_records.txt";
+
+	/**
+	 * Tests that the streamed records are the ones the list readers return, in
+	 * the same order.
+	 *
+	 * @throws FileNotFoundException if a test file is missing
+	 */
+	@Test
+	public void testStreamRecords() throws FileNotFoundException {
+		List<RejectedLine> rejected = new ArrayList<>();
+		try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(COURSE_FILE, rejected::add)) {
+			List<Course> courses = new ArrayList<>();
+			reader.forEachRemaining(courses::add);
+			assertEquals(CourseRecordIO.readCourseList(COURSE_FILE), courses);
+			assertFalse(reader.hasNext());
+			assertThrows(NoSuchElementException.class, () -> reader.next());
+			assertEquals(0, reader.getRejectedCount());
+		}
+		assertEquals(0, rejected.size());
+
+		try (RecordReader<Student> reader = StudentRecordIO.streamStudentRecords(STUDENT_FILE, null)) {
+			assertEquals(StudentRecordIO.readStudentList(STUDENT_FILE), reader.stream().collect(Collectors.toList()));
+		}
+		try (RecordReader<Faculty> reader = FacultyRecordIO.streamFacultyRecords(FACULTY_FILE, null)) {
+			assertEquals(FacultyRecordIO.readFacultyRecords(FACULTY_FILE).size(), reader.stream().count());
+		}
+
+		assertThrows(FileNotFoundException.class,
+				() -> CourseRecordIO.streamCourseRecords("test-files/no_such_file.txt", null));
+	}
+
+	/**
+	 * Tests that each invalid line is reported with its line number, text, and
+	 * the reason it was rejected.
+	 *
+	 * @throws FileNotFoundException if a test file is missing
+	 */
+	@Test
+	public void testRejectedLines() throws FileNotFoundException {
+		List<RejectedLine> rejected = new ArrayList<>();
+		try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(INVALID_COURSE_FILE, rejected::add)) {
+			assertFalse(reader.hasNext());
+			assertEquals(rejected.size(), reader.getRejectedCount());
+		}
+		assertEquals(17, rejected.size());
+		for (int i = 0; i < rejected.size(); i++) {
+			assertEquals(i + 1, rejected.get(i).getLineNumber());
+		}
+
+		assertEquals("Programming Concepts - Java,001,4,sesmith5,MW,1330,1445", rejected.get(0).getLine());
+
+		PrintStream out = new PrintStream(MIXED_FILE);
+		out.println("CSC216,Software Development Fundamentals,001,3,sesmith5,10,MW,1330,1445");
+		out.println("CSC216,Software Development Fundamentals,01,3,sesmith5,10,MW,1330,1445");
+		out.println("CSC216,Software Development Fundamentals,002,3,sesmith5,10,A,1330");
+		out.println("CSC216,Software Development Fundamentals,003,3,sesmith5");
+		out.println("CSC216,Software Development Fundamentals,004,three,sesmith5,10,A");
+		out.println("CSC216,Software Development Fundamentals,005,3,sesmith5,10,A");
+		out.close();
+		rejected.clear();
+		try (RecordReader<Course> reader = CourseRecordIO.streamCourseRecords(MIXED_FILE, rejected::add)) {
+			assertEquals(List.of("001", "005"), reader.stream().map(Course::getSection).collect(Collectors.toList()));
+		}
+		assertEquals(4, rejected.size());
+		RejectedLine first = rejected.get(0);
+		assertEquals(2, first.getLineNumber());
+		assertEquals("CSC216,Software Development Fundamentals,01,3,sesmith5,10,MW,1330,1445", first.getLine());
+		assertEquals("Invalid section.", first.getReason());
+		assertEquals("Line 2: Invalid section.: " + first.getLine(), first.toString());
+		assertEquals(3, rejected.get(1).getLineNumber());
+		assertEquals("Too many fields in course record.", rejected.get(1).getReason());
+		assertEquals("Missing fields in course record.", rejected.get(2).getReason());
+		assertEquals("Invalid number in course record.", rejected.get(3).getReason());
+	}
+}
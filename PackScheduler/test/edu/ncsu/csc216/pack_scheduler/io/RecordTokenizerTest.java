@@ -0,0 +1,165 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RecordTokenizer against the Scanners it replaces.
+ */
+public class RecordTokenizerTest {
+
+	/**
+	 * Tests that lines are split at the same separators as Scanner.nextLine().
+	 */
+	@Test
+	public void testNextLine() {
+		String text = "a\nb\r\nc\rd\u2028e\u2029f\u0085g\n\n\r\rh";
+		assertEquals(scannerLines(text), tokenizerLines(text));
+		assertEquals(scannerLines(text + "\n"), tokenizerLines(text + "\n"));
+		assertEquals(scannerLines(""), tokenizerLines(""));
+		assertEquals(scannerLines("\n"), tokenizerLines("\n"));
+
+		// Lines longer than the buffer make it grow
+		StringBuilder longLines = new StringBuilder();
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 20000; j++) {
+				longLines.append((char) ('a' + (i + j) % 26));
+			}
+			longLines.append("\r\n");
+		}
+		assertEquals(scannerLines(longLines.toString()), tokenizerLines(longLines.toString()));
+	}
+
+	/**
+	 * Tests that each line gives the same tokens as a Scanner using a comma
+	 * delimiter, including empty tokens.
+	 */
+	@Test
+	public void testNext() {
+		String[] lines = { "a,b,c", "a,,b", "a,b,", "a,b,,", ",a", ",", ",,a", "A,", " ", "", "one token" };
+		for (String line : lines) {
+			assertEquals(scannerTokens(line), tokenizerTokens(line), line);
+		}
+
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader("a\nb"));
+		assertTrue(tokenizer.nextLine());
+		assertEquals("a", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+		assertThrows(NoSuchElementException.class, () -> tokenizer.next());
+		assertThrows(NoSuchElementException.class, () -> tokenizer.nextInt());
+		assertTrue(tokenizer.nextLine());
+		assertEquals("b", tokenizer.next());
+		assertFalse(tokenizer.nextLine());
+	}
+
+	/**
+	 * Tests that nextInt() accepts and rejects the same tokens as Scanner.nextInt().
+	 */
+	@Test
+	public void testNextInt() {
+		String[] valid = { "3", "+3", "-3", "03", "-0", "2147483647", "-2147483648", "\u0663\u0664", "\uff13" };
+		for (String token : valid) {
+			Scanner scanner = new Scanner(token);
+			RecordTokenizer tokenizer = new RecordTokenizer(new StringReader(token + ",x"));
+			assertTrue(tokenizer.nextLine());
+			assertEquals(scanner.nextInt(), tokenizer.nextInt(), token);
+			assertEquals("x", tokenizer.next());
+			scanner.close();
+		}
+
+		String[] invalid = { " 3", "3 ", "2147483648", "-2147483649", "3a", "+-3", "+", "-", "1_0", "0x1" };
+		for (String token : invalid) {
+			RecordTokenizer tokenizer = new RecordTokenizer(new StringReader(token + ",x"));
+			assertTrue(tokenizer.nextLine());
+			assertThrows(InputMismatchException.class, () -> tokenizer.nextInt(), token);
+			// A token that is not an int is not used up
+			assertEquals(token, tokenizer.next());
+		}
+
+		// An empty token is not an int either
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader("a,,x"));
+		assertTrue(tokenizer.nextLine());
+		assertEquals("a", tokenizer.next());
+		assertThrows(InputMismatchException.class, () -> tokenizer.nextInt());
+		assertEquals("", tokenizer.next());
+		assertEquals("x", tokenizer.next());
+	}
+
+	/**
+	 * Returns the lines Scanner.nextLine() reads from text.
+	 *
+	 * @param text text to split
+	 * @return list of lines
+	 */
+	private static List<String> scannerLines(String text) {
+		List<String> lines = new ArrayList<>();
+		Scanner scanner = new Scanner(text);
+		while (scanner.hasNextLine()) {
+			lines.add(scanner.nextLine());
+		}
+		scanner.close();
+		return lines;
+	}
+
+	/**
+	 * Returns the lines a RecordTokenizer reads from text, each as its one token.
+	 *
+	 * @param text text to split
+	 * @return list of lines
+	 */
+	private static List<String> tokenizerLines(String text) {
+		List<String> lines = new ArrayList<>();
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader(text));
+		while (tokenizer.nextLine()) {
+			lines.add(tokenizer.hasNext() ? tokenizer.next() : "");
+		}
+		tokenizer.close();
+		return lines;
+	}
+
+	/**
+	 * Returns the tokens a Scanner with a comma delimiter reads from a line.
+	 *
+	 * @param line line to split
+	 * @return list of tokens
+	 */
+	private static List<String> scannerTokens(String line) {
+		List<String> tokens = new ArrayList<>();
+		Scanner scanner = new Scanner(line);
+		scanner.useDelimiter(",");
+		while (scanner.hasNext()) {
+			tokens.add(scanner.next());
+		}
+		scanner.close();
+		return tokens;
+	}
+
+	/**
+	 * Returns the tokens a RecordTokenizer reads from a line.
+	 *
+	 * @param line line to split
+	 * @return list of tokens
+	 */
+	private static List<String> tokenizerTokens(String line) {
+		List<String> tokens = new ArrayList<>();
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader(line));
+		if (tokenizer.nextLine()) {
+			while (tokenizer.hasNext()) {
+				tokens.add(tokenizer.next());
+			}
+		}
+		tokenizer.close();
+		return tokens;
+	}
+}
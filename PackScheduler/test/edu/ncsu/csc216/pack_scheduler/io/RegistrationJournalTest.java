@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationJournal.Entry;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationJournal.Operation;
+
+/**
+ * Tests RegistrationJournal.
+ */
+public class RegistrationJournalTest {
+
+	/** Journal written by the test */
+	private static final String JOURNAL_FILE = "test-files/actual_journal.txt";
+
+	/**
+	 * Tests that committed operations are read back in order and that appended
+	 * operations are written only when committed.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testAppendAndCommit() throws IOException {
+		Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+		assertEquals(0, RegistrationJournal.readEntries(JOURNAL_FILE).size());
+
+		RegistrationJournal journal = new RegistrationJournal(JOURNAL_FILE);
+		long first = journal.append(Operation.ENROLL, "efrost", "CSC216", "001");
+		long second = journal.append(Operation.RESET_SCHEDULE, "efrost");
+		assertEquals(0, RegistrationJournal.readEntries(JOURNAL_FILE).size());
+
+		// Committing the first also writes the second, appended before it
+		journal.commit(first);
+		assertEquals(2, RegistrationJournal.readEntries(JOURNAL_FILE).size());
+		journal.commit(second);
+		journal.append(Operation.ADD_FACULTY, "awitt", "CSC116", "003");
+		journal.close();
+
+		List<Entry> entries = RegistrationJournal.readEntries(JOURNAL_FILE);
+		assertEquals(3, entries.size());
+		assertEquals(Operation.ENROLL, entries.get(0).getOperation());
+		assertEquals("efrost", entries.get(0).getUserId());
+		assertEquals("CSC216", entries.get(0).getName());
+		assertEquals("001", entries.get(0).getSection());
+		assertEquals(Operation.RESET_SCHEDULE, entries.get(1).getOperation());
+		assertNull(entries.get(1).getName());
+		assertEquals(Operation.ADD_FACULTY, entries.get(2).getOperation());
+		assertEquals("awitt", entries.get(2).getUserId());
+
+		journal = new RegistrationJournal(JOURNAL_FILE);
+		journal.clear();
+		journal.close();
+		assertEquals(0, RegistrationJournal.readEntries(JOURNAL_FILE).size());
+	}
+
+	/**
+	 * Tests that invalid lines are skipped and that a line cut short by a crash
+	 * is ignored and then removed when the journal is reopened.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testInvalidAndPartialLines() throws IOException {
+		try (FileOutputStream out = new FileOutputStream(JOURNAL_FILE)) {
+			out.write(("D,efrost,CSC216,001\n" + "Q,efrost\n" + "E,efrost\n" + "R,efrost,CSC216,001\n" + "F,awitt\n"
+					+ "E,ahicks,CSC1").getBytes(StandardCharsets.UTF_8));
+		}
+		List<Entry> entries = RegistrationJournal.readEntries(JOURNAL_FILE);
+		assertEquals(2, entries.size());
+		assertEquals(Operation.DROP, entries.get(0).getOperation());
+		assertEquals(Operation.RESET_FACULTY_SCHEDULE, entries.get(1).getOperation());
+
+		RegistrationJournal journal = new RegistrationJournal(JOURNAL_FILE);
+		journal.commit(journal.append(Operation.REMOVE_FACULTY, "awitt", "CSC116", "003"));
+		journal.close();
+		entries = RegistrationJournal.readEntries(JOURNAL_FILE);
+		assertEquals(3, entries.size());
+		assertEquals(Operation.REMOVE_FACULTY, entries.get(2).getOperation());
+		assertEquals("003", entries.get(2).getSection());
+	}
+
+	/**
+	 * Tests that once a batch cannot be written, every later commit fails
+	 * instead of writing operations after a gap.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testFailedCommit() throws IOException {
+		Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+		RegistrationJournal journal = new RegistrationJournal(JOURNAL_FILE);
+		journal.commit(journal.append(Operation.ENROLL, "efrost", "CSC216", "001"));
+		journal.close();
+		assertFalse(journal.hasFailed());
+
+		// Writing to the closed file fails, and so does everything after it
+		long failed = journal.append(Operation.DROP, "efrost", "CSC216", "001");
+		assertThrows(IOException.class, () -> journal.commit(failed));
+		assertTrue(journal.hasFailed());
+		long later = journal.append(Operation.ENROLL, "ahicks", "CSC116", "003");
+		IOException e = assertThrows(IOException.class, () -> journal.commit(later));
+		assertEquals("The journal has failed.", e.getMessage());
+		assertThrows(IOException.class, () -> journal.commit(failed));
+
+		List<Entry> entries = RegistrationJournal.readEntries(JOURNAL_FILE);
+		assertEquals(1, entries.size());
+		assertEquals(Operation.ENROLL, entries.get(0).getOperation());
+	}
+}
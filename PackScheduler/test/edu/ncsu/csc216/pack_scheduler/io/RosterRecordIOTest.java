@@ -0,0 +1,144 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RosterRecordIO.Roster;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests RosterRecordIO and restoring rosters into a CourseCatalog.
+ */
+public class RosterRecordIOTest {
+
+	/** Valid course records */
+	private static final String COURSE_FILE = "test-files/course_records.txt";
+	/** Roster file written by the tests */
+	private static final String ROSTER_FILE = "test-files/actual_rosters.txt";
+
+	/**
+	 * Tests that saved rolls, waitlists, and schedules are restored in order into
+	 * a newly loaded catalog.
+	 *
+	 * @throws IOException if the roster file cannot be read
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		StudentDirectory students = new StudentDirectory();
+		for (int i = 0; i < 15; i++) {
+			students.addStudent("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile(COURSE_FILE);
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "001");
+		enroll(students.getStudentById("id0"), csc216);
+		for (int i = 12; i >= 1; i--) {
+			enroll(students.getStudentById("id" + i), csc116);
+		}
+		enroll(students.getStudentById("id0"), csc116);
+
+		catalog.saveRosters(ROSTER_FILE);
+		assertEquals(List.of("CSC116,001,10,id12,id11,id10,id9,id8,id7,id6,id5,id4,id3,id2,id1,id0",
+				"CSC216,001,1,id0"), Files.readAllLines(Paths.get(ROSTER_FILE)));
+
+		CourseCatalog restored = new CourseCatalog();
+		restored.loadCoursesFromFile(COURSE_FILE);
+		long version = restored.getVersion();
+		assertEquals(2, restored.loadRosters(ROSTER_FILE, students));
+		assertTrue(restored.getVersion() > version);
+
+		Course restored116 = restored.getCourseFromCatalog("CSC116", "001");
+		assertArrayEquals(csc116.getCourseRoll().getEnrolledStudents(),
+				restored116.getCourseRoll().getEnrolledStudents());
+		assertArrayEquals(csc116.getCourseRoll().getWaitlistedStudents(),
+				restored116.getCourseRoll().getWaitlistedStudents());
+		assertEquals(0, restored116.getCourseRoll().getOpenSeats());
+		assertEquals(9, restored.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+
+		// Schedules hold the restored Courses, in roster file order
+		Course[] schedule = students.getStudentById("id0").getSchedule().getCourses();
+		assertEquals(2, schedule.length);
+		assertSame(restored116, schedule[0]);
+		assertEquals("CSC216", schedule[1].getName());
+		assertEquals(1, students.getStudentById("id1").getSchedule().getCourses().length);
+		assertEquals(0, students.getStudentById("id14").getSchedule().getCourses().length);
+
+		// Restoring an empty roster file empties every roll and schedule
+		new PrintStream(ROSTER_FILE).close();
+		assertEquals(0, restored.loadRosters(ROSTER_FILE, students));
+		assertEquals(10, restored116.getCourseRoll().getOpenSeats());
+		assertEquals(0, students.getStudentById("id0").getSchedule().getCourses().length);
+		assertThrows(IllegalArgumentException.class,
+				() -> restored.loadRosters("test-files/no_such_file.txt", students));
+	}
+
+	/**
+	 * Tests that invalid lines are skipped when reading, and that rosters of
+	 * unknown Courses, unknown and repeated ids, and rosters that no longer fit
+	 * are skipped when restoring.
+	 *
+	 * @throws FileNotFoundException if the roster file cannot be written
+	 */
+	@Test
+	public void testInvalidRosters() throws FileNotFoundException {
+		PrintStream out = new PrintStream(ROSTER_FILE);
+		out.println("CSC116,001,2,id0,nobody,id1,id0");
+		out.println("CSC116,002,two,id0");
+		out.println("CSC116,002,3,id0,id1");
+		out.println("CSC116,002");
+		out.println("CSC116,002,1,id0,,id1");
+		out.println("CSC999,001,1,id0");
+		out.println("CSC116,001,1,id2");
+		out.println("CSC216,001,11,id0,id1,id2,id3,id4,id5,id6,id7,id8,id9,id10");
+		out.close();
+
+		List<Roster> rosters = RosterRecordIO.readRosters(ROSTER_FILE);
+		assertEquals(4, rosters.size());
+		assertArrayEquals(new String[] { "id0", "nobody" }, rosters.get(0).getEnrolledIds());
+		assertArrayEquals(new String[] { "id1", "id0" }, rosters.get(0).getWaitlistedIds());
+
+		StudentDirectory students = new StudentDirectory();
+		for (int i = 0; i < 11; i++) {
+			students.addStudent("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile(COURSE_FILE);
+		assertEquals(1, catalog.loadRosters(ROSTER_FILE, students));
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "001");
+		Student[] enrolled = csc116.getCourseRoll().getEnrolledStudents();
+		assertEquals(1, enrolled.length);
+		assertEquals("id0", enrolled[0].getId());
+		assertEquals("id1", csc116.getCourseRoll().getWaitlistedStudents()[0].getId());
+		assertEquals(1, csc116.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(0, students.getStudentById("id2").getSchedule().getCourses().length);
+	}
+
+	/**
+	 * Adds a Course to a student's schedule and enrolls the student in it, as
+	 * RegistrationManager does.
+	 *
+	 * @param s student to enroll
+	 * @param c Course to enroll in
+	 */
+	private static void enroll(Student s, Course c) {
+		s.getSchedule().addCourseToSchedule(c);
+		c.getCourseRoll().enroll(s);
+	}
+}
@@ -0,0 +1,140 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+
+/**
+ * Tests SnapshotIO, through the save and load methods of the catalog and
+ * directories.
+ */
+public class SnapshotIOTest {
+
+	/** Valid course records */
+	private static final String COURSE_FILE = "test-files/course_records.txt";
+	/** Valid student records */
+	private static final String STUDENT_FILE = "test-files/student_records.txt";
+	/** Valid faculty records */
+	private static final String FACULTY_FILE = "test-files/faculty_records.txt";
+	/** Course snapshot written by the test */
+	private static final String COURSE_SNAPSHOT = "test-files/actual_course_snapshot.dat";
+	/** Student snapshot written by the test */
+	private static final String STUDENT_SNAPSHOT = "test-files/actual_student_snapshot.dat";
+	/** Faculty snapshot written by the test */
+	private static final String FACULTY_SNAPSHOT = "test-files/actual_faculty_snapshot.dat";
+
+	/**
+	 * Tests that a saved catalog and directories load back with the same records,
+	 * rolls, waitlists, schedules, and instructors.
+	 */
+	@Test
+	public void testSaveAndLoadSnapshots() {
+		StudentDirectory students = new StudentDirectory();
+		students.loadStudentsFromFile(STUDENT_FILE);
+		for (int i = 0; i < 6; i++) {
+			students.addStudent("First", "Last", "extra" + i, "extra" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		FacultyDirectory faculty = new FacultyDirectory();
+		faculty.loadFacultyFromFile(FACULTY_FILE);
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile(COURSE_FILE);
+
+		// Fill one course and its waitlist and give it an instructor
+		Course full = catalog.getCourseFromCatalog("CSC216", "001");
+		String[][] ids = students.getStudentDirectory();
+		for (int i = 0; i < 12; i++) {
+			Student s = students.getStudentById(ids[i][2]);
+			s.getSchedule().addCourseToSchedule(full);
+			full.getCourseRoll().enroll(s);
+		}
+		Faculty instructor = faculty.getFacultyById("awitt");
+		instructor.getSchedule().addCourseToSchedule(full);
+
+		catalog.saveCourseCatalogSnapshot(COURSE_SNAPSHOT);
+		students.saveStudentDirectorySnapshot(STUDENT_SNAPSHOT);
+		faculty.saveFacultyDirectorySnapshot(FACULTY_SNAPSHOT);
+
+		StudentDirectory loadedStudents = new StudentDirectory();
+		loadedStudents.loadStudentsFromSnapshot(STUDENT_SNAPSHOT);
+		assertArrayEquals(students.getStudentDirectory(), loadedStudents.getStudentDirectory());
+		for (String[] row : ids) {
+			assertEquals(students.getStudentById(row[2]).toString(), loadedStudents.getStudentById(row[2]).toString());
+		}
+
+		FacultyDirectory loadedFaculty = new FacultyDirectory();
+		loadedFaculty.loadFacultyFromSnapshot(FACULTY_SNAPSHOT);
+		assertArrayEquals(faculty.getFacultyDirectory(), loadedFaculty.getFacultyDirectory());
+
+		CourseCatalog loadedCatalog = new CourseCatalog();
+		loadedCatalog.loadCoursesFromSnapshot(COURSE_SNAPSHOT, loadedStudents, loadedFaculty);
+		assertArrayEquals(catalog.getCourseCatalog(), loadedCatalog.getCourseCatalog());
+		List<Course> courses = catalog.getSnapshot().asList();
+		List<Course> loadedCourses = loadedCatalog.getSnapshot().asList();
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(courses.get(i).toString(), loadedCourses.get(i).toString());
+			assertArrayEquals(courses.get(i).getLongDisplayArray(), loadedCourses.get(i).getLongDisplayArray());
+		}
+
+		Course loadedFull = loadedCatalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals("awitt", loadedFull.getInstructorId());
+		assertEquals(1, loadedFaculty.getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+		assertEquals(0, loadedFull.getCourseRoll().getOpenSeats());
+		assertEquals(2, loadedFull.getCourseRoll().getNumberOnWaitlist());
+		assertArrayEquals(idsOf(full.getCourseRoll().getEnrolledStudents()),
+				idsOf(loadedFull.getCourseRoll().getEnrolledStudents()));
+		assertArrayEquals(idsOf(full.getCourseRoll().getWaitlistedStudents()),
+				idsOf(loadedFull.getCourseRoll().getWaitlistedStudents()));
+		for (Student s : loadedFull.getCourseRoll().getWaitlistedStudents()) {
+			assertArrayEquals(new Course[] { loadedFull }, s.getSchedule().getCourses());
+		}
+		assertNull(loadedCatalog.getCourseFromCatalog("CSC116", "001").getInstructorId());
+	}
+
+	/**
+	 * Tests that files that are not snapshots of the right kind are rejected.
+	 *
+	 * @throws IOException if a test snapshot cannot be written
+	 */
+	@Test
+	public void testReadInvalidSnapshots() throws IOException {
+		assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot(STUDENT_FILE));
+		assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot("test-files/no_such_file.dat"));
+
+		SnapshotIO.writeFacultySnapshot(FACULTY_SNAPSHOT, new LinkedList<Faculty>());
+		assertThrows(IOException.class, () -> SnapshotIO.readStudentSnapshot(FACULTY_SNAPSHOT));
+		assertEquals(0, SnapshotIO.readFacultySnapshot(FACULTY_SNAPSHOT).size());
+
+		StudentDirectory students = new StudentDirectory();
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> students.loadStudentsFromSnapshot(FACULTY_SNAPSHOT));
+		assertEquals("Unable to read file " + FACULTY_SNAPSHOT, e.getMessage());
+	}
+
+	/**
+	 * Returns the ids of an array of students.
+	 *
+	 * @param students students to get the ids of
+	 * @return array of ids
+	 */
+	private static String[] idsOf(Student[] students) {
+		String[] ids = new String[students.length];
+		for (int i = 0; i < students.length; i++) {
+			ids[i] = students[i].getId();
+		}
+		return ids;
+	}
+}
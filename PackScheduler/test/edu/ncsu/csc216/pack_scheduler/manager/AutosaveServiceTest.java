@@ -0,0 +1,109 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests AutosaveService.
+ */
+public class AutosaveServiceTest {
+
+	/** Student file saved by the service */
+	private static final String STUDENT_FILE = "test-files/actual_autosave_students.txt";
+	/** Faculty file saved by the service */
+	private static final String FACULTY_FILE = "test-files/actual_autosave_faculty.txt";
+	/** Catalog file saved by the service */
+	private static final String COURSE_FILE = "test-files/actual_autosave_courses.txt";
+
+	/**
+	 * Tests that a burst of edits is saved once, that nothing is saved without
+	 * changes, and that closing saves the changes left.
+	 *
+	 * @throws IOException if a saved file cannot be read
+	 */
+	@Test
+	public void testCoalescedSaves() throws IOException {
+		StudentDirectory students = new StudentDirectory();
+		FacultyDirectory faculty = new FacultyDirectory();
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Files.deleteIfExists(Paths.get(COURSE_FILE));
+
+		AutosaveService autosave = new AutosaveService(1, TimeUnit.HOURS);
+		autosave.watchStudents(students, STUDENT_FILE);
+		autosave.watchFaculty(faculty, FACULTY_FILE);
+		autosave.watchCatalog(catalog, COURSE_FILE);
+
+		long version = students.getVersion();
+		for (int i = 0; i < 100; i++) {
+			students.addStudent("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "pw", "pw", 15);
+		}
+		assertEquals(version + 100, students.getVersion());
+		autosave.flush();
+		assertEquals(1, autosave.getSaveCount());
+		assertEquals(100, Files.readAllLines(Paths.get(STUDENT_FILE)).size());
+
+		// Nothing changed, so nothing is saved; the catalog was loaded before watching
+		autosave.flush();
+		assertEquals(1, autosave.getSaveCount());
+		assertTrue(Files.notExists(Paths.get(COURSE_FILE)));
+
+		// Enrolling changes only a roll, which the course records do not hold
+		catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll()
+				.enroll(new Student("First", "Last", "flast", "flast@ncsu.edu", "pw"));
+		autosave.flush();
+		assertEquals(1, autosave.getSaveCount());
+		assertTrue(Files.notExists(Paths.get(COURSE_FILE)));
+
+		students.removeStudent("id0");
+		faculty.addFaculty("First", "Last", "flast", "flast@ncsu.edu", "pw", "pw", 2);
+		catalog.removeCourseFromCatalog("CSC116", "001");
+		autosave.close();
+		assertEquals(4, autosave.getSaveCount());
+		assertEquals(99, Files.readAllLines(Paths.get(STUDENT_FILE)).size());
+		assertEquals(1, Files.readAllLines(Paths.get(FACULTY_FILE)).size());
+		assertEquals(catalog.getNumCourses(), Files.readAllLines(Paths.get(COURSE_FILE)).size());
+		assertNull(autosave.getLastError());
+		assertThrows(IllegalStateException.class, () -> autosave.flush());
+	}
+
+	/**
+	 * Tests that changes are saved in the background and that a failed save is
+	 * reported and retried.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testBackgroundSaves() throws InterruptedException {
+		StudentDirectory students = new StudentDirectory();
+		AutosaveService autosave = new AutosaveService(10, TimeUnit.MILLISECONDS);
+		autosave.watchStudents(students, STUDENT_FILE);
+		autosave.watchStudents(students, "test-files/no_such_dir/students.txt");
+		students.addStudent("First", "Last", "flast", "flast@ncsu.edu", "pw", "pw", 15);
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while ((autosave.getSaveCount() == 0 || autosave.getLastError() == null)
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		autosave.close();
+		assertEquals(1, autosave.getSaveCount());
+		assertNotNull(autosave.getLastError());
+		assertThrows(IllegalArgumentException.class, () -> new AutosaveService(0, TimeUnit.SECONDS));
+	}
+}
@@ -5,18 +5,28 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
@@ -509,7 +519,311 @@ public class RegistrationManagerTest {
 		assertEquals(10, catalog.getCourseFromCatalog("CSC116", "003").getCourseRoll().getOpenSeats(),
 				"Course should have all seats available after reset.");
 
+		// A Course removed from the catalog is still dropped from
+		Course removed = catalog.getCourseFromCatalog("CSC216", "001");
+		assertTrue(manager.enrollStudentInCourse(removed));
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC226", "001")));
+		assertTrue(catalog.removeCourseFromCatalog("CSC216", "001"));
+		manager.resetSchedule();
+		assertEquals(0, scheduleHicks.getScheduledCourses().length);
+		assertEquals(10, removed.getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getOpenSeats());
+
 		manager.logout();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests that registration operations are journaled and replayed on top of the
+	 * record files or the last snapshots.
+	 * 
+	 * @throws IOException if the journal cannot be removed
+	 */
+	@Test
+	public void testJournal() throws IOException {
+		String journalFile = "test-files/actual_registration_journal.txt";
+		Files.deleteIfExists(Paths.get(journalFile));
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		assertEquals(0, manager.openJournal(journalFile));
+
+		manager.login("efrost", "pw");
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+		manager.logout();
+		manager.login("shansen", "pw");
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC116", "001")));
+		assertTrue(manager.dropStudentFromCourse(catalog.getCourseFromCatalog("CSC116", "001")));
+		manager.logout();
+		assertFalse(manager.isJournalFailed());
+		manager.closeJournal();
+
+		// Start again from the record files and replay the journal
+		manager.clearData();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		assertEquals(4, manager.openJournal(journalFile));
+		assertEquals(8, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getOpenSeats());
+		assertEquals(1, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+
+		// Saving snapshots empties the journal; later operations are replayed on top
+		manager.saveSnapshots("test-files/actual_course_snapshot.dat", "test-files/actual_student_snapshot.dat",
+				"test-files/actual_faculty_snapshot.dat");
+		manager.login("shansen", "pw");
+		manager.resetSchedule();
+		manager.logout();
+		manager.closeJournal();
+
+		manager.clearData();
+		manager.loadSnapshots("test-files/actual_course_snapshot.dat", "test-files/actual_student_snapshot.dat",
+				"test-files/actual_faculty_snapshot.dat");
+		assertEquals(1, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+		assertEquals(1, manager.openJournal(journalFile));
+		assertEquals(9, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(0, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+		assertEquals(1, directory.getStudentById("efrost").getSchedule().getScheduledCourses().length);
+		manager.closeJournal();
+	}
+
+	/**
+	 * Tests that loading rosters replaces the rolls the journal was recording
+	 * and so empties the journal.
+	 *
+	 * @throws IOException if the journal cannot be removed
+	 */
+	@Test
+	public void testLoadRostersWithJournal() throws IOException {
+		String journalFile = "test-files/actual_registration_journal.txt";
+		String rosterFile = "test-files/actual_rosters.txt";
+		Files.deleteIfExists(Paths.get(journalFile));
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		assertEquals(0, manager.openJournal(journalFile));
+
+		manager.login("efrost", "pw");
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+		manager.logout();
+		manager.saveRosters(rosterFile);
+		manager.login("shansen", "pw");
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC116", "001")));
+		manager.logout();
+
+		assertEquals(1, manager.loadRosters(rosterFile));
+		assertEquals(9, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getOpenSeats());
+		assertEquals(0, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+		manager.closeJournal();
+
+		// Neither operation is replayed on top of the restored rolls
+		assertEquals(0, manager.openJournal(journalFile));
+		assertEquals(9, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getOpenSeats());
+		manager.closeJournal();
+	}
+
+	/**
+	 * Tests that sessions log users in alongside each other and the current user,
+	 * act as their own users, and end when closed or left idle.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for a session to expire
+	 */
+	@Test
+	public void testSessions() throws InterruptedException {
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+
+		assertTrue(manager.login("efrost", "pw"));
+		String shansen = manager.openSession("shansen", "pw");
+		String efrost = manager.openSession("efrost", "pw");
+		String registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertFalse(shansen.equals(efrost));
+		assertEquals("efrost", manager.getCurrentUser().getId());
+		assertEquals("shansen", manager.getSessionUser(shansen).getId());
+		assertThrows(IllegalArgumentException.class, () -> manager.openSession("shansen", "wrong"));
+
+		assertTrue(manager.enrollStudentInCourse(shansen, c));
+		assertTrue(manager.enrollStudentInCourse(efrost, c));
+		assertEquals(8, c.getCourseRoll().getOpenSeats());
+		assertTrue(manager.dropStudentFromCourse(efrost, c));
+		assertFalse(manager.dropStudentFromCourse(efrost, c));
+		assertEquals(1, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+		manager.resetSchedule(shansen);
+		assertEquals(0, directory.getStudentById("shansen").getSchedule().getScheduledCourses().length);
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(registrar, c));
+
+		Faculty f = new Faculty("John", "Doe", "jdoe", "jdoe@gmail.com", "password", 3);
+		assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(shansen, c, f));
+		assertTrue(manager.addFacultyToCourse(registrar, c, f));
+		assertEquals("jdoe", c.getInstructorId());
+		assertTrue(manager.removeFacultyFromCourse(registrar, c, f));
+		manager.resetFacultySchedule(registrar, f);
+		assertEquals(0, f.getSchedule().getNumScheduledCourses());
+
+		assertTrue(manager.closeSession(shansen));
+		assertFalse(manager.closeSession(shansen));
+		assertNull(manager.getSessionUser(shansen));
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(shansen, c));
+		assertNull(manager.getSessionUser(null));
+
+		manager.setSessionTimeout(50);
+		try {
+			String idle = manager.openSession("shansen", "pw");
+			Thread.sleep(120);
+			assertNull(manager.getSessionUser(idle));
+			assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(idle));
+		} finally {
+			manager.setSessionTimeout(30 * 60 * 1000);
+		}
+		assertThrows(IllegalArgumentException.class, () -> manager.setSessionTimeout(0));
+		assertEquals("efrost", manager.getCurrentUser().getId());
+	}
+
+	/**
+	 * Tests that students enrolling in and dropping the same Course from many
+	 * threads at once never overfill its roll or waitlist, and that every
+	 * student's schedule agrees with the roll.
+	 * 
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentSessions() throws Exception {
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		int students = 60;
+		String[] tokens = new String[students];
+		for (int i = 0; i < students; i++) {
+			directory.addStudent("First", "Last" + i, "student" + i, "s" + i + "@ncsu.edu", "pw", "pw", 18);
+			tokens[i] = manager.openSession("student" + i, "pw");
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		int kept = 0;
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < students; i++) {
+				String token = tokens[i];
+				boolean dropAgain = i % 3 == 0;
+				results.add(pool.submit(() -> {
+					boolean enrolled = manager.enrollStudentInCourse(token, c);
+					if (enrolled && dropAgain) {
+						assertTrue(manager.dropStudentFromCourse(token, c));
+						return false;
+					}
+					return enrolled;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				if (result.get(30, TimeUnit.SECONDS)) {
+					kept++;
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		//Whichever students win the race, the roll and waitlist agree with the schedules
+		CourseRoll roll = c.getCourseRoll();
+		int enrolled = roll.getEnrollmentCap() - roll.getOpenSeats();
+		assertTrue(kept <= 20);
+		assertEquals(kept, enrolled + roll.getNumberOnWaitlist());
+		assertTrue(roll.getNumberOnWaitlist() == 0 || roll.getOpenSeats() == 0);
+		int scheduled = 0;
+		for (int i = 0; i < students; i++) {
+			Student s = directory.getStudentById("student" + i);
+			if (s.getSchedule().getScheduledCourses().length == 1) {
+				scheduled++;
+				assertFalse(roll.canEnroll(s));
+			}
+		}
+		assertEquals(kept, scheduled);
+	}
+
+	/**
+	 * Tests that snapshots saved while students register from many threads,
+	 * together with the journal, restore exactly what the students did.
+	 * 
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testSnapshotsDuringSessions() throws Exception {
+		String journalFile = "test-files/actual_registration_journal.txt";
+		String courseSnapshot = "test-files/actual_course_snapshot.dat";
+		String studentSnapshot = "test-files/actual_student_snapshot.dat";
+		String facultySnapshot = "test-files/actual_faculty_snapshot.dat";
+		Files.deleteIfExists(Paths.get(journalFile));
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		String[][] courses = catalog.getCourseCatalog();
+		int students = 40;
+		String[] tokens = new String[students];
+		for (int i = 0; i < students; i++) {
+			directory.addStudent("First", "Last" + i, "student" + i, "s" + i + "@ncsu.edu", "pw", "pw", 18);
+			tokens[i] = manager.openSession("student" + i, "pw");
+		}
+		manager.openJournal(journalFile);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < students; i++) {
+				String token = tokens[i];
+				int first = i;
+				results.add(pool.submit(() -> {
+					Course last = null;
+					for (int j = 0; j < 30; j++) {
+						if (j % 4 == 3 && last != null) {
+							assertTrue(manager.dropStudentFromCourse(token, last));
+							last = null;
+						} else {
+							String[] course = courses[(first + j) % courses.length];
+							Course c = catalog.getCourseFromCatalog(course[0], course[1]);
+							last = manager.enrollStudentInCourse(token, c) ? c : null;
+						}
+					}
+				}));
+			}
+			for (int i = 0; i < 5; i++) {
+				manager.saveSnapshots(courseSnapshot, studentSnapshot, facultySnapshot);
+			}
+			for (Future<?> result : results) {
+				result.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdown();
+		}
+		manager.closeJournal();
+
+		String[] expected = new String[courses.length + students];
+		for (int i = 0; i < courses.length; i++) {
+			CourseRoll roll = catalog.getCourseFromCatalog(courses[i][0], courses[i][1]).getCourseRoll();
+			expected[i] = roll.getOpenSeats() + " " + roll.getNumberOnWaitlist();
+		}
+		for (int i = 0; i < students; i++) {
+			expected[courses.length + i] = directory.getStudentById("student" + i).getSchedule().getScheduledCourses().length + "";
+		}
+
+		manager.clearData();
+		manager.loadSnapshots(courseSnapshot, studentSnapshot, facultySnapshot);
+		manager.openJournal(journalFile);
+		manager.closeJournal();
+		for (int i = 0; i < courses.length; i++) {
+			CourseRoll roll = catalog.getCourseFromCatalog(courses[i][0], courses[i][1]).getCourseRoll();
+			assertEquals(expected[i], roll.getOpenSeats() + " " + roll.getNumberOnWaitlist(), courses[i][0]);
+		}
+		for (int i = 0; i < students; i++) {
+			assertEquals(expected[courses.length + i],
+					directory.getStudentById("student" + i).getSchedule().getScheduledCourses().length + "");
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests Credentials.
+ */
+public class CredentialsTest {
+
+	/** Hash of "pw" stored in the test record files */
+	private static final String PW_HASH = "MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=";
+
+	/**
+	 * Tests hashing passwords the way the record files store them.
+	 */
+	@Test
+	public void testHash() {
+		assertEquals(PW_HASH, Credentials.hash("pw"));
+		assertEquals(44, Credentials.hash("").length());
+		assertEquals(Credentials.hash("pässwörd"), Credentials.hash("pässwörd"));
+	}
+
+	/**
+	 * Tests checking passwords against stored hashes.
+	 */
+	@Test
+	public void testMatches() {
+		assertTrue(Credentials.matches("pw", PW_HASH));
+		assertTrue(Credentials.matches("pässwörd", Credentials.hash("pässwörd")));
+		assertFalse(Credentials.matches("pW", PW_HASH));
+		assertFalse(Credentials.matches("", PW_HASH));
+		assertFalse(Credentials.matches("pw", "hashedpassword"));
+		assertFalse(Credentials.matches("pw", "not base64!"));
+		assertFalse(Credentials.matches("pw", PW_HASH.substring(0, 40)));
+		assertFalse(Credentials.matches("pw", PW_HASH.substring(0, 43) + "A"));
+		assertFalse(Credentials.matches("pw", PW_HASH.substring(0, 42) + "N="));
+		assertFalse(Credentials.matches("pw", "=" + PW_HASH.substring(1)));
+		assertFalse(Credentials.matches("pw", "\u014d" + PW_HASH.substring(1)));
+		assertFalse(Credentials.matches("pw", ""));
+		assertFalse(Credentials.matches("pw", null));
+	}
+
+	/**
+	 * Tests that threads hashing at once each get the right hashes.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testThreads() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int thread = t;
+				results.add(pool.submit(() -> {
+					for (int i = 0; i < 2000; i++) {
+						String password = "pw" + thread + "-" + i;
+						if (!Credentials.matches(password, Credentials.hash(password))
+								|| Credentials.matches(password + "x", Credentials.hash(password))) {
+							return false;
+						}
+					}
+					return Credentials.matches("pw", PW_HASH);
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -145,4 +145,44 @@ class ScheduleTest {
         s.addCourseToSchedule(c);
         assertEquals(3, s.getScheduleCredits());
     }
+    
+    /**
+     * Test that schedule listeners are told about added and removed Courses
+     * and about resets
+     */
+    @Test
+    public void testScheduleListener() {
+    	Schedule s = new Schedule();
+    	StringBuilder events = new StringBuilder();
+    	s.addScheduleListener(new ScheduleListener() {
+
+			@Override
+			public void courseAdded(int index, Course course) {
+				events.append("added " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void courseRemoved(int index, Course course) {
+				events.append("removed " + index + " " + course.getName() + ";");
+			}
+
+			@Override
+			public void scheduleReset() {
+				events.append("reset;");
+			}
+		});
+    	Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME);
+    	Course c1 = new Course("CSC116", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, "MW", 910, 1100);
+    	assertTrue(s.addCourseToSchedule(c));
+    	assertTrue(s.addCourseToSchedule(c1));
+    	assertTrue(s.removeCourseFromSchedule(c));
+    	s.resetSchedule();
+    	assertEquals("added 0 CSC216;added 1 CSC116;removed 0 CSC216;reset;", events.toString());
+
+    	//Restoring saved Courses is one reset, not a reset and then an add per Course
+    	events.setLength(0);
+    	s.restoreCourses(new Course[] { c, c1 });
+    	assertEquals("reset;", events.toString());
+    	assertEquals(2, s.getScheduledCourses().length);
+    }
 }
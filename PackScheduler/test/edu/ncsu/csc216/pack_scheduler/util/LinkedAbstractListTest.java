@@ -1,7 +1,13 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -181,7 +187,38 @@ class LinkedAbstractListTest {
         assertEquals(1, lList.size());
     	
     }
-    
-    
-    
+
+    /**
+     * Tests the iterator and the collection methods that use it.
+     */
+    @Test
+    void testIterator() {
+        lList.add(0, "A");
+        lList.add(1, "B");
+        lList.add(2, "C");
+        lList.add(3, "D");
+        assertArrayEquals(new String[] {"A", "B", "C", "D"}, lList.toArray(new String[0]));
+        assertTrue(lList.contains("D"));
+        assertFalse(lList.contains("E"));
+
+        Iterator<String> it = lList.iterator();
+        assertThrows(IllegalStateException.class, () -> it.remove());
+        assertEquals("A", it.next());
+        it.remove();
+        assertThrows(IllegalStateException.class, () -> it.remove());
+        assertEquals("B", it.next());
+        assertEquals("C", it.next());
+        it.remove();
+        assertEquals("D", it.next());
+        it.remove();
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, () -> it.next());
+        assertArrayEquals(new String[] {"B"}, lList.toArray(new String[0]));
+
+        // The back of the list is still right after removing the last node
+        lList.add(1, "E");
+        assertTrue(lList.remove("B"));
+        lList.add(1, "F");
+        assertArrayEquals(new String[] {"E", "F"}, lList.toArray(new String[0]));
+    }
 }